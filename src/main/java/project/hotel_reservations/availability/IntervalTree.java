@@ -0,0 +1,209 @@
+package project.hotel_reservations.availability;
+
+import java.util.UUID;
+
+/**
+ * AVL-balanced interval tree of half-open day ranges [start, end), ordered by (start, id)
+ * and augmented with the maximum end of every subtree, so overlap checks run in O(log n).
+ * Not thread-safe, callers synchronize on the instance.
+ */
+class IntervalTree {
+
+    private static final class Node {
+        final UUID id;
+        final long start;
+        final long end;
+        long maxEnd;
+        int height = 1;
+        Node left;
+        Node right;
+
+        Node(UUID id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+
+    interface Visitor {
+        void visit(long start, long end);
+    }
+
+    private Node root;
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds the interval identified by id
+     *
+     * @param id    interval identifier
+     * @param start first day, inclusive
+     * @param end   last day, exclusive
+     */
+    void insert(UUID id, long start, long end) {
+        root = insert(root, new Node(id, start, end));
+        size++;
+    }
+
+    /**
+     * Removes the interval identified by id and start day
+     *
+     * @return true if the interval was present
+     */
+    boolean remove(UUID id, long start) {
+        int before = size;
+        root = remove(root, id, start);
+        return size < before;
+    }
+
+    /**
+     * Tells whether any stored interval intersects [start, end)
+     */
+    boolean overlaps(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && start < node.end) {
+                return true;
+            }
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits every stored interval that intersects [start, end)
+     */
+    void forEachOverlap(long start, long end, Visitor visitor) {
+        forEachOverlap(root, start, end, visitor);
+    }
+
+    private void forEachOverlap(Node node, long start, long end, Visitor visitor) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        forEachOverlap(node.left, start, end, visitor);
+        if (node.start >= end) {
+            return;
+        }
+        if (start < node.end) {
+            visitor.visit(node.start, node.end);
+        }
+        forEachOverlap(node.right, start, end, visitor);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+        } else {
+            node.right = insert(node.right, added);
+        }
+        return rebalance(node);
+    }
+
+    private Node remove(Node node, UUID id, long start) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = compare(start, id, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, id, start);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, id, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node replacement = new Node(successor.id, successor.start, successor.end);
+            replacement.right = removeMin(node.right);
+            replacement.left = node.left;
+            return rebalance(replacement);
+        }
+        return rebalance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
+    private static int compare(long start, UUID id, Node node) {
+        int cmp = Long.compare(start, node.start);
+        return cmp != 0 ? cmp : id.compareTo(node.id);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+}
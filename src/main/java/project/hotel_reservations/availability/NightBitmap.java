@@ -0,0 +1,95 @@
+package project.hotel_reservations.availability;
+
+/**
+ * Occupancy bitmap of a room over a rolling horizon, one bit per night stored in a ring of
+ * 64-bit words so checking a stay costs one AND per word it touches. Not thread-safe.
+ */
+class NightBitmap {
+
+    static final int HORIZON_DAYS = 730;
+
+    private static final int SLOTS = ((HORIZON_DAYS + Long.SIZE - 1) / Long.SIZE) * Long.SIZE;
+
+    private final long[] words = new long[SLOTS / Long.SIZE];
+    private long windowStart;
+
+    NightBitmap(long today) {
+        this.windowStart = today;
+    }
+
+    long windowStart() {
+        return windowStart;
+    }
+
+    long windowEnd() {
+        return windowStart + HORIZON_DAYS;
+    }
+
+    /**
+     * Tells whether the whole range [start, end) lies inside the tracked horizon
+     */
+    boolean covers(long start, long end) {
+        return start >= windowStart && end <= windowEnd();
+    }
+
+    /**
+     * Slides the horizon so it starts today, clearing the nights that fell out of it
+     *
+     * @return first night that entered the horizon and still has to be filled in by the caller
+     */
+    long advanceTo(long today) {
+        long previousEnd = windowEnd();
+        if (today <= windowStart) {
+            return previousEnd;
+        }
+
+        long expired = Math.min(today - windowStart, SLOTS);
+        apply(windowStart, windowStart + expired, Operation.CLEAR);
+        windowStart = today;
+
+        return Math.max(previousEnd, today);
+    }
+
+    void set(long start, long end) {
+        apply(Math.max(start, windowStart), Math.min(end, windowEnd()), Operation.SET);
+    }
+
+    void clear(long start, long end) {
+        apply(Math.max(start, windowStart), Math.min(end, windowEnd()), Operation.CLEAR);
+    }
+
+    /**
+     * Tells whether any night in [start, end) is booked, only meaningful for covered ranges
+     */
+    boolean anySet(long start, long end) {
+        return apply(Math.max(start, windowStart), Math.min(end, windowEnd()), Operation.TEST);
+    }
+
+    private boolean apply(long from, long to, Operation operation) {
+        while (from < to) {
+            int slot = (int) Math.floorMod(from, SLOTS);
+            int word = slot >>> 6;
+            int bit = slot & 63;
+            int length = (int) Math.min(Long.SIZE - bit, to - from);
+            long mask = (length == Long.SIZE ? -1L : (1L << length) - 1) << bit;
+
+            switch (operation) {
+                case SET -> words[word] |= mask;
+                case CLEAR -> words[word] &= ~mask;
+                case TEST -> {
+                    if ((words[word] & mask) != 0) {
+                        return true;
+                    }
+                }
+            }
+            from += length;
+        }
+        return false;
+    }
+
+    private enum Operation {
+        SET,
+        CLEAR,
+        TEST
+    }
+}
@@ -0,0 +1,135 @@
+package project.hotel_reservations.availability;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.model.ReservationStatus;
+import project.hotel_reservations.repository.ReservationRepository;
+import project.hotel_reservations.transaction.AfterCommit;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the nights booked by active reservations. Each room keeps an interval tree
+ * of its stays plus a night bitmap over the next {@value NightBitmap#HORIZON_DAYS} days
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RoomAvailabilityIndex {
+
+    public static final Set<ReservationStatus> ACTIVE_STATUSES =
+            EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+
+    private final ReservationRepository reservationRepository;
+
+    private final Map<UUID, RoomCalendar> calendars = new ConcurrentHashMap<>();
+    private final Map<UUID, StayInterval> stays = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the stays of every active reservation
+     */
+    @PostConstruct
+    public void warmUp() {
+        reservationRepository.findStayIntervals(ACTIVE_STATUSES).forEach(this::add);
+        log.info("Room availability index loaded. rooms={}, stays={}", calendars.size(), stays.size());
+    }
+
+    /**
+     * Tells whether a room has no active reservation overlapping the requested nights
+     *
+     * @param roomId   room ID
+     * @param checkIn  first night, inclusive
+     * @param checkOut departure day, exclusive
+     * @return true if the room is free for the whole stay
+     */
+    public boolean isAvailable(UUID roomId, LocalDate checkIn, LocalDate checkOut) {
+        RoomCalendar calendar = calendars.get(roomId);
+        if (calendar == null) {
+            return true;
+        }
+
+        return calendar.isFree(checkIn.toEpochDay(), checkOut.toEpochDay(), today());
+    }
+
+    /**
+     * Keeps the rooms that are free for the whole stay, preserving their order
+     *
+     * @param roomIds  candidate room IDs
+     * @param checkIn  first night, inclusive
+     * @param checkOut departure day, exclusive
+     * @return IDs of the rooms without overlapping active reservations
+     */
+    public List<UUID> filterAvailable(Collection<UUID> roomIds, LocalDate checkIn, LocalDate checkOut) {
+        long start = checkIn.toEpochDay();
+        long end = checkOut.toEpochDay();
+        long today = today();
+
+        return roomIds.stream()
+                .filter(roomId -> {
+                    RoomCalendar calendar = calendars.get(roomId);
+                    return calendar == null || calendar.isFree(start, end, today);
+                })
+                .toList();
+    }
+
+    /**
+     * Marks the nights of a reservation as booked once the current transaction commits
+     *
+     * @param reservation active reservation
+     */
+    public void register(Reservation reservation) {
+        StayInterval stay = new StayInterval(
+                reservation.getId(),
+                reservation.getRoom().getId(),
+                reservation.getCheckInDate(),
+                reservation.getCheckOutDate()
+        );
+        AfterCommit.run(() -> add(stay));
+    }
+
+    /**
+     * Frees the nights of a reservation once the current transaction commits
+     *
+     * @param reservation cancelled reservation
+     */
+    public void release(Reservation reservation) {
+        UUID reservationId = reservation.getId();
+        AfterCommit.run(() -> remove(reservationId));
+    }
+
+    private void add(StayInterval stay) {
+        if (stays.putIfAbsent(stay.reservationId(), stay) != null) {
+            return;
+        }
+
+        long today = today();
+        calendars.computeIfAbsent(stay.roomId(), id -> new RoomCalendar(today))
+                .add(stay.reservationId(), stay.checkIn().toEpochDay(), stay.checkOut().toEpochDay(), today);
+    }
+
+    private void remove(UUID reservationId) {
+        StayInterval stay = stays.remove(reservationId);
+        if (stay == null) {
+            return;
+        }
+
+        RoomCalendar calendar = calendars.get(stay.roomId());
+        if (calendar != null) {
+            calendar.remove(reservationId, stay.checkIn().toEpochDay(), stay.checkOut().toEpochDay(), today());
+        }
+    }
+
+    private static long today() {
+        return LocalDate.now().toEpochDay();
+    }
+}
@@ -0,0 +1,47 @@
+package project.hotel_reservations.availability;
+
+import java.util.UUID;
+
+/**
+ * Booked nights of a single room: the interval tree is the exact record of every stay,
+ * the bitmap mirrors it over the rolling horizon for constant-time range checks
+ */
+class RoomCalendar {
+
+    private final IntervalTree stays = new IntervalTree();
+    private final NightBitmap nights;
+
+    RoomCalendar(long today) {
+        this.nights = new NightBitmap(today);
+    }
+
+    synchronized void add(UUID reservationId, long start, long end, long today) {
+        roll(today);
+        stays.insert(reservationId, start, end);
+        nights.set(start, end);
+    }
+
+    synchronized void remove(UUID reservationId, long start, long end, long today) {
+        roll(today);
+        if (!stays.remove(reservationId, start)) {
+            return;
+        }
+        nights.clear(start, end);
+        stays.forEachOverlap(start, end, nights::set);
+    }
+
+    synchronized boolean isFree(long start, long end, long today) {
+        roll(today);
+        if (nights.covers(start, end)) {
+            return !nights.anySet(start, end);
+        }
+        return !stays.overlaps(start, end);
+    }
+
+    private void roll(long today) {
+        long entered = nights.advanceTo(today);
+        if (entered < nights.windowEnd()) {
+            stays.forEachOverlap(entered, nights.windowEnd(), nights::set);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package project.hotel_reservations.availability;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Night range [checkIn, checkOut) occupied by an active reservation of a room
+ */
+public record StayInterval(
+        UUID reservationId,
+        UUID roomId,
+        LocalDate checkIn,
+        LocalDate checkOut
+) {
+}
@@ -0,0 +1,124 @@
+package project.hotel_reservations.concurrency;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes bookings per room. Inside the node rooms hash onto a fixed set of striped locks,
+ * across nodes Postgres transaction-level advisory locks keyed by the room ID are taken as well.
+ * Both are held until the surrounding transaction completes, so unrelated rooms never contend.
+ */
+@Component
+public class RoomLockManager {
+
+    private final EntityManager entityManager;
+    private final ReentrantLock[] stripes;
+    private final boolean advisory;
+    private final long timeoutMillis;
+
+    public RoomLockManager(EntityManager entityManager,
+                           @Value("${reservations.locking.stripes:1024}") int stripes,
+                           @Value("${reservations.locking.advisory:true}") boolean advisory,
+                           @Value("${reservations.locking.timeout-ms:5000}") long timeoutMillis) {
+        this.entityManager = entityManager;
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(stripes, 1) * 2 - 1)];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.advisory = advisory;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Tells whether other nodes may book the same rooms, so the database has to be checked too
+     */
+    public boolean isDistributed() {
+        return advisory;
+    }
+
+    /**
+     * Locks a room until the current transaction completes
+     *
+     * @param roomId room ID
+     * @throws IllegalStateException if no transaction is active or the lock is not obtained in time
+     */
+    public void lockRoom(UUID roomId) {
+        lockRooms(List.of(roomId));
+    }
+
+    /**
+     * Locks several rooms until the current transaction completes, always in the same
+     * global order so concurrent callers cannot deadlock
+     *
+     * @param roomIds room IDs
+     * @throws IllegalStateException if no transaction is active or a lock is not obtained in time
+     */
+    public void lockRooms(Collection<UUID> roomIds) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Room locks require an active transaction");
+        }
+
+        Deque<ReentrantLock> held = new ArrayDeque<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                while (!held.isEmpty()) {
+                    held.pop().unlock();
+                }
+            }
+        });
+
+        int[] indexes = roomIds.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int index : indexes) {
+            ReentrantLock lock = stripes[index];
+            if (!tryLock(lock)) {
+                throw new IllegalStateException("Room is busy, please try again");
+            }
+            held.push(lock);
+        }
+
+        if (advisory) {
+            roomIds.stream()
+                    .mapToLong(RoomLockManager::advisoryKey)
+                    .distinct()
+                    .sorted()
+                    .forEach(key -> entityManager
+                            .createNativeQuery("SELECT pg_advisory_xact_lock(?1)")
+                            .setParameter(1, key)
+                            .getSingleResult());
+        }
+    }
+
+    private boolean tryLock(ReentrantLock lock) {
+        try {
+            return lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int stripeOf(UUID roomId) {
+        int hash = roomId.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+
+    private static long advisoryKey(UUID roomId) {
+        return roomId.getMostSignificantBits() ^ roomId.getLeastSignificantBits();
+    }
+}
@@ -0,0 +1,41 @@
+package project.hotel_reservations.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Overrides the async timeout of a single request, for handlers returning a
+ * StreamingResponseBody, which has no timeout of its own
+ */
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private final long timeoutMillis;
+
+    private AsyncTimeoutInterceptor(Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Applies the timeout to the async processing the current handler is about to start
+     *
+     * @param request current request
+     * @param timeout timeout for this request only
+     */
+    public static void apply(HttpServletRequest request, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(request)
+                .registerCallableInterceptor(AsyncTimeoutInterceptor.class.getName(), new AsyncTimeoutInterceptor(timeout));
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        if (request instanceof AsyncWebRequest asyncRequest) {
+            asyncRequest.setTimeout(timeoutMillis);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package project.hotel_reservations.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Read caches of rarely changing rows, each bounded in size and age and recording hit and miss
+ * statistics for the cache metrics. Puts and evictions inside a transaction wait for the commit,
+ * so a rollback never leaves the cache ahead of the database
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String HOTELS = "hotels";
+    public static final String ROOMS = "rooms";
+    public static final String PAYMENT_PLATFORMS = "paymentPlatforms";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.hotels.max-size:10000}") long hotelsSize,
+            @Value("${cache.hotels.ttl:10m}") Duration hotelsTtl,
+            @Value("${cache.rooms.max-size:50000}") long roomsSize,
+            @Value("${cache.rooms.ttl:5m}") Duration roomsTtl,
+            @Value("${cache.payment-platforms.max-size:100}") long platformsSize,
+            @Value("${cache.payment-platforms.ttl:1h}") Duration platformsTtl
+    ) {
+        CaffeineCacheManager manager = new CaffeineCacheManager();
+        manager.setAllowNullValues(false);
+        manager.registerCustomCache(HOTELS, bounded(hotelsSize, hotelsTtl));
+        manager.registerCustomCache(ROOMS, bounded(roomsSize, roomsTtl));
+        manager.registerCustomCache(PAYMENT_PLATFORMS, bounded(platformsSize, platformsTtl));
+        return new TransactionAwareCacheManagerProxy(manager);
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> bounded(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package project.hotel_reservations.config;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Retries a method that lost an optimistic locking race, with a jittered exponential backoff.
+ * Attempts and delays come from the reservations.retry properties
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Retryable(
+        retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${reservations.retry.max-attempts:3}",
+        backoff = @Backoff(
+                delayExpression = "${reservations.retry.delay-ms:50}",
+                maxDelayExpression = "${reservations.retry.max-delay-ms:500}",
+                multiplier = 2,
+                random = true
+        )
+)
+public @interface RetryOnConflict {
+}
@@ -15,9 +15,9 @@ import org.springframework.web.bind.annotation.*;
 import project.hotel_reservations.dto.guest.GuestCreateDTO;
 import project.hotel_reservations.dto.guest.GuestResponseDTO;
 import project.hotel_reservations.dto.guest.GuestUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.service.GuestService;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -56,16 +56,25 @@ public class GuestController {
     /**
      * Retrieves a list of all registered guests
      *
-     * @return ResponseEntity with the list of guest DTOs and HTTP status 200
+     * @param cursor cursor returned by the previous page, omitted for the first page
+     * @param size   number of items per page
+     * @return ResponseEntity with a page of guest DTOs and HTTP status 200
      */
     @Operation(summary = "Get a list of all guests")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of guests returned successfully")
+            @ApiResponse(responseCode = "200", description = "List of guests returned successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'HOTEL_ADMIN')")
     @GetMapping
-    public ResponseEntity<List<GuestResponseDTO>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<CursorPageDTO<GuestResponseDTO>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.findAll(cursor, size));
     }
 
     /**
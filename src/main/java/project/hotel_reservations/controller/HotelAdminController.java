@@ -15,9 +15,9 @@ import org.springframework.web.bind.annotation.*;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminCreateDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminResponseDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.service.HotelAdminService;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -56,16 +56,25 @@ public class HotelAdminController {
     /**
      * Retrieves a list of all registered hotel administrators
      *
-     * @return ResponseEntity with the list of hotel administrator DTOs and HTTP status 200
+     * @param cursor cursor returned by the previous page, omitted for the first page
+     * @param size   number of items per page
+     * @return ResponseEntity with a page of hotel administrator DTOs and HTTP status 200
      */
     @Operation(summary = "Get a list of all hotel administrators")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of hotel administrators returned successfully")
+            @ApiResponse(responseCode = "200", description = "List of hotel administrators returned successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
     })
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<HotelAdminResponseDTO>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<CursorPageDTO<HotelAdminResponseDTO>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.findAll(cursor, size));
     }
 
     /**
@@ -8,16 +8,24 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import project.hotel_reservations.dto.hotel.HotelCreateDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbyDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbySearchDTO;
 import project.hotel_reservations.dto.hotel.HotelResponseDTO;
+import project.hotel_reservations.dto.hotel.HotelStatsDTO;
 import project.hotel_reservations.dto.hotel.HotelUpdateDTO;
+import project.hotel_reservations.dto.hotel.StatsGranularity;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.service.HotelService;
+import project.hotel_reservations.service.HotelStatsService;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -32,6 +40,7 @@ import java.util.UUID;
 public class HotelController {
 
     private final HotelService service;
+    private final HotelStatsService statsService;
 
     /**
      * Creates a new hotel
@@ -57,16 +66,94 @@ public class HotelController {
     /**
      * Retrieves a list of all registered hotels
      *
-     * @return ResponseEntity with the list of hotel DTOs and HTTP status 200
+     * @param cursor cursor returned by the previous page, omitted for the first page
+     * @param size   number of items per page
+     * @return ResponseEntity with a page of hotel DTOs and HTTP status 200
      */
     @Operation(summary = "Get a list of all hotels")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of hotels returned successfully")
+            @ApiResponse(responseCode = "200", description = "List of hotels returned successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'GUEST')")
     @GetMapping
-    public ResponseEntity<List<HotelResponseDTO>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<CursorPageDTO<HotelResponseDTO>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.findAll(cursor, size));
+    }
+
+    /**
+     * Searches hotels by name or address, best matches first
+     *
+     * @param q      words to look for, each one matches as a prefix
+     * @param cursor cursor returned by the previous page, omitted for the first page
+     * @param size   number of items per page
+     * @return ResponseEntity with a page of hotel DTOs and HTTP status 200
+     */
+    @Operation(summary = "Search hotels by name or address")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of matching hotels"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid search text, cursor or page size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'GUEST', 'HOTEL_ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<HotelResponseDTO>> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.search(q, cursor, size));
+    }
+
+    /**
+     * Finds the hotels within a radius of a point, nearest first
+     *
+     * @param lat      latitude of the center
+     * @param lon      longitude of the center
+     * @param radiusKm radius in kilometers
+     * @param checkIn  first night of the stay, requires checkOut
+     * @param checkOut departure day, requires checkIn
+     * @param guests   number of guests a free room must hold, 1 by default
+     * @param size     maximum number of hotels
+     * @return ResponseEntity with the nearby hotels and their distances and HTTP status 200
+     */
+    @Operation(summary = "Find hotels near a point")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Hotels within the radius, nearest first"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid coordinates, radius, date range or size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'GUEST', 'HOTEL_ADMIN')")
+    @GetMapping("/nearby")
+    public ResponseEntity<List<HotelNearbyDTO>> findNearby(
+            @RequestParam Double lat,
+            @RequestParam Double lon,
+            @RequestParam Double radiusKm,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) Integer guests,
+            @RequestParam(required = false) Integer size
+    ) {
+        HotelNearbySearchDTO criteria = HotelNearbySearchDTO.builder()
+                .latitude(lat)
+                .longitude(lon)
+                .radiusKm(radiusKm)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .guests(guests)
+                .build();
+        return ResponseEntity.ok(service.findNearby(criteria, size));
     }
 
     /**
@@ -147,4 +234,70 @@ public class HotelController {
         BigDecimal totalEarnings = service.getTotalEarningsByHotel(id);
         return ResponseEntity.ok(totalEarnings);
     }
+
+    /**
+     * Retrieves the revenue and occupancy of the hotel per day or per month, read from the daily rollups
+     *
+     * @param id UUID of the hotel
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @param granularity DAY or MONTH, DAY by default
+     * @return ResponseEntity with one entry per period and HTTP status 200
+     */
+    @Operation(summary = "Revenue and occupancy stats")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stats of the hotel"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Hotel not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'HOTEL_ADMIN')")
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<List<HotelStatsDTO>> getStats(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") StatsGranularity granularity
+    ) {
+        return ResponseEntity.ok(statsService.findStats(id, from, to, granularity));
+    }
+
+    /**
+     * Rebuilds the daily rollups of the hotel over a range of days from its reservations and payments
+     *
+     * @param id UUID of the hotel
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return ResponseEntity with the number of rebuilt days and HTTP status 200
+     */
+    @Operation(summary = "Backfill revenue and occupancy stats")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of rebuilt days"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Hotel not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/{id}/stats/backfill")
+    public ResponseEntity<Integer> backfillStats(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(statsService.backfill(id, from, to));
+    }
 }
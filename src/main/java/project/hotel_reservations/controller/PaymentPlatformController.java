@@ -12,12 +12,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformCreateDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformResponseDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformUpdateDTO;
 import project.hotel_reservations.service.PaymentPlatformService;
 
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -56,16 +56,25 @@ public class PaymentPlatformController {
     /**
      * Retrieves a list of all registered payment platforms
      *
-     * @return ResponseEntity with the list of payment platform DTOs and HTTP status 200
+     * @param cursor cursor returned by the previous page, omitted for the first page
+     * @param size   number of items per page
+     * @return ResponseEntity with a page of payment platform DTOs and HTTP status 200
      */
     @Operation(summary = "Get a list of all payment platforms")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of payment platforms returned successfully")
+            @ApiResponse(responseCode = "200", description = "List of payment platforms returned successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'GUEST', 'HOTEL_ADMIN')")
     @GetMapping
-    public ResponseEntity<List<PaymentPlatformResponseDTO>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<CursorPageDTO<PaymentPlatformResponseDTO>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.findAll(cursor, size));
     }
 
     /**
@@ -6,18 +6,33 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import project.hotel_reservations.config.AsyncTimeoutInterceptor;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.reservation.PayReservationDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchResponseDTO;
 import project.hotel_reservations.dto.reservation.ReservationCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationExportFormat;
+import project.hotel_reservations.dto.reservation.ReservationGroupDTO;
+import project.hotel_reservations.dto.reservation.ReservationGrouping;
 import project.hotel_reservations.dto.reservation.ReservationResponseDTO;
+import project.hotel_reservations.dto.reservation.RoomTypeReservationCreateDTO;
 import project.hotel_reservations.model.ReservationStatus;
+import project.hotel_reservations.service.IdempotencyService;
+import project.hotel_reservations.service.ReservationExportService;
 import project.hotel_reservations.service.ReservationService;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -29,15 +44,30 @@ import java.util.UUID;
 @Tag(name = "Reservations")
 @RestController
 @RequestMapping("/reservations")
-@RequiredArgsConstructor
 public class ReservationController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final ReservationService service;
+    private final IdempotencyService idempotencyService;
+    private final ReservationExportService exportService;
+    private final Duration exportTimeout;
+
+    public ReservationController(ReservationService service,
+                                 IdempotencyService idempotencyService,
+                                 ReservationExportService exportService,
+                                 @Value("${reservations.export.timeout:30m}") Duration exportTimeout) {
+        this.service = service;
+        this.idempotencyService = idempotencyService;
+        this.exportService = exportService;
+        this.exportTimeout = exportTimeout;
+    }
 
     /**
      * Creates a new reservation
      *
      * @param req DTO containing the reservation data to create
+     * @param idempotencyKey optional key, repeated requests with it get the first response back
      * @return ResponseEntity with the created reservation DTO and HTTP status 201
      */
     @Operation(summary = "Create a reservation")
@@ -47,27 +77,141 @@ public class ReservationController {
                     responseCode = "400",
                     description = "Invalid input data",
                     content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Room not available or Idempotency-Key reused for a different request",
+                    content = @Content(schema = @Schema(hidden = true))
             )
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'GUEST')")
     @PostMapping
-    public ResponseEntity<ReservationResponseDTO> create(@Valid @RequestBody ReservationCreateDTO req) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(service.create(req));
+    public ResponseEntity<ReservationResponseDTO> create(
+            @Valid @RequestBody ReservationCreateDTO req,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        ReservationResponseDTO created = idempotencyService.execute(idempotencyKey, "POST /reservations", req,
+                ReservationResponseDTO.class, () -> service.create(req));
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(created);
+    }
+
+    /**
+     * Creates a new reservation for any free room of the requested type
+     *
+     * @param req DTO containing the hotel, room type and stay to book
+     * @return ResponseEntity with the created reservation DTO and HTTP status 201
+     */
+    @Operation(summary = "Create a reservation for any room of a type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Reservation created successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Hotel or guest not found",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "No room of the type is left for the selected dates",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'GUEST')")
+    @PostMapping("/room-type")
+    public ResponseEntity<ReservationResponseDTO> createForRoomType(@Valid @RequestBody RoomTypeReservationCreateDTO req) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.createForRoomType(req));
+    }
+
+    /**
+     * Creates a block of reservations in a single transaction
+     *
+     * @param req DTO containing the reservations and whether the block is all-or-nothing
+     * @return ResponseEntity with the result of every item, HTTP status 201 if all were created
+     * or 207 if some were rejected
+     */
+    @Operation(summary = "Create a block of reservations")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "All reservations created successfully"),
+            @ApiResponse(responseCode = "207", description = "Some reservations were rejected, see the item errors"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data",
+                    content = @Content(schema = @Schema(hidden = true))
+            ),
+            @ApiResponse(
+                    responseCode = "409",
+                    description = "Atomic block rejected because some reservation cannot be booked",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'GUEST')")
+    @PostMapping("/batch")
+    public ResponseEntity<ReservationBatchResponseDTO> createBatch(@Valid @RequestBody ReservationBatchCreateDTO req) {
+        ReservationBatchResponseDTO result = service.createBatch(req);
+        HttpStatus status = result.failed() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+
+        return ResponseEntity.status(status).body(result);
     }
 
     /**
      * Retrieves a list of all reservations
      *
-     * @return ResponseEntity with the list of reservation DTOs and HTTP status 200
+     * @param cursor cursor returned by the previous page, omitted for the first page
+     * @param size   number of items per page
+     * @return ResponseEntity with a page of reservation DTOs and HTTP status 200
      */
     @Operation(summary = "Get a list of all reservations")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of reservations returned successfully")
+            @ApiResponse(responseCode = "200", description = "List of reservations returned successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
     })
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<ReservationResponseDTO>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<CursorPageDTO<ReservationResponseDTO>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.findAll(cursor, size));
+    }
+
+    /**
+     * Streams the whole reservation history as a file, written row by row while it is read.
+     * The stream gets its own async timeout, long enough for the full history
+     *
+     * @param format file format, NDJSON by default
+     * @param request current request, the export timeout is applied to it
+     * @return ResponseEntity with the streamed file and HTTP status 200
+     */
+    @Operation(summary = "Export all reservations as NDJSON or CSV")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservations streamed successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown export format",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(defaultValue = "NDJSON") ReservationExportFormat format,
+            HttpServletRequest request) {
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("reservations." + format.getExtension())
+                .build();
+        AsyncTimeoutInterceptor.apply(request, exportTimeout);
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(out -> exportService.export(format, out));
     }
 
     /**
@@ -96,6 +240,7 @@ public class ReservationController {
      *
      * @param id  UUID of the reservation to confirm
      * @param req DTO containing the payment information
+     * @param idempotencyKey optional key, repeated requests with it get the first response back
      * @return ResponseEntity with the confirmed reservation DTO and HTTP status 200
      */
     @Operation(summary = "Confirm a reservation")
@@ -114,8 +259,15 @@ public class ReservationController {
     })
     @PreAuthorize("hasAnyRole('ADMIN', 'GUEST')")
     @PatchMapping("/{id}/confirm")
-    public ResponseEntity<ReservationResponseDTO> confirmReservation(@PathVariable UUID id, @Valid @RequestBody PayReservationDTO req) {
-        return ResponseEntity.ok(service.confirmReservation(id, req));
+    public ResponseEntity<ReservationResponseDTO> confirmReservation(
+            @PathVariable UUID id,
+            @Valid @RequestBody PayReservationDTO req,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        ReservationResponseDTO confirmed = idempotencyService.execute(idempotencyKey,
+                "PATCH /reservations/" + id + "/confirm", req,
+                ReservationResponseDTO.class, () -> service.confirmReservation(id, req));
+
+        return ResponseEntity.ok(confirmed);
     }
 
     /**
@@ -162,4 +314,29 @@ public class ReservationController {
     public ResponseEntity<Map<ReservationStatus, List<ReservationResponseDTO>>> getReservationsGroupedByPaymentMethod() {
         return ResponseEntity.ok(service.getReservationsGroupedByPaymentMethod());
     }
+
+    /**
+     * Retrieves the number of reservations and their payment total per group, optionally with
+     * the first page of every group
+     *
+     * @param by       attribute to group by, the status by default
+     * @param pageSize when set, number of reservations listed for every group
+     * @return ResponseEntity with one DTO per group and HTTP status 200
+     */
+    @Operation(summary = "Get reservation counts and totals grouped by status or payment method")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Groups returned successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid grouping or page size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/group-method/summary")
+    public ResponseEntity<List<ReservationGroupDTO>> summarize(
+            @RequestParam(defaultValue = "STATUS") ReservationGrouping by,
+            @RequestParam(required = false) Integer pageSize) {
+        return ResponseEntity.ok(service.summarize(by, pageSize));
+    }
 }
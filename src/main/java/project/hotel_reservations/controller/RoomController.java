@@ -8,15 +8,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.room.RoomCreateDTO;
 import project.hotel_reservations.dto.room.RoomResponseDTO;
+import project.hotel_reservations.dto.room.RoomSearchDTO;
+import project.hotel_reservations.dto.room.RoomSort;
 import project.hotel_reservations.dto.room.RoomUpdateDTO;
 import project.hotel_reservations.service.RoomService;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -56,16 +63,25 @@ public class RoomController {
     /**
      * Retrieves a list of all rooms
      *
-     * @return ResponseEntity with the list of room DTOs and HTTP status 200
+     * @param cursor cursor returned by the previous page, omitted for the first page
+     * @param size   number of items per page
+     * @return ResponseEntity with a page of room DTOs and HTTP status 200
      */
     @Operation(summary = "Get a list of all rooms")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "List of rooms returned successfully")
+            @ApiResponse(responseCode = "200", description = "List of rooms returned successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor or page size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
     })
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<List<RoomResponseDTO>> findAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<CursorPageDTO<RoomResponseDTO>> findAll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(service.findAll(cursor, size));
     }
 
     /**
@@ -161,14 +177,89 @@ public class RoomController {
     }
 
     /**
-     * Retrieves a list of all the available rooms in a hotel
+     * Retrieves a list of all the available rooms in a hotel, optionally restricted to
+     * the rooms that are free for a stay and can hold the given number of guests
      *
+     * @param hotelId  UUID of the hotel
+     * @param checkIn  first night of the stay
+     * @param checkOut departure day
+     * @param guests   number of guests
      * @return ResponseEntity with the list of room DTOs and HTTP status 200
      */
     @Operation(summary = "Get a list of all the available rooms in a hotel")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "List of rooms returned successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid date range",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
     @PreAuthorize("hasAnyRole('ADMIN', 'GUEST', 'HOTEL_ADMIN')")
     @GetMapping("/hotels/{hotelId}/available")
-    public ResponseEntity<List<RoomResponseDTO>> findAvailableRooms(@PathVariable UUID hotelId) {
-        return ResponseEntity.ok(service.findAvailableRooms(hotelId));
+    public ResponseEntity<List<RoomResponseDTO>> findAvailableRooms(
+            @PathVariable UUID hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) Integer guests
+    ) {
+        if (checkIn == null && checkOut == null && guests == null) {
+            return ResponseEntity.ok(service.findAvailableRooms(hotelId));
+        }
+        return ResponseEntity.ok(service.findAvailableRooms(hotelId, checkIn, checkOut, guests));
+    }
+
+    /**
+     * Searches rooms across hotels by hotel, type, capacity, price range and stay dates
+     *
+     * @param hotelId   hotel of the rooms, any hotel when omitted
+     * @param type      room type
+     * @param guests    number of guests the room must hold
+     * @param minPrice  lowest price, inclusive
+     * @param maxPrice  highest price, inclusive
+     * @param checkIn   first night of the stay, requires checkOut
+     * @param checkOut  departure day, requires checkIn
+     * @param sort      PRICE, CAPACITY or CODE, PRICE by default
+     * @param direction ASC or DESC, ASC by default
+     * @param cursor    cursor returned by the previous page, omitted for the first page
+     * @param size      page size
+     * @return ResponseEntity with one page of room DTOs and HTTP status 200
+     */
+    @Operation(summary = "Search rooms across hotels")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of matching rooms"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid price or date range, cursor or page size",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasAnyRole('ADMIN', 'GUEST', 'HOTEL_ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<RoomResponseDTO>> search(
+            @RequestParam(required = false) UUID hotelId,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) Integer guests,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) RoomSort sort,
+            @RequestParam(required = false) Sort.Direction direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        RoomSearchDTO criteria = RoomSearchDTO.builder()
+                .hotelId(hotelId)
+                .type(type)
+                .guests(guests)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .sort(sort)
+                .direction(direction)
+                .build();
+        return ResponseEntity.ok(service.search(criteria, cursor, size));
     }
 }
@@ -0,0 +1,52 @@
+package project.hotel_reservations.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import project.hotel_reservations.dto.token.TokenRevocationDTO;
+import project.hotel_reservations.service.TokenRevocationService;
+
+/**
+ * REST controller for revoking bearer tokens before they expire
+ */
+@Tag(name = "Tokens")
+@RestController
+@RequestMapping("/tokens")
+@RequiredArgsConstructor
+public class TokenRevocationController {
+
+    private final TokenRevocationService service;
+
+    /**
+     * Revokes a token, requests that carry it are rejected from then on
+     *
+     * @param req DTO containing the jti and the expiration of the token
+     * @return ResponseEntity with no content and HTTP status 204 if the token was revoked
+     */
+    @Operation(summary = "Revoke a token")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Token revoked successfully"),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid input data",
+                    content = @Content(schema = @Schema(hidden = true))
+            )
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/revocations")
+    public ResponseEntity<Void> revoke(@Valid @RequestBody TokenRevocationDTO req) {
+        service.revoke(req.jti(), req.expiresAt());
+        return ResponseEntity.noContent().build();
+    }
+}
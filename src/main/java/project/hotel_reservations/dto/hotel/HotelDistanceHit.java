@@ -0,0 +1,13 @@
+package project.hotel_reservations.dto.hotel;
+
+import java.util.UUID;
+
+/**
+ * Row of the native radius search: a hotel and its distance to the search center
+ */
+public interface HotelDistanceHit {
+
+    UUID getHotelId();
+
+    Double getDistanceKm();
+}
@@ -0,0 +1,11 @@
+package project.hotel_reservations.dto.hotel;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record HotelEarningsTotal(
+        UUID hotelId,
+        BigDecimal totalAmount,
+        Long paymentCount
+) {
+}
@@ -0,0 +1,12 @@
+package project.hotel_reservations.dto.hotel;
+
+import java.math.BigDecimal;
+
+public record HotelMonthlyStats(
+        Integer year,
+        Integer month,
+        BigDecimal revenue,
+        Long nightsSold,
+        Long roomsAvailable
+) {
+}
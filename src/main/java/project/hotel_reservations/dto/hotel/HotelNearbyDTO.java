@@ -0,0 +1,18 @@
+package project.hotel_reservations.dto.hotel;
+
+import lombok.Builder;
+
+import java.util.UUID;
+
+@Builder
+public record HotelNearbyDTO(
+        UUID id,
+        String name,
+        String address,
+        String phone,
+        String email,
+        Double latitude,
+        Double longitude,
+        Double distanceKm
+) {
+}
@@ -0,0 +1,16 @@
+package project.hotel_reservations.dto.hotel;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+@Builder
+public record HotelNearbySearchDTO(
+        Double latitude,
+        Double longitude,
+        Double radiusKm,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        Integer guests
+) {
+}
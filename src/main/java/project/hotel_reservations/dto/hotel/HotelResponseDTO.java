@@ -10,6 +10,8 @@ public record HotelResponseDTO(
         String name,
         String address,
         String phone,
-        String email
+        String email,
+        Double latitude,
+        Double longitude
 ) {
 }
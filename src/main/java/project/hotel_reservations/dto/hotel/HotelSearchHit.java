@@ -0,0 +1,25 @@
+package project.hotel_reservations.dto.hotel;
+
+import java.util.UUID;
+
+/**
+ * Row of the native hotel search: the hotel columns and the relevance of the match
+ */
+public interface HotelSearchHit {
+
+    UUID getId();
+
+    String getName();
+
+    String getAddress();
+
+    String getPhone();
+
+    String getEmail();
+
+    Double getLatitude();
+
+    Double getLongitude();
+
+    Double getRank();
+}
@@ -0,0 +1,17 @@
+package project.hotel_reservations.dto.hotel;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record HotelStatsDTO(
+        LocalDate period,
+        BigDecimal revenue,
+        long nightsSold,
+        long roomsAvailable,
+        BigDecimal occupancy,
+        BigDecimal adr
+) {
+}
@@ -1,5 +1,7 @@
 package project.hotel_reservations.dto.hotel;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
@@ -19,6 +21,14 @@ public record HotelUpdateDTO(
 
         @Size(min = 1, message = "Email must not be empty")
         @Email(message = "Email must be valid")
-        String email
+        String email,
+
+        @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+        @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+        Double latitude,
+
+        @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+        @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+        Double longitude
 ) {
 }
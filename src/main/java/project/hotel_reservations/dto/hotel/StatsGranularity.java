@@ -0,0 +1,6 @@
+package project.hotel_reservations.dto.hotel;
+
+public enum StatsGranularity {
+    DAY,
+    MONTH
+}
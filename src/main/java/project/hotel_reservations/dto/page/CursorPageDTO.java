@@ -0,0 +1,18 @@
+package project.hotel_reservations.dto.page;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing
+ *
+ * @param items rows of this page
+ * @param next opaque cursor of the following page, null on the last page
+ */
+@Builder
+public record CursorPageDTO<T>(
+        List<T> items,
+        String next
+) {
+}
@@ -0,0 +1,21 @@
+package project.hotel_reservations.dto.reservation;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ReservationBatchCreateDTO(
+        @NotEmpty(message = "Reservations must not be empty")
+        @Size(max = 300, message = "A batch can hold at most 300 reservations")
+        List<@Valid ReservationCreateDTO> reservations,
+
+        Boolean atomic
+) {
+    public boolean isAtomic() {
+        return atomic == null || atomic;
+    }
+}
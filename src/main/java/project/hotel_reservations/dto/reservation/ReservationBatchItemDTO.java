@@ -0,0 +1,11 @@
+package project.hotel_reservations.dto.reservation;
+
+import lombok.Builder;
+
+@Builder
+public record ReservationBatchItemDTO(
+        int index,
+        ReservationResponseDTO reservation,
+        String error
+) {
+}
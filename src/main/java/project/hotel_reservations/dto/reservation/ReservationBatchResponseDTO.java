@@ -0,0 +1,13 @@
+package project.hotel_reservations.dto.reservation;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record ReservationBatchResponseDTO(
+        int created,
+        int failed,
+        List<ReservationBatchItemDTO> items
+) {
+}
@@ -24,5 +24,5 @@ public record ReservationCreateDTO(
 
         @NotNull(message = "Guest ID must not be empty")
         UUID guestId
-) {
+) implements StayDates {
 }
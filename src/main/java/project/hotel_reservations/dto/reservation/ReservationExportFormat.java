@@ -0,0 +1,18 @@
+package project.hotel_reservations.dto.reservation;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+
+/**
+ * File formats of the reservation export
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ReservationExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    private final MediaType mediaType;
+    private final String extension;
+}
@@ -0,0 +1,15 @@
+package project.hotel_reservations.dto.reservation;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Builder
+public record ReservationGroupDTO(
+        String key,
+        long count,
+        BigDecimal totalAmount,
+        List<ReservationResponseDTO> firstPage
+) {
+}
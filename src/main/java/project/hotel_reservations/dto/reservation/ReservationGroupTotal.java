@@ -0,0 +1,26 @@
+package project.hotel_reservations.dto.reservation;
+
+import project.hotel_reservations.model.PaymentMethod;
+import project.hotel_reservations.model.ReservationStatus;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of a GROUP BY over reservations: the group key, how many reservations it holds and
+ * the sum of their payments
+ */
+public record ReservationGroupTotal(
+        String key,
+        long count,
+        BigDecimal totalAmount
+) {
+
+    public ReservationGroupTotal(ReservationStatus status, Long count, BigDecimal totalAmount) {
+        this(status.name(), count, totalAmount != null ? totalAmount : BigDecimal.ZERO);
+    }
+
+    public ReservationGroupTotal(PaymentMethod paymentMethod, Long count, BigDecimal totalAmount) {
+        this(paymentMethod != null ? paymentMethod.name() : null, count,
+                totalAmount != null ? totalAmount : BigDecimal.ZERO);
+    }
+}
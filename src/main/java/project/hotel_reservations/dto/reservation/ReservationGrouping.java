@@ -0,0 +1,9 @@
+package project.hotel_reservations.dto.reservation;
+
+/**
+ * Attributes reservations can be aggregated by
+ */
+public enum ReservationGrouping {
+    STATUS,
+    PAYMENT_METHOD
+}
@@ -2,9 +2,12 @@ package project.hotel_reservations.dto.reservation;
 
 import lombok.Builder;
 import project.hotel_reservations.dto.payment.PaymentResponseDTO;
+import project.hotel_reservations.model.PaymentMethod;
 import project.hotel_reservations.model.ReservationStatus;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Builder
@@ -18,4 +21,17 @@ public record ReservationResponseDTO(
         UUID roomId,
         UUID guestId
 ) {
+
+    /**
+     * Creates a reservation DTO out of one flat row of a projection query
+     */
+    public ReservationResponseDTO(UUID id, LocalDate checkInDate, LocalDate checkOutDate, Integer peopleCount,
+                                  ReservationStatus status, UUID roomId, UUID guestId,
+                                  UUID paymentId, BigDecimal totalAmount, LocalDateTime paymentDate,
+                                  PaymentMethod paymentMethod, UUID paymentPlatformId) {
+        this(id, checkInDate, checkOutDate, peopleCount, status,
+                paymentId == null ? null : new PaymentResponseDTO(
+                        paymentId, totalAmount, paymentDate, paymentMethod, paymentPlatformId),
+                roomId, guestId);
+    }
 }
@@ -0,0 +1,32 @@
+package project.hotel_reservations.dto.reservation;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import project.hotel_reservations.validation.annotation.ValidDateRange;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+@ValidDateRange
+@Builder
+public record RoomTypeReservationCreateDTO(
+        @NotNull(message = "Check-in date must not be empty")
+        LocalDate checkInDate,
+
+        @NotNull(message = "Check-out date must not be empty")
+        LocalDate checkOutDate,
+
+        @NotNull(message = "People count in date must not be empty")
+        Integer peopleCount,
+
+        @NotNull(message = "Hotel ID must not be empty")
+        UUID hotelId,
+
+        @NotBlank(message = "Room type must not be empty")
+        String roomType,
+
+        @NotNull(message = "Guest ID must not be empty")
+        UUID guestId
+) implements StayDates {
+}
@@ -0,0 +1,13 @@
+package project.hotel_reservations.dto.reservation;
+
+import java.time.LocalDate;
+
+/**
+ * Request that carries the dates of a stay, checked by {@link project.hotel_reservations.validation.annotation.ValidDateRange}
+ */
+public interface StayDates {
+
+    LocalDate checkInDate();
+
+    LocalDate checkOutDate();
+}
@@ -0,0 +1,22 @@
+package project.hotel_reservations.dto.room;
+
+import lombok.Builder;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Builder
+public record RoomSearchDTO(
+        UUID hotelId,
+        String type,
+        Integer guests,
+        BigDecimal minPrice,
+        BigDecimal maxPrice,
+        LocalDate checkIn,
+        LocalDate checkOut,
+        RoomSort sort,
+        Sort.Direction direction
+) {
+}
@@ -0,0 +1,52 @@
+package project.hotel_reservations.dto.room;
+
+import project.hotel_reservations.model.Room;
+import project.hotel_reservations.pagination.Cursor;
+
+/**
+ * Sort keys of the room search. Every sort is completed with the room ID, which keeps keyset pages stable
+ */
+public enum RoomSort {
+    PRICE("price"),
+    CAPACITY("capacity"),
+    CODE("code");
+
+    private final String property;
+
+    RoomSort(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    /**
+     * Return the sort key of a room
+     *
+     * @param room room
+     * @return value of the sorted property
+     */
+    public Comparable<?> keyOf(Room room) {
+        return switch (this) {
+            case PRICE -> room.getPrice();
+            case CAPACITY -> room.getCapacity();
+            case CODE -> room.getCode();
+        };
+    }
+
+    /**
+     * Return the sort key stored in a cursor, typed like the sorted property
+     *
+     * @param cursor cursor of the previous page
+     * @return sort key of the cursor
+     * @throws IllegalArgumentException if the key does not match the sorted property
+     */
+    public Comparable<?> keyOf(Cursor cursor) {
+        return switch (this) {
+            case PRICE -> cursor.keyAsDecimal();
+            case CAPACITY -> cursor.keyAsInteger();
+            case CODE -> cursor.key();
+        };
+    }
+}
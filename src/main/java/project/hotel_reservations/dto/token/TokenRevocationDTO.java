@@ -0,0 +1,21 @@
+package project.hotel_reservations.dto.token;
+
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+@Builder
+public record TokenRevocationDTO(
+        @NotBlank(message = "Token id must not be empty")
+        @Size(max = 255, message = "Token id must have at most 255 characters")
+        String jti,
+
+        @NotNull(message = "Expiration must not be null")
+        @Future(message = "Expiration must be in the future")
+        LocalDateTime expiresAt
+) {
+}
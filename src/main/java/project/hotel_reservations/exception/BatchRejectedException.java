@@ -0,0 +1,16 @@
+package project.hotel_reservations.exception;
+
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class BatchRejectedException extends RuntimeException {
+
+    private final List<String> errors;
+
+    public BatchRejectedException(String message, List<String> errors) {
+        super(message);
+        this.errors = errors;
+    }
+}
@@ -2,7 +2,10 @@ package project.hotel_reservations.exception;
 
 import com.fasterxml.jackson.databind.exc.InvalidFormatException;
 import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -16,6 +19,11 @@ import java.util.List;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final String NO_OVERLAP_CONSTRAINT = "reservations_no_overlap";
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+    // Hibernate cannot extract the constraint name of an exclusion violation, so match on the state
+    private static final String EXCLUSION_VIOLATION_STATE = "23P01";
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationErrors(MethodArgumentNotValidException ex) {
         List<String> validationErrors = ex.getBindingResult()
@@ -89,6 +97,56 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        if (!(ex.getCause() instanceof ConstraintViolationException violation)) {
+            throw ex;
+        }
+
+        String message;
+        if (NO_OVERLAP_CONSTRAINT.equals(violation.getConstraintName())
+                || EXCLUSION_VIOLATION_STATE.equals(violation.getSQLState())) {
+            message = "Room is not available for the selected dates";
+        } else if (violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+                || UNIQUE_VIOLATION_STATE.equals(violation.getSQLState())) {
+            message = "Request conflicts with existing data";
+        } else {
+            // NOT NULL, foreign key and check violations are bugs, not conflicts
+            throw ex;
+        }
+
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(message)
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message("The resource was modified concurrently, please try again")
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(BatchRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleBatchRejected(BatchRejectedException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .error(HttpStatus.CONFLICT.getReasonPhrase())
+                .message(ex.getMessage())
+                .errors(ex.getErrors())
+                .build();
+
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(ReservationNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleReservationNotFound(ReservationNotFoundException ex) {
         ErrorResponse error = ErrorResponse.builder()
@@ -1,11 +1,18 @@
 package project.hotel_reservations.factory;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
 import project.hotel_reservations.model.Payment;
 
 @Slf4j
+@Component
 public class PayPalProcessor implements PaymentProcessor {
 
+    @Override
+    public String code() {
+        return "PAYPAL";
+    }
+
     @Override
     public void process(Payment payment) {
         log.info("PayPal processing started for payment");
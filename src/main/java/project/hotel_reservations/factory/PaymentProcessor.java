@@ -1,7 +1,29 @@
 package project.hotel_reservations.factory;
 
+import org.springframework.boot.actuate.health.Health;
 import project.hotel_reservations.model.Payment;
 
+/**
+ * Processes the transfer payments of one payment platform. Processors are singletons shared by
+ * every request, found as Spring beans or through {@link java.util.ServiceLoader} in plugin jars
+ */
 public interface PaymentProcessor {
+
+    /**
+     * Return the code of the payment platform this processor handles, matched ignoring case
+     *
+     * @return payment platform code
+     */
+    String code();
+
     void process(Payment payment);
+
+    /**
+     * Return whether the processor can take payments, reported on the health endpoint
+     *
+     * @return health of the processor, up by default
+     */
+    default Health health() {
+        return Health.up().build();
+    }
 }
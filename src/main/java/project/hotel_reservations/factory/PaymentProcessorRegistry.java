@@ -0,0 +1,96 @@
+package project.hotel_reservations.factory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.stream.Stream;
+
+/**
+ * Payment processors indexed by the code of their payment platform. Processors are the
+ * PaymentProcessor beans of the context plus the ones listed in
+ * META-INF/services/project.hotel_reservations.factory.PaymentProcessor of any jar on the classpath,
+ * so a platform can be added as a plugin. The index is built once and never changes, finding the
+ * processor of a payment is a single lookup
+ */
+@Slf4j
+@Component
+public class PaymentProcessorRegistry implements HealthIndicator {
+
+    private final Map<String, PaymentProcessor> processors;
+
+    public PaymentProcessorRegistry(List<PaymentProcessor> beans, MeterRegistry meterRegistry) {
+        Stream<PaymentProcessor> plugins = ServiceLoader.load(PaymentProcessor.class).stream()
+                .map(ServiceLoader.Provider::get);
+
+        Map<String, PaymentProcessor> found = new HashMap<>();
+        Stream.concat(beans.stream(), plugins).forEach(processor -> {
+            String code = normalize(processor.code());
+            Timer timer = Timer.builder("payment.processor.duration")
+                    .description("Time spent processing a transfer payment")
+                    .tag("platform", code)
+                    .register(meterRegistry);
+            PaymentProcessor previous = found.putIfAbsent(code, new TimedPaymentProcessor(processor, timer));
+            if (previous != null) {
+                throw new IllegalStateException("Payment platform " + code + " has more than one processor");
+            }
+        });
+
+        this.processors = Map.copyOf(found);
+        log.info("Payment processors registered. platforms={}", processors.keySet());
+    }
+
+    /**
+     * Return the processor of a payment platform
+     *
+     * @param code payment platform code, matched ignoring case
+     * @return the processor shared by every payment of the platform
+     * @throws IllegalArgumentException if no processor handles the platform
+     */
+    public PaymentProcessor getProcessor(String code) {
+        PaymentProcessor processor = processors.get(normalize(code));
+        if (processor == null) {
+            throw new IllegalArgumentException("Unsupported payment platform: " + code);
+        }
+        return processor;
+    }
+
+    /**
+     * Tells whether a payment platform has a processor
+     *
+     * @param code payment platform code, matched ignoring case
+     * @return true if payments of the platform can be processed
+     */
+    public boolean supports(String code) {
+        return processors.containsKey(normalize(code));
+    }
+
+    /**
+     * Return up when every processor is up, with the health and timings of each one as details
+     */
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        processors.forEach((code, processor) -> {
+            Health health = processor.health();
+            if (!Status.UP.equals(health.getStatus())) {
+                builder.down();
+            }
+            builder.withDetail(code, health);
+        });
+        return builder.build();
+    }
+
+    private static String normalize(String code) {
+        return code.toUpperCase(Locale.ROOT);
+    }
+}
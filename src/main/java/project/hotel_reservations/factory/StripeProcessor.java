@@ -1,11 +1,18 @@
 package project.hotel_reservations.factory;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
 import project.hotel_reservations.model.Payment;
 
 @Slf4j
+@Component
 public class StripeProcessor implements PaymentProcessor {
 
+    @Override
+    public String code() {
+        return "STRIPE";
+    }
+
     @Override
     public void process(Payment payment) {
         log.info("Stripe processing started for payment");
@@ -0,0 +1,46 @@
+package project.hotel_reservations.factory;
+
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.actuate.health.Health;
+import project.hotel_reservations.model.Payment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registered processor that times every payment it processes
+ */
+final class TimedPaymentProcessor implements PaymentProcessor {
+
+    private final PaymentProcessor processor;
+    private final Timer timer;
+
+    TimedPaymentProcessor(PaymentProcessor processor, Timer timer) {
+        this.processor = processor;
+        this.timer = timer;
+    }
+
+    @Override
+    public String code() {
+        return processor.code();
+    }
+
+    @Override
+    public void process(Payment payment) {
+        timer.record(() -> processor.process(payment));
+    }
+
+    /**
+     * Return the health of the processor along with how many payments it processed and how long they took
+     */
+    @Override
+    public Health health() {
+        Health health = processor.health();
+        return Health.status(health.getStatus())
+                .withDetails(health.getDetails())
+                .withDetail("processor", processor.getClass().getName())
+                .withDetail("payments", timer.count())
+                .withDetail("meanMillis", timer.mean(TimeUnit.MILLISECONDS))
+                .withDetail("maxMillis", timer.max(TimeUnit.MILLISECONDS))
+                .build();
+    }
+}
@@ -0,0 +1,27 @@
+package project.hotel_reservations.geo;
+
+/**
+ * Position on the earth in decimal degrees
+ */
+public record GeoPoint(
+        double latitude,
+        double longitude
+) {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /**
+     * Return the great-circle distance to another point, by the haversine formula
+     *
+     * @param other other point
+     * @return distance in kilometers
+     */
+    public double distanceKm(GeoPoint other) {
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
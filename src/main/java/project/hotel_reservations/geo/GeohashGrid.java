@@ -0,0 +1,125 @@
+package project.hotel_reservations.geo;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Points bucketed by fixed-precision geohash cell. A cell key interleaves the longitude and latitude
+ * bits like a geohash, so a bounding box maps to a small block of cells. Reads are lock-free,
+ * writes synchronize on the instance
+ */
+class GeohashGrid {
+
+    private record Entry(GeoPoint point, long cell) {
+    }
+
+    private final int bits;
+    private final int cellsPerAxis;
+    private final Map<Long, Set<UUID>> cells = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * @param bits bits per axis, 12 matches a 5 character geohash of about 5 km by 5 km
+     */
+    GeohashGrid(int bits) {
+        if (bits < 1 || bits > 30) {
+            throw new IllegalArgumentException("Geohash bits per axis must be between 1 and 30");
+        }
+        this.bits = bits;
+        this.cellsPerAxis = 1 << bits;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /**
+     * Adds the point identified by id, or moves it when already present
+     */
+    synchronized void put(UUID id, GeoPoint point) {
+        remove(id);
+        long cell = cell(point);
+        entries.put(id, new Entry(point, cell));
+        cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    /**
+     * Removes the point identified by id
+     */
+    synchronized void remove(UUID id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+
+        Set<UUID> ids = cells.get(entry.cell());
+        ids.remove(id);
+        if (ids.isEmpty()) {
+            cells.remove(entry.cell());
+        }
+    }
+
+    /**
+     * Visits the points of every cell intersecting the box. The longitude range may cross the
+     * antimeridian, below -180 or above 180, and the visited points may lie slightly outside the box
+     *
+     * @param minLat southern edge
+     * @param maxLat northern edge
+     * @param minLon western edge
+     * @param maxLon eastern edge, greater than or equal to the western edge
+     */
+    void forEachCandidate(double minLat, double maxLat, double minLon, double maxLon,
+                          BiConsumer<UUID, GeoPoint> visitor) {
+        int fromLat = latIndex(minLat);
+        int toLat = latIndex(maxLat);
+        long fromLon = (long) Math.floor((minLon + 180) / 360 * cellsPerAxis);
+        long toLon = (long) Math.floor((maxLon + 180) / 360 * cellsPerAxis);
+        if (toLon - fromLon >= cellsPerAxis) {
+            fromLon = 0;
+            toLon = cellsPerAxis - 1;
+        }
+
+        long blocks = (toLat - fromLat + 1L) * (toLon - fromLon + 1);
+        if (blocks > entries.size()) {
+            entries.forEach((id, entry) -> visitor.accept(id, entry.point()));
+            return;
+        }
+
+        for (int lat = fromLat; lat <= toLat; lat++) {
+            for (long lon = fromLon; lon <= toLon; lon++) {
+                Set<UUID> ids = cells.get(interleave((int) Math.floorMod(lon, cellsPerAxis), lat));
+                if (ids == null) {
+                    continue;
+                }
+                for (UUID id : ids) {
+                    Entry entry = entries.get(id);
+                    if (entry != null) {
+                        visitor.accept(id, entry.point());
+                    }
+                }
+            }
+        }
+    }
+
+    private long cell(GeoPoint point) {
+        int lon = (int) Math.min(cellsPerAxis - 1, Math.floor((point.longitude() + 180) / 360 * cellsPerAxis));
+        return interleave(Math.max(0, lon), latIndex(point.latitude()));
+    }
+
+    private int latIndex(double latitude) {
+        int index = (int) Math.floor((latitude + 90) / 180 * cellsPerAxis);
+        return Math.max(0, Math.min(cellsPerAxis - 1, index));
+    }
+
+    private long interleave(int lon, int lat) {
+        long key = 0;
+        for (int bit = bits - 1; bit >= 0; bit--) {
+            key = (key << 1) | ((lon >>> bit) & 1);
+            key = (key << 1) | ((lat >>> bit) & 1);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,122 @@
+package project.hotel_reservations.geo;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.repository.HotelRepository;
+import project.hotel_reservations.transaction.AfterCommit;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-memory spatial index of the hotels with coordinates, a geohash grid rebuilt from the
+ * database on startup and kept in step with hotel changes after each commit. When disabled,
+ * radius searches go to the earthdistance index of Postgres instead
+ */
+@Slf4j
+@Component
+public class HotelGeoIndex {
+
+    private final HotelRepository hotelRepository;
+    private final boolean enabled;
+    private final GeohashGrid grid;
+
+    public HotelGeoIndex(HotelRepository hotelRepository,
+                         @Value("${hotels.geo.in-memory:true}") boolean enabled,
+                         @Value("${hotels.geo.grid-bits:12}") int gridBits) {
+        this.hotelRepository = hotelRepository;
+        this.enabled = enabled;
+        this.grid = new GeohashGrid(gridBits);
+    }
+
+    /**
+     * Loads the coordinates of every located hotel
+     */
+    @PostConstruct
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+
+        hotelRepository.findLocations().forEach(location ->
+                grid.put(location.hotelId(), new GeoPoint(location.latitude(), location.longitude())));
+        log.info("Hotel geo index loaded. hotels={}", grid.size());
+    }
+
+    /**
+     * Tells whether radius searches are answered from memory
+     *
+     * @return true if the index is loaded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Return the hotels within a radius of a point, nearest first
+     *
+     * @param center search center
+     * @param radiusKm radius in kilometers
+     * @return hotels and their distances, ordered by distance and ID
+     */
+    public List<NearbyHotel> findNearby(GeoPoint center, double radiusKm) {
+        double angle = radiusKm / GeoPoint.EARTH_RADIUS_KM;
+        double dLat = Math.toDegrees(angle);
+        double minLat = center.latitude() - dLat;
+        double maxLat = center.latitude() + dLat;
+        double dLon = 180;
+        if (minLat > -90 && maxLat < 90) {
+            double ratio = Math.sin(angle) / Math.cos(Math.toRadians(center.latitude()));
+            dLon = ratio >= 1 ? 180 : Math.toDegrees(Math.asin(ratio));
+        }
+
+        List<NearbyHotel> found = new ArrayList<>();
+        grid.forEachCandidate(minLat, maxLat, center.longitude() - dLon, center.longitude() + dLon, (id, point) -> {
+            double distance = center.distanceKm(point);
+            if (distance <= radiusKm) {
+                found.add(new NearbyHotel(id, distance));
+            }
+        });
+        found.sort(Comparator.comparingDouble(NearbyHotel::distanceKm).thenComparing(NearbyHotel::hotelId));
+        return found;
+    }
+
+    /**
+     * Places, moves or drops the hotel once the current transaction commits, depending on its coordinates
+     *
+     * @param hotel saved hotel
+     */
+    public void track(Hotel hotel) {
+        if (!enabled) {
+            return;
+        }
+
+        UUID id = hotel.getId();
+        if (hotel.getLatitude() == null || hotel.getLongitude() == null) {
+            AfterCommit.run(() -> grid.remove(id));
+            return;
+        }
+        GeoPoint point = new GeoPoint(hotel.getLatitude(), hotel.getLongitude());
+        AfterCommit.run(() -> grid.put(id, point));
+    }
+
+    /**
+     * Drops the hotel once the current transaction commits
+     *
+     * @param hotelId deleted hotel ID
+     */
+    public void untrack(UUID hotelId) {
+        if (enabled) {
+            AfterCommit.run(() -> grid.remove(hotelId));
+        }
+    }
+
+    int size() {
+        return grid.size();
+    }
+}
@@ -0,0 +1,13 @@
+package project.hotel_reservations.geo;
+
+import java.util.UUID;
+
+/**
+ * Coordinates of a hotel, as loaded into the geo index
+ */
+public record HotelLocation(
+        UUID hotelId,
+        Double latitude,
+        Double longitude
+) {
+}
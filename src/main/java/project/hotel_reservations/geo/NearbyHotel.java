@@ -0,0 +1,12 @@
+package project.hotel_reservations.geo;
+
+import java.util.UUID;
+
+/**
+ * Hotel within the search radius and its distance to the search center
+ */
+public record NearbyHotel(
+        UUID hotelId,
+        double distanceKm
+) {
+}
@@ -0,0 +1,85 @@
+package project.hotel_reservations.hold;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hashed timing wheel: deadlines hash onto a fixed ring of buckets by tick, so scheduling is O(1)
+ * and each tick only scans one bucket. Entries for later laps stay in their bucket until their
+ * tick comes round. Cancelled holds are not removed, the expiry itself skips them
+ */
+final class HashedTimingWheel {
+
+    private final long tickMillis;
+    private final List<Entry>[] buckets;
+    private final int mask;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(long tickMillis, int wheelSize, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new List[Integer.highestOneBit(Math.max(wheelSize, 2) * 2 - 1)];
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+        this.mask = buckets.length - 1;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * Schedules an ID to expire at a deadline. Deadlines already due fire on the next tick
+     */
+    synchronized void schedule(UUID id, long deadlineMillis) {
+        long tick = Math.max(ceilTick(deadlineMillis), currentTick + 1);
+        buckets[(int) (tick & mask)].add(new Entry(id, tick));
+        size++;
+    }
+
+    /**
+     * Moves the wheel up to a moment and collects every ID whose deadline has passed
+     */
+    synchronized List<UUID> advance(long nowMillis) {
+        long target = nowMillis / tickMillis;
+        List<UUID> expired = new ArrayList<>();
+        if (target <= currentTick) {
+            return expired;
+        }
+
+        long steps = Math.min(target - currentTick, buckets.length);
+        for (long step = 1; step <= steps; step++) {
+            drain(buckets[(int) ((currentTick + step) & mask)], target, expired);
+        }
+        currentTick = target;
+        size -= expired.size();
+
+        return expired;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private long ceilTick(long millis) {
+        return (millis + tickMillis - 1) / tickMillis;
+    }
+
+    private static void drain(List<Entry> bucket, long target, List<UUID> expired) {
+        int i = 0;
+        while (i < bucket.size()) {
+            Entry entry = bucket.get(i);
+            if (entry.tick() <= target) {
+                expired.add(entry.id());
+                int last = bucket.size() - 1;
+                bucket.set(i, bucket.get(last));
+                bucket.remove(last);
+            } else {
+                i++;
+            }
+        }
+    }
+
+    private record Entry(UUID id, long tick) {
+    }
+}
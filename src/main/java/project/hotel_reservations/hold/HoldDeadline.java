@@ -0,0 +1,10 @@
+package project.hotel_reservations.hold;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Moment the hold of a PENDING reservation runs out
+ */
+public record HoldDeadline(UUID reservationId, LocalDateTime expiresAt) {
+}
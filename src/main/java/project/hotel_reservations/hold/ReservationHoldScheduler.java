@@ -0,0 +1,126 @@
+package project.hotel_reservations.hold;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.model.ReservationStatus;
+import project.hotel_reservations.repository.ReservationRepository;
+import project.hotel_reservations.service.ReservationService;
+import project.hotel_reservations.transaction.AfterCommit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Expires the holds of PENDING reservations. Deadlines sit on an in-process hashed timing wheel,
+ * each tick hands the due reservations to {@link ReservationService#expireHolds} in batches
+ */
+@Slf4j
+@Component
+public class ReservationHoldScheduler {
+
+    private final ReservationService reservationService;
+    private final ReservationRepository reservationRepository;
+    private final Duration ttl;
+    private final int batchSize;
+    private final long retryBackoffMillis;
+    private final HashedTimingWheel wheel;
+
+    public ReservationHoldScheduler(@Lazy ReservationService reservationService,
+                                    ReservationRepository reservationRepository,
+                                    @Value("${reservations.holds.ttl:15m}") Duration ttl,
+                                    @Value("${reservations.holds.tick-ms:1000}") long tickMillis,
+                                    @Value("${reservations.holds.wheel-size:512}") int wheelSize,
+                                    @Value("${reservations.holds.batch-size:100}") int batchSize,
+                                    @Value("${reservations.holds.retry-backoff-ms:5000}") long retryBackoffMillis) {
+        this.reservationService = reservationService;
+        this.reservationRepository = reservationRepository;
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.wheel = new HashedTimingWheel(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * Puts every outstanding hold back on the wheel
+     */
+    @PostConstruct
+    public void recover() {
+        List<HoldDeadline> deadlines = reservationRepository.findHoldDeadlines(ReservationStatus.PENDING);
+        deadlines.forEach(deadline -> wheel.schedule(deadline.reservationId(), toMillis(deadline.expiresAt())));
+        log.info("Reservation holds recovered. count={}", deadlines.size());
+    }
+
+    /**
+     * Return the moment a hold taken now runs out
+     *
+     * @return hold deadline
+     */
+    public LocalDateTime newDeadline() {
+        return LocalDateTime.now().plus(ttl);
+    }
+
+    /**
+     * Starts the hold countdown of a PENDING reservation once the current transaction commits
+     *
+     * @param reservation reservation with a hold deadline
+     */
+    public void track(Reservation reservation) {
+        if (reservation.getHoldExpiresAt() == null) {
+            return;
+        }
+
+        UUID id = reservation.getId();
+        long deadline = toMillis(reservation.getHoldExpiresAt());
+        AfterCommit.run(() -> wheel.schedule(id, deadline));
+    }
+
+    /**
+     * Cancels the holds that are due, one batch per transaction. A batch that fails is retried one
+     * reservation at a time; a reservation that still fails, other than by a concurrent confirmation,
+     * goes back on the wheel to be retried after the backoff, so no drained hold is lost
+     */
+    @Scheduled(fixedDelayString = "${reservations.holds.tick-ms:1000}")
+    public void expireDue() {
+        List<UUID> due = wheel.advance(System.currentTimeMillis());
+
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<UUID> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                reservationService.expireHolds(batch);
+            } catch (RuntimeException e) {
+                if (!(e instanceof OptimisticLockingFailureException)) {
+                    log.warn("Hold batch failed, expiring one by one. size={}", batch.size(), e);
+                }
+                batch.forEach(this::expireOne);
+            }
+        }
+    }
+
+    int pending() {
+        return wheel.size();
+    }
+
+    private void expireOne(UUID id) {
+        try {
+            reservationService.expireHolds(List.of(id));
+        } catch (OptimisticLockingFailureException e) {
+            log.debug("Hold changed while expiring, skipped. reservationId={}", id);
+        } catch (RuntimeException e) {
+            log.warn("Hold could not be expired, retrying in {} ms. reservationId={}", retryBackoffMillis, id, e);
+            wheel.schedule(id, System.currentTimeMillis() + retryBackoffMillis);
+        }
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,35 @@
+package project.hotel_reservations.ledger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.hotel_reservations.service.HotelEarningsService;
+
+/**
+ * Periodically checks the hotel earnings ledger against the full payment aggregate
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HotelEarningsReconciler {
+
+    private final HotelEarningsService earningsService;
+
+    /**
+     * Runs one reconciliation. A run that collides with a concurrent payment is left to the next one
+     */
+    @Scheduled(
+            initialDelayString = "${hotels.earnings.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${hotels.earnings.reconcile-interval-ms:3600000}"
+    )
+    public void reconcile() {
+        try {
+            int corrected = earningsService.reconcile();
+            log.info("Hotel earnings reconciled. corrected={}", corrected);
+        } catch (ConcurrencyFailureException e) {
+            log.info("Hotel earnings changed while reconciling, skipped until the next run");
+        }
+    }
+}
@@ -8,7 +8,10 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
-@Table(name = "hotels")
+@Table(
+        name = "hotels",
+        indexes = @Index(name = "idx_hotels_name_id", columnList = "name, id")
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -31,6 +34,10 @@ public class Hotel {
 
     private String email;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @OneToMany(mappedBy = "hotel", fetch = FetchType.LAZY)
     private List<HotelAdmin> hotelAdmins = new ArrayList<>();
 
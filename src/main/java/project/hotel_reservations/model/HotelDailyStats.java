@@ -0,0 +1,50 @@
+package project.hotel_reservations.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Daily rollup of one hotel: revenue and nights sold of its confirmed stays, and how many rooms it had
+ */
+@Entity
+@Table(
+        name = "hotel_daily_stats",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_hotel_daily_stats_day",
+                columnNames = {"hotel_id", "stat_day"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelDailyStats {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Hotel hotel;
+
+    @Column(name = "stat_day", nullable = false)
+    private LocalDate day;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+
+    @Column(name = "nights_sold", nullable = false)
+    private Integer nightsSold;
+
+    @Column(name = "rooms_available", nullable = false)
+    private Integer roomsAvailable;
+}
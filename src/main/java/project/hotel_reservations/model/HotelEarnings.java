@@ -0,0 +1,48 @@
+package project.hotel_reservations.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Running payment total of one hotel, kept up to date with every payment and refund
+ */
+@Entity
+@Table(name = "hotel_earnings")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelEarnings {
+
+    @Id
+    @Column(name = "hotel_id")
+    private UUID hotelId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "hotel_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Hotel hotel;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onChange() {
+        updatedAt = LocalDateTime.now();
+    }
+}
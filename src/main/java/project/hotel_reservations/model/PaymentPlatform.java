@@ -7,7 +7,10 @@ import org.hibernate.annotations.SQLRestriction;
 import java.util.UUID;
 
 @Entity
-@Table(name = "payment_platforms")
+@Table(
+        name = "payment_platforms",
+        indexes = @Index(name = "idx_payment_platforms_name_id", columnList = "name, id")
+)
 @SQLRestriction("active = true")
 @Getter
 @Setter
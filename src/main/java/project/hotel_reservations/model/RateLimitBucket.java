@@ -0,0 +1,24 @@
+package project.hotel_reservations.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Token bucket shared by every node, stored as the epoch microsecond at which it is full again
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 512)
+    private String key;
+
+    @Column(name = "full_at", nullable = false)
+    private Long fullAt;
+}
@@ -2,18 +2,22 @@ package project.hotel_reservations.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import project.hotel_reservations.state.ReservationState;
 import project.hotel_reservations.state.ReservationStateFactory;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
-@NamedQuery(
-        name = "Reservation.findReservationsByRoom",
-        query = "SELECT r FROM Reservation r WHERE r.room.id = :roomId"
-)
 @Entity
-@Table(name = "reservations")
+@Table(
+        name = "reservations",
+        indexes = {
+                @Index(name = "idx_reservations_hold_expires_at", columnList = "hold_expires_at"),
+                @Index(name = "idx_reservations_check_in_id", columnList = "check_in_date, id")
+        }
+)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -39,6 +43,9 @@ public class Reservation {
     @Builder.Default
     private ReservationStatus status = ReservationStatus.PENDING;
 
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     @ManyToOne(fetch = FetchType.EAGER, optional = false)
     @JoinColumn(name = "room_id", nullable = false)
     private Room room;
@@ -50,6 +57,10 @@ public class Reservation {
     @OneToOne(mappedBy = "reservation", fetch = FetchType.EAGER)
     private Payment payment;
 
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     public ReservationState getState() {
         return ReservationStateFactory.fromStatus(this.status);
     }
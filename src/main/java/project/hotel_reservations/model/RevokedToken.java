@@ -0,0 +1,33 @@
+package project.hotel_reservations.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token that must no longer be accepted, identified by its jti claim. The row can be deleted
+ * once the token expires, since an expired token is rejected anyway
+ */
+@Entity
+@Table(
+        name = "revoked_tokens",
+        indexes = @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @Column(name = "jti")
+    private String jti;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
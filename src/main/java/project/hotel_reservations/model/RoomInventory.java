@@ -0,0 +1,46 @@
+package project.hotel_reservations.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Nightly allotment of one room type in a hotel: how many rooms exist and how many are sold
+ */
+@Entity
+@Table(
+        name = "room_inventory",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_room_inventory_night",
+                columnNames = {"hotel_id", "room_type", "night"}
+        )
+)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomInventory {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "hotel_id", nullable = false)
+    private Hotel hotel;
+
+    @Column(name = "room_type", nullable = false)
+    private String roomType;
+
+    @Column(nullable = false)
+    private LocalDate night;
+
+    @Column(nullable = false)
+    private Integer total;
+
+    @Column(nullable = false)
+    private Integer sold;
+}
@@ -0,0 +1,71 @@
+package project.hotel_reservations.pagination;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.UUID;
+
+/**
+ * Position of the last row of a page: its sort key and its ID as tie-breaker
+ *
+ * @param key sort key of the row
+ * @param id ID of the row
+ */
+public record Cursor(String key, UUID id) {
+
+    /**
+     * Return the sort key read as a date
+     *
+     * @return sort key as a date
+     * @throws IllegalArgumentException if the key is not a date
+     */
+    public LocalDate keyAsDate() {
+        try {
+            return LocalDate.parse(key);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Return the sort key read as a decimal
+     *
+     * @return sort key as a decimal
+     * @throws IllegalArgumentException if the key is not a decimal
+     */
+    public BigDecimal keyAsDecimal() {
+        try {
+            return new BigDecimal(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Return the sort key read as an integer
+     *
+     * @return sort key as an integer
+     * @throws IllegalArgumentException if the key is not an integer
+     */
+    public Integer keyAsInteger() {
+        try {
+            return Integer.valueOf(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Return the sort key read as a double
+     *
+     * @return sort key as a double
+     * @throws IllegalArgumentException if the key is not a number
+     */
+    public double keyAsDouble() {
+        try {
+            return Double.parseDouble(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package project.hotel_reservations.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import project.hotel_reservations.dto.page.CursorPageDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Encodes the keyset cursors of the paginated listings. A cursor is the (sort key, id) of the last
+ * row of a page, so the next page is an index seek past that row instead of an OFFSET scan
+ */
+@Component
+public class CursorCodec {
+
+    private static final char SEPARATOR = '|';
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public CursorCodec(@Value("${pagination.default-size:50}") int defaultSize,
+                       @Value("${pagination.max-size:500}") int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Return the page size to use for a request
+     *
+     * @param requested size asked by the client, the default size when null
+     * @return page size, capped to the maximum size
+     * @throws IllegalArgumentException if the size is lower than 1
+     */
+    public int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultSize;
+        }
+        if (requested < 1) {
+            throw new IllegalArgumentException("Page size must be greater than 0");
+        }
+
+        return Math.min(requested, maxSize);
+    }
+
+    /**
+     * Decodes a cursor sent by the client
+     *
+     * @param cursor opaque cursor
+     * @return decoded cursor, null when no cursor was sent
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Cursor decode(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+
+            return new Cursor(value.substring(separator + 1), UUID.fromString(value.substring(0, separator)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Encodes the position of a row
+     *
+     * @param key sort key of the row
+     * @param id ID of the row
+     * @return opaque cursor
+     */
+    public String encode(Object key, UUID id) {
+        String value = id.toString() + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Builds a page out of rows fetched with one extra row, which only tells whether a next page exists
+     *
+     * @param rows rows of the page plus at most one extra row
+     * @param size page size
+     * @param mapper maps a row to its DTO
+     * @param keyOf sort key of a row
+     * @param idOf ID of a row
+     * @return page with the cursor of its last row, or no cursor on the last page
+     */
+    public <E, D> CursorPageDTO<D> page(List<E> rows, int size, Function<E, D> mapper,
+                                        Function<E, ?> keyOf, Function<E, UUID> idOf) {
+        List<E> items = rows.size() > size ? rows.subList(0, size) : rows;
+        String next = null;
+        if (rows.size() > size) {
+            E last = items.get(items.size() - 1);
+            next = encode(keyOf.apply(last), idOf.apply(last));
+        }
+
+        return CursorPageDTO.<D>builder()
+                .items(items.stream().map(mapper).toList())
+                .next(next)
+                .build();
+    }
+}
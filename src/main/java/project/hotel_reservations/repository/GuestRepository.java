@@ -1,9 +1,22 @@
 package project.hotel_reservations.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import project.hotel_reservations.model.Guest;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface GuestRepository extends JpaRepository<Guest, UUID> {
+
+    @Query("SELECT g FROM Guest g ORDER BY g.name, g.id")
+    List<Guest> findPage(Limit limit);
+
+    @Query("""
+        SELECT g FROM Guest g
+        WHERE (g.name, g.id) > (:name, :id)
+        ORDER BY g.name, g.id
+    """)
+    List<Guest> findPageAfter(String name, UUID id, Limit limit);
 }
@@ -1,9 +1,22 @@
 package project.hotel_reservations.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import project.hotel_reservations.model.HotelAdmin;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface HotelAdminRepository extends JpaRepository<HotelAdmin, UUID> {
+
+    @Query("SELECT a FROM HotelAdmin a ORDER BY a.name, a.id")
+    List<HotelAdmin> findPage(Limit limit);
+
+    @Query("""
+        SELECT a FROM HotelAdmin a
+        WHERE (a.name, a.id) > (:name, :id)
+        ORDER BY a.name, a.id
+    """)
+    List<HotelAdmin> findPageAfter(String name, UUID id, Limit limit);
 }
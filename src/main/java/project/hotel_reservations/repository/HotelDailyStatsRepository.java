@@ -0,0 +1,120 @@
+package project.hotel_reservations.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import project.hotel_reservations.dto.hotel.HotelMonthlyStats;
+import project.hotel_reservations.model.HotelDailyStats;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface HotelDailyStatsRepository extends JpaRepository<HotelDailyStats, UUID> {
+
+    /**
+     * Creates the missing days of a hotel, seeded with its current room count
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO hotel_daily_stats (id, hotel_id, stat_day, revenue, nights_sold, rooms_available)
+        SELECT gen_random_uuid(), :hotelId, CAST(d AS date), 0, 0,
+            (SELECT COUNT(*) FROM rooms r WHERE r.hotel_id = :hotelId AND r.deleted = false)
+        FROM generate_series(CAST(:from AS date), CAST(:to AS date) - 1, INTERVAL '1 day') d
+        ON CONFLICT (hotel_id, stat_day) DO NOTHING
+    """, nativeQuery = true)
+    int createMissingDays(UUID hotelId, LocalDate from, LocalDate to);
+
+    /**
+     * Creates the missing days of every hotel, seeded with its current room count
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO hotel_daily_stats (id, hotel_id, stat_day, revenue, nights_sold, rooms_available)
+        SELECT gen_random_uuid(), h.id, CAST(d AS date), 0, 0,
+            (SELECT COUNT(*) FROM rooms r WHERE r.hotel_id = h.id AND r.deleted = false)
+        FROM hotels h
+        CROSS JOIN generate_series(CAST(:from AS date), CAST(:to AS date) - 1, INTERVAL '1 day') d
+        ON CONFLICT (hotel_id, stat_day) DO NOTHING
+    """, nativeQuery = true)
+    int createMissingDaysOfAllHotels(LocalDate from, LocalDate to);
+
+    /**
+     * Recomputes the days of a hotel from its rooms, confirmed reservations and payments.
+     * A payment is spread over the nights of its stay, the check-in night takes the rounding remainder
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO hotel_daily_stats (id, hotel_id, stat_day, revenue, nights_sold, rooms_available)
+        SELECT gen_random_uuid(), :hotelId, CAST(d AS date),
+            COALESCE((SELECT SUM(CASE WHEN res.check_in_date = CAST(d AS date)
+                        THEN p.total_amount - ROUND(p.total_amount / (res.check_out_date - res.check_in_date), 2)
+                            * (res.check_out_date - res.check_in_date - 1)
+                        ELSE ROUND(p.total_amount / (res.check_out_date - res.check_in_date), 2) END)
+                FROM reservations res
+                JOIN rooms r ON r.id = res.room_id
+                JOIN payments p ON p.reservation_id = res.id
+                WHERE r.hotel_id = :hotelId AND res.status = 'CONFIRMED'
+                AND res.check_in_date <= CAST(d AS date) AND res.check_out_date > CAST(d AS date)), 0),
+            (SELECT COUNT(*) FROM reservations res JOIN rooms r ON r.id = res.room_id
+                WHERE r.hotel_id = :hotelId AND res.status = 'CONFIRMED'
+                AND res.check_in_date <= CAST(d AS date) AND res.check_out_date > CAST(d AS date)),
+            (SELECT COUNT(*) FROM rooms r WHERE r.hotel_id = :hotelId
+                AND (r.deleted = false OR r.deleted_at >= CAST(d AS date) + 1))
+        FROM generate_series(CAST(:from AS date), CAST(:to AS date) - 1, INTERVAL '1 day') d
+        ON CONFLICT (hotel_id, stat_day) DO UPDATE SET
+            revenue = EXCLUDED.revenue,
+            nights_sold = EXCLUDED.nights_sold,
+            rooms_available = EXCLUDED.rooms_available
+    """, nativeQuery = true)
+    int rebuildDays(UUID hotelId, LocalDate from, LocalDate to);
+
+    @Modifying
+    @Query("""
+        UPDATE HotelDailyStats s
+        SET s.nightsSold = s.nightsSold + :nights, s.revenue = s.revenue + :revenuePerNight
+        WHERE s.hotel.id = :hotelId
+        AND s.day >= :from
+        AND s.day < :to
+    """)
+    int addStay(UUID hotelId, LocalDate from, LocalDate to, int nights, BigDecimal revenuePerNight);
+
+    @Modifying
+    @Query("""
+        UPDATE HotelDailyStats s SET s.revenue = s.revenue + :amount
+        WHERE s.hotel.id = :hotelId
+        AND s.day = :day
+    """)
+    int addRevenue(UUID hotelId, LocalDate day, BigDecimal amount);
+
+    @Modifying
+    @Query("""
+        UPDATE HotelDailyStats s SET s.roomsAvailable = s.roomsAvailable + :delta
+        WHERE s.hotel.id = :hotelId
+        AND s.day >= :from
+    """)
+    int adjustRoomsAvailable(UUID hotelId, LocalDate from, int delta);
+
+    @Query("""
+        SELECT s FROM HotelDailyStats s
+        WHERE s.hotel.id = :hotelId
+        AND s.day >= :from
+        AND s.day <= :to
+        ORDER BY s.day
+    """)
+    List<HotelDailyStats> findDays(UUID hotelId, LocalDate from, LocalDate to);
+
+    @Query("""
+        SELECT new project.hotel_reservations.dto.hotel.HotelMonthlyStats(
+            YEAR(s.day), MONTH(s.day), SUM(s.revenue), SUM(s.nightsSold), SUM(s.roomsAvailable)
+        )
+        FROM HotelDailyStats s
+        WHERE s.hotel.id = :hotelId
+        AND s.day >= :from
+        AND s.day <= :to
+        GROUP BY YEAR(s.day), MONTH(s.day)
+        ORDER BY YEAR(s.day), MONTH(s.day)
+    """)
+    List<HotelMonthlyStats> findMonths(UUID hotelId, LocalDate from, LocalDate to);
+}
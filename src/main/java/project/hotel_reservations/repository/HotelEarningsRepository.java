@@ -0,0 +1,48 @@
+package project.hotel_reservations.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import project.hotel_reservations.dto.hotel.HotelEarningsTotal;
+import project.hotel_reservations.model.HotelEarnings;
+import project.hotel_reservations.model.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface HotelEarningsRepository extends JpaRepository<HotelEarnings, UUID> {
+
+    @Query("SELECT e.totalAmount FROM HotelEarnings e WHERE e.hotelId = :hotelId")
+    Optional<BigDecimal> findTotalByHotelId(UUID hotelId);
+
+    /**
+     * Adds an amount to the ledger row of a hotel in place, so concurrent payments never lose an update
+     */
+    @Modifying
+    @Query("""
+        UPDATE HotelEarnings e
+        SET e.totalAmount = e.totalAmount + :amount,
+            e.paymentCount = e.paymentCount + :payments,
+            e.updatedAt = :now
+        WHERE e.hotelId = :hotelId
+    """)
+    int add(UUID hotelId, BigDecimal amount, long payments, LocalDateTime now);
+
+    /**
+     * Full aggregate the ledger is reconciled against: payments of the reservations that are not cancelled
+     */
+    @Query("""
+        SELECT new project.hotel_reservations.dto.hotel.HotelEarningsTotal(
+            ro.hotel.id, SUM(p.totalAmount), COUNT(p)
+        )
+        FROM Payment p
+        JOIN p.reservation r
+        JOIN r.room ro
+        WHERE r.status <> :excluded
+        GROUP BY ro.hotel.id
+    """)
+    List<HotelEarningsTotal> sumPaymentsByHotel(ReservationStatus excluded);
+}
@@ -1,20 +1,86 @@
 package project.hotel_reservations.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import project.hotel_reservations.dto.hotel.HotelDistanceHit;
+import project.hotel_reservations.dto.hotel.HotelSearchHit;
+import project.hotel_reservations.geo.HotelLocation;
 import project.hotel_reservations.model.Hotel;
 
-import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
 public interface HotelRepository extends JpaRepository<Hotel, UUID> {
 
+    @Query("SELECT h FROM Hotel h ORDER BY h.name, h.id")
+    List<Hotel> findPage(Limit limit);
+
+    @Query("""
+        SELECT h FROM Hotel h
+        WHERE (h.name, h.id) > (:name, :id)
+        ORDER BY h.name, h.id
+    """)
+    List<Hotel> findPageAfter(String name, UUID id, Limit limit);
+
+    /**
+     * Ranked full-text and fuzzy name search, first page. The rank adds the text rank over the
+     * generated search column and the trigram word similarity of the name
+     */
+    @Query(value = """
+        SELECT hit.id, hit.name, hit.address, hit.phone, hit.email, hit.latitude, hit.longitude, hit.rank
+        FROM (
+            SELECT h.id, h.name, h.address, h.phone, h.email, h.latitude, h.longitude,
+                CAST(ts_rank(h.search, to_tsquery('simple', :terms)) + word_similarity(:text, h.name) AS float8) AS rank
+            FROM hotels h
+            WHERE h.search @@ to_tsquery('simple', :terms)
+            OR :text <% h.name
+        ) hit
+        ORDER BY hit.rank DESC, hit.id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<HotelSearchHit> search(String terms, String text, int limit);
+
+    @Query(value = """
+        SELECT hit.id, hit.name, hit.address, hit.phone, hit.email, hit.latitude, hit.longitude, hit.rank
+        FROM (
+            SELECT h.id, h.name, h.address, h.phone, h.email, h.latitude, h.longitude,
+                CAST(ts_rank(h.search, to_tsquery('simple', :terms)) + word_similarity(:text, h.name) AS float8) AS rank
+            FROM hotels h
+            WHERE h.search @@ to_tsquery('simple', :terms)
+            OR :text <% h.name
+        ) hit
+        WHERE hit.rank < :rank
+        OR (hit.rank = :rank AND hit.id > :id)
+        ORDER BY hit.rank DESC, hit.id
+        LIMIT :limit
+    """, nativeQuery = true)
+    List<HotelSearchHit> searchAfter(String terms, String text, double rank, UUID id, int limit);
+
+    @Query("""
+        SELECT new project.hotel_reservations.geo.HotelLocation(h.id, h.latitude, h.longitude)
+        FROM Hotel h
+        WHERE h.latitude IS NOT NULL
+        AND h.longitude IS NOT NULL
+    """)
+    List<HotelLocation> findLocations();
+
+    /**
+     * Hotels within a radius of a point, nearest first. The earth box narrows the rows through the
+     * GiST index on ll_to_earth, the exact distance drops the corners of the box
+     */
     @Query(value = """
-        SELECT SUM(p.total_amount)
-        FROM payments p
-        JOIN reservations r ON p.reservation_id = r.id
-        JOIN rooms ro ON r.room_id = ro.id
-        WHERE ro.hotel_id = :hotelId
+        SELECT hit.hotel_id AS hotelId, hit.distance / 1000 AS distanceKm
+        FROM (
+            SELECT h.id AS hotel_id,
+                earth_distance(ll_to_earth(:latitude, :longitude), ll_to_earth(h.latitude, h.longitude)) AS distance
+            FROM hotels h
+            WHERE h.latitude IS NOT NULL
+            AND h.longitude IS NOT NULL
+            AND earth_box(ll_to_earth(:latitude, :longitude), :radiusMeters) @> ll_to_earth(h.latitude, h.longitude)
+        ) hit
+        WHERE hit.distance <= :radiusMeters
+        ORDER BY hit.distance, hit.hotel_id
     """, nativeQuery = true)
-    BigDecimal getTotalEarningsByHotel(UUID hotelId);
+    List<HotelDistanceHit> findNearby(double latitude, double longitude, double radiusMeters);
 }
@@ -0,0 +1,56 @@
+package project.hotel_reservations.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.model.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Claims a key for the current request until the lease runs out, returns 0 if another request already holds it
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        INSERT INTO idempotency_records (idempotency_key, request_hash, claimed_until, created_at, expires_at)
+        VALUES (:key, :requestHash, :claimedUntil, :createdAt, :claimedUntil)
+        ON CONFLICT (idempotency_key) DO NOTHING
+    """, nativeQuery = true)
+    int claim(String key, String requestHash, LocalDateTime createdAt, LocalDateTime claimedUntil);
+
+    /**
+     * Takes over a claim whose request never completed and whose lease ran out, returns 0 if the
+     * key was completed or claimed again meanwhile
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE IdempotencyRecord r
+        SET r.requestHash = :requestHash, r.claimedUntil = :claimedUntil, r.expiresAt = :claimedUntil
+        WHERE r.key = :key
+        AND r.responseBody IS NULL
+        AND (r.claimedUntil IS NULL OR r.claimedUntil < :now)
+    """)
+    int takeOver(String key, String requestHash, LocalDateTime now, LocalDateTime claimedUntil);
+
+    /**
+     * Stores the response of a claimed key and keeps it for the full TTL
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+        UPDATE IdempotencyRecord r
+        SET r.responseBody = :responseBody, r.claimedUntil = NULL, r.expiresAt = :expiresAt
+        WHERE r.key = :key
+    """)
+    int complete(String key, String responseBody, LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -1,9 +1,22 @@
 package project.hotel_reservations.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import project.hotel_reservations.model.PaymentPlatform;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface PaymentPlatformRepository extends JpaRepository<PaymentPlatform, UUID> {
+
+    @Query("SELECT p FROM PaymentPlatform p ORDER BY p.name, p.id")
+    List<PaymentPlatform> findPage(Limit limit);
+
+    @Query("""
+        SELECT p FROM PaymentPlatform p
+        WHERE (p.name, p.id) > (:name, :id)
+        ORDER BY p.name, p.id
+    """)
+    List<PaymentPlatform> findPageAfter(String name, UUID id, Limit limit);
 }
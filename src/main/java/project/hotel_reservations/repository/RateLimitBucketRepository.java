@@ -0,0 +1,46 @@
+package project.hotel_reservations.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.model.RateLimitBucket;
+
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    /**
+     * Takes a token from a shared bucket in one statement, timed by the database clock so the
+     * nodes agree on it. Returns 0 if the token was taken, otherwise microseconds until the next one
+     */
+    @Transactional
+    @Query(value = """
+        WITH clock AS (
+            SELECT CAST(EXTRACT(EPOCH FROM clock_timestamp()) * 1000000 AS bigint) AS now
+        ),
+        taken AS (
+            INSERT INTO rate_limit_buckets AS b (bucket_key, full_at)
+            SELECT :key, clock.now + :interval FROM clock
+            ON CONFLICT (bucket_key) DO UPDATE
+            SET full_at = GREATEST(b.full_at, (SELECT now FROM clock)) + :interval
+            WHERE GREATEST(b.full_at, (SELECT now FROM clock)) - (SELECT now FROM clock) <= :tolerance
+            RETURNING b.full_at
+        )
+        SELECT CASE
+            WHEN EXISTS (SELECT 1 FROM taken) THEN 0
+            ELSE (SELECT b.full_at FROM rate_limit_buckets b WHERE b.bucket_key = :key)
+                - (SELECT now FROM clock) - :tolerance
+        END
+    """, nativeQuery = true)
+    long tryConsume(String key, long interval, long tolerance);
+
+    /**
+     * Deletes the buckets that are full again, they behave the same as missing ones
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        DELETE FROM rate_limit_buckets
+        WHERE full_at < CAST(EXTRACT(EPOCH FROM clock_timestamp()) * 1000000 AS bigint)
+    """, nativeQuery = true)
+    int deleteFull();
+}
@@ -1,12 +1,156 @@
 package project.hotel_reservations.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import project.hotel_reservations.availability.StayInterval;
+import project.hotel_reservations.dto.reservation.ReservationGroupTotal;
+import project.hotel_reservations.dto.reservation.ReservationResponseDTO;
+import project.hotel_reservations.hold.HoldDeadline;
+import project.hotel_reservations.model.PaymentMethod;
 import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.model.ReservationStatus;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
 
-    List<Reservation> findReservationsByRoom(UUID roomId);
+    /**
+     * Reads reservations straight into response DTOs: one join to payments, room, guest and
+     * payment platform come from their foreign keys, no entity is loaded
+     */
+    String SELECT_RESPONSE = """
+        SELECT new project.hotel_reservations.dto.reservation.ReservationResponseDTO(
+            r.id, r.checkInDate, r.checkOutDate, r.peopleCount, r.status, r.room.id, r.guest.id,
+            p.id, p.totalAmount, p.date, p.paymentMethod, p.paymentPlatform.id
+        )
+        FROM Reservation r
+        LEFT JOIN r.payment p
+    """;
+
+    @Query(SELECT_RESPONSE + "WHERE r.id = :id")
+    Optional<ReservationResponseDTO> findResponseById(UUID id);
+
+    @Query(SELECT_RESPONSE + "WHERE r.room.id = :roomId")
+    List<ReservationResponseDTO> findResponsesByRoom(UUID roomId);
+
+    @Query(SELECT_RESPONSE)
+    List<ReservationResponseDTO> findAllResponses();
+
+    @Query("""
+        SELECT new project.hotel_reservations.dto.reservation.ReservationGroupTotal(
+            r.status, COUNT(r), SUM(p.totalAmount)
+        )
+        FROM Reservation r
+        LEFT JOIN r.payment p
+        GROUP BY r.status
+        ORDER BY r.status
+    """)
+    List<ReservationGroupTotal> sumByStatus();
+
+    @Query("""
+        SELECT new project.hotel_reservations.dto.reservation.ReservationGroupTotal(
+            p.paymentMethod, COUNT(r), SUM(p.totalAmount)
+        )
+        FROM Reservation r
+        LEFT JOIN r.payment p
+        GROUP BY p.paymentMethod
+        ORDER BY p.paymentMethod
+    """)
+    List<ReservationGroupTotal> sumByPaymentMethod();
+
+    @Query(SELECT_RESPONSE + "WHERE r.status = :status ORDER BY r.checkInDate, r.id")
+    List<ReservationResponseDTO> findPageByStatus(ReservationStatus status, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE p.paymentMethod = :paymentMethod ORDER BY r.checkInDate, r.id")
+    List<ReservationResponseDTO> findPageByPaymentMethod(PaymentMethod paymentMethod, Limit limit);
+
+    @Query(SELECT_RESPONSE + "WHERE p.id IS NULL ORDER BY r.checkInDate, r.id")
+    List<ReservationResponseDTO> findUnpaidPage(Limit limit);
+
+    @Query("""
+        SELECT new project.hotel_reservations.availability.StayInterval(
+            r.id, r.room.id, r.checkInDate, r.checkOutDate
+        )
+        FROM Reservation r
+        WHERE r.status IN :statuses
+    """)
+    List<StayInterval> findStayIntervals(Collection<ReservationStatus> statuses);
+
+    @Query("""
+        SELECT new project.hotel_reservations.availability.StayInterval(
+            r.id, r.room.id, r.checkInDate, r.checkOutDate
+        )
+        FROM Reservation r
+        WHERE r.room.id IN :roomIds
+        AND r.status IN :statuses
+        AND r.checkInDate < :to
+        AND r.checkOutDate > :from
+    """)
+    List<StayInterval> findStayIntervals(Collection<UUID> roomIds, LocalDate from, LocalDate to,
+                                         Collection<ReservationStatus> statuses);
+
+    @Query("""
+        SELECT new project.hotel_reservations.hold.HoldDeadline(r.id, r.holdExpiresAt)
+        FROM Reservation r
+        WHERE r.status = :status
+        AND r.holdExpiresAt IS NOT NULL
+    """)
+    List<HoldDeadline> findHoldDeadlines(ReservationStatus status);
+
+    @Query(value = """
+        SELECT EXISTS (
+            SELECT 1
+            FROM reservations r
+            WHERE r.room_id = :roomId
+            AND r.status <> 'CANCELLED'
+            AND r.stay && daterange(:checkIn, :checkOut, '[)')
+        )
+    """, nativeQuery = true)
+    boolean existsOverlapping(UUID roomId, LocalDate checkIn, LocalDate checkOut);
+
+    @Query(SELECT_RESPONSE + "ORDER BY r.checkInDate, r.id")
+    List<ReservationResponseDTO> findPage(Limit limit);
+
+    @Query(SELECT_RESPONSE + """
+        WHERE (r.checkInDate, r.id) > (:checkInDate, :id)
+        ORDER BY r.checkInDate, r.id
+    """)
+    List<ReservationResponseDTO> findPageAfter(LocalDate checkInDate, UUID id, Limit limit);
+
+    /**
+     * Reservations with their room, guest and payment in one SELECT, instead of one SELECT per
+     * reservation for the eager associations that findAllById leaves behind
+     */
+    @Query("""
+        SELECT r FROM Reservation r
+        JOIN FETCH r.room
+        JOIN FETCH r.guest
+        LEFT JOIN FETCH r.payment p
+        LEFT JOIN FETCH p.paymentPlatform
+        WHERE r.id IN :ids
+    """)
+    List<Reservation> findAllWithDetailsById(Collection<UUID> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+        SELECT r FROM Reservation r
+        JOIN FETCH r.room
+        JOIN FETCH r.guest
+        LEFT JOIN FETCH r.payment p
+        LEFT JOIN FETCH p.paymentPlatform
+        ORDER BY r.checkInDate, r.id
+    """)
+    Stream<Reservation> streamAll();
 }
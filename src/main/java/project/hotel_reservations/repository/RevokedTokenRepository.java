@@ -0,0 +1,24 @@
+package project.hotel_reservations.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.model.RevokedToken;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    @Query("SELECT t.jti FROM RevokedToken t WHERE t.expiresAt > :now")
+    List<String> findActiveJtis(LocalDateTime now);
+
+    @Query("SELECT t.jti FROM RevokedToken t WHERE t.revokedAt >= :since AND t.expiresAt > :now")
+    List<String> findJtisRevokedSince(LocalDateTime since, LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken t WHERE t.expiresAt <= :now")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,70 @@
+package project.hotel_reservations.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import project.hotel_reservations.model.RoomInventory;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface RoomInventoryRepository extends JpaRepository<RoomInventory, UUID> {
+
+    /**
+     * Creates the missing counters of a stay, seeded from the current bookable rooms and active reservations
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO room_inventory (id, hotel_id, room_type, night, total, sold)
+        SELECT gen_random_uuid(), :hotelId, :roomType, CAST(d AS date),
+            (SELECT COUNT(*) FROM rooms r
+                WHERE r.hotel_id = :hotelId AND r.type = :roomType
+                AND r.deleted = false AND r.available = true),
+            (SELECT COUNT(*) FROM reservations res JOIN rooms r ON r.id = res.room_id
+                WHERE r.hotel_id = :hotelId AND r.type = :roomType
+                AND res.status <> 'CANCELLED'
+                AND res.check_in_date <= CAST(d AS date) AND res.check_out_date > CAST(d AS date))
+        FROM generate_series(CAST(:checkIn AS date), CAST(:checkOut AS date) - 1, INTERVAL '1 day') d
+        ON CONFLICT (hotel_id, room_type, night) DO NOTHING
+    """, nativeQuery = true)
+    int createMissingNights(UUID hotelId, String roomType, LocalDate checkIn, LocalDate checkOut);
+
+    @Modifying
+    @Query("""
+        UPDATE RoomInventory i SET i.sold = i.sold + 1
+        WHERE i.hotel.id = :hotelId
+        AND i.roomType = :roomType
+        AND i.night >= :checkIn
+        AND i.night < :checkOut
+        AND i.sold < i.total
+        AND NOT EXISTS (
+            SELECT 1 FROM RoomInventory soldOut
+            WHERE soldOut.hotel.id = :hotelId
+            AND soldOut.roomType = :roomType
+            AND soldOut.night >= :checkIn
+            AND soldOut.night < :checkOut
+            AND soldOut.sold >= soldOut.total
+        )
+    """)
+    int sellNights(UUID hotelId, String roomType, LocalDate checkIn, LocalDate checkOut);
+
+    @Modifying
+    @Query("""
+        UPDATE RoomInventory i SET i.sold = i.sold - 1
+        WHERE i.hotel.id = :hotelId
+        AND i.roomType = :roomType
+        AND i.night >= :checkIn
+        AND i.night < :checkOut
+        AND i.sold > 0
+    """)
+    int releaseNights(UUID hotelId, String roomType, LocalDate checkIn, LocalDate checkOut);
+
+    @Modifying
+    @Query("""
+        UPDATE RoomInventory i SET i.total = i.total + :delta
+        WHERE i.hotel.id = :hotelId
+        AND i.roomType = :roomType
+        AND i.night >= :from
+    """)
+    int adjustTotal(UUID hotelId, String roomType, LocalDate from, int delta);
+}
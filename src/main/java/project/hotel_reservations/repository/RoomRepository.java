@@ -1,13 +1,16 @@
 package project.hotel_reservations.repository;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import project.hotel_reservations.model.Room;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
-public interface RoomRepository extends JpaRepository<Room, UUID> {
+public interface RoomRepository extends JpaRepository<Room, UUID>, JpaSpecificationExecutor<Room> {
 
     @Query(value = "SELECT * FROM rooms WHERE deleted = true", nativeQuery = true)
     List<Room> findAllDeleted();
@@ -20,4 +23,40 @@ public interface RoomRepository extends JpaRepository<Room, UUID> {
         AND r.available = true
     """)
     List<Room> findAvailableRooms(UUID hotelId);
+
+    @Query("""
+        SELECT r FROM Room r
+        WHERE r.hotel.id = :hotelId
+        AND r.available = true
+        AND r.capacity >= :guests
+    """)
+    List<Room> findAvailableRoomsWithCapacity(UUID hotelId, Integer guests);
+
+    @Query("""
+        SELECT r FROM Room r
+        WHERE r.hotel.id IN :hotelIds
+        AND r.available = true
+        AND r.capacity >= :guests
+    """)
+    List<Room> findAvailableRoomsOfHotels(Collection<UUID> hotelIds, Integer guests);
+
+    @Query("""
+        SELECT r FROM Room r
+        WHERE r.hotel.id = :hotelId
+        AND r.type = :type
+        AND r.available = true
+        AND r.capacity >= :guests
+        ORDER BY r.capacity, r.code
+    """)
+    List<Room> findAvailableRoomsOfType(UUID hotelId, String type, Integer guests);
+
+    @Query("SELECT r FROM Room r ORDER BY r.code, r.id")
+    List<Room> findPage(Limit limit);
+
+    @Query("""
+        SELECT r FROM Room r
+        WHERE (r.code, r.id) > (:code, :id)
+        ORDER BY r.code, r.id
+    """)
+    List<Room> findPageAfter(String code, UUID id, Limit limit);
 }
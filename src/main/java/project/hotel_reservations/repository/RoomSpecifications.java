@@ -0,0 +1,95 @@
+package project.hotel_reservations.repository;
+
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import project.hotel_reservations.dto.room.RoomSort;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.model.ReservationStatus;
+import project.hotel_reservations.model.Room;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Predicates of the room search. Each one matches a column of the partial search indexes
+ * declared in schema-postgresql.sql
+ */
+public final class RoomSpecifications {
+
+    private RoomSpecifications() {
+    }
+
+    public static Specification<Room> bookable() {
+        return (root, query, cb) -> cb.isTrue(root.get("available"));
+    }
+
+    public static Specification<Room> inHotel(UUID hotelId) {
+        return (root, query, cb) -> cb.equal(root.get("hotel").get("id"), hotelId);
+    }
+
+    public static Specification<Room> ofType(String type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Room> holding(int guests) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("capacity"), guests);
+    }
+
+    public static Specification<Room> priceFrom(BigDecimal min) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), min);
+    }
+
+    public static Specification<Room> priceUpTo(BigDecimal max) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), max);
+    }
+
+    /**
+     * Rooms without an active reservation overlapping the stay
+     *
+     * @param checkIn first night, inclusive
+     * @param checkOut departure day, exclusive
+     */
+    public static Specification<Room> freeBetween(LocalDate checkIn, LocalDate checkOut) {
+        return (root, query, cb) -> {
+            Subquery<Integer> booked = query.subquery(Integer.class);
+            Root<Reservation> reservation = booked.from(Reservation.class);
+            booked.select(cb.literal(1)).where(
+                    cb.equal(reservation.get("room"), root),
+                    cb.notEqual(reservation.get("status"), ReservationStatus.CANCELLED),
+                    cb.lessThan(reservation.get("checkInDate"), checkOut),
+                    cb.greaterThan(reservation.get("checkOutDate"), checkIn)
+            );
+            return cb.not(cb.exists(booked));
+        };
+    }
+
+    /**
+     * Rooms past a keyset cursor in the search order
+     *
+     * @param sort sorted property
+     * @param direction sort direction, shared by the property and the ID
+     * @param key sort key of the last room of the previous page
+     * @param id ID of the last room of the previous page
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Room> after(RoomSort sort, Sort.Direction direction, Comparable key, UUID id) {
+        return (root, query, cb) -> {
+            Expression<Comparable> property = root.get(sort.property());
+            Expression<UUID> roomId = root.get("id");
+            if (direction.isAscending()) {
+                return cb.or(
+                        cb.greaterThan(property, key),
+                        cb.and(cb.equal(property, key), cb.greaterThan(roomId, id))
+                );
+            }
+            return cb.or(
+                    cb.lessThan(property, key),
+                    cb.and(cb.equal(property, key), cb.lessThan(roomId, id))
+            );
+        };
+    }
+}
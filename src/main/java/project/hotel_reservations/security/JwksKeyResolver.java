@@ -0,0 +1,186 @@
+package project.hotel_reservations.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves the public key of a signed token from a JWKS document, by the kid of its header.
+ * The document is read from a file, classpath or http location and reloaded in the background;
+ * keys are looked up in a concurrent map, so rotating keys never blocks or fails a request.
+ * A kid that is not known yet triggers an early, rate-limited reload
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("security.jwt.jwks-uri")
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+
+    private static final Map<String, String> EC_CURVES = Map.of(
+            "P-256", "secp256r1",
+            "P-384", "secp384r1",
+            "P-521", "secp521r1"
+    );
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final String location;
+    private final long minRefreshMillis;
+
+    private final Map<String, PublicKey> keys = new ConcurrentHashMap<>();
+    private final AtomicLong lastRefresh = new AtomicLong();
+    private final AtomicLong revision = new AtomicLong();
+
+    public JwksKeyResolver(ResourceLoader resourceLoader,
+                           ObjectMapper objectMapper,
+                           @Value("${security.jwt.jwks-uri}") String location,
+                           @Value("${security.jwt.jwks-min-refresh-ms:30000}") long minRefreshMillis) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.location = location;
+        this.minRefreshMillis = minRefreshMillis;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        PublicKey key = kid != null ? keys.get(kid) : null;
+        if (key == null) {
+            log.warn("Token signed with an unknown key. kid={}", kid);
+            refreshSoon();
+        }
+        return key;
+    }
+
+    /**
+     * Reloads the document. New keys are added before retired ones are dropped, and a failed
+     * load or a document without usable keys keeps the current keys
+     */
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${security.jwt.jwks-refresh-ms:300000}",
+            initialDelayString = "${security.jwt.jwks-refresh-ms:300000}")
+    public void refresh() {
+        lastRefresh.set(System.currentTimeMillis());
+
+        Map<String, PublicKey> loaded;
+        try {
+            loaded = load();
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            log.error("JWKS could not be loaded, keeping {} keys. location={}", keys.size(), location, e);
+            return;
+        }
+
+        if (loaded.isEmpty()) {
+            log.error("JWKS has no usable signing keys, keeping {} keys. location={}", keys.size(), location);
+            return;
+        }
+
+        keys.putAll(loaded);
+        if (keys.keySet().retainAll(loaded.keySet())) {
+            revision.incrementAndGet();
+        }
+        log.info("JWKS loaded. keys={}", loaded.keySet());
+    }
+
+    /**
+     * Return a counter that moves every time a key is withdrawn, so tokens verified
+     * with the withdrawn key can be verified again
+     *
+     * @return key revision
+     */
+    public long revision() {
+        return revision.get();
+    }
+
+    private void refreshSoon() {
+        long last = lastRefresh.get();
+        long now = System.currentTimeMillis();
+        if (now - last >= minRefreshMillis && lastRefresh.compareAndSet(last, now)) {
+            CompletableFuture.runAsync(this::refresh);
+        }
+    }
+
+    private Map<String, PublicKey> load() throws IOException, GeneralSecurityException {
+        Resource resource = resourceLoader.getResource(location);
+        JsonNode document;
+        try (InputStream in = resource.getInputStream()) {
+            document = objectMapper.readTree(in);
+        }
+
+        Map<String, PublicKey> loaded = new HashMap<>();
+        for (JsonNode jwk : document.path("keys")) {
+            String kid = jwk.path("kid").asText(null);
+            String use = jwk.path("use").asText("sig");
+            if (kid == null || !use.equals("sig")) {
+                continue;
+            }
+
+            PublicKey key = switch (jwk.path("kty").asText()) {
+                case "RSA" -> rsaKey(jwk);
+                case "EC" -> ecKey(jwk);
+                default -> null;
+            };
+            if (key != null) {
+                loaded.put(kid, key);
+            } else {
+                log.warn("Unsupported JWK skipped. kid={}, kty={}", kid, jwk.path("kty").asText());
+            }
+        }
+        return loaded;
+    }
+
+    private static PublicKey rsaKey(JsonNode jwk) throws GeneralSecurityException {
+        RSAPublicKeySpec spec = new RSAPublicKeySpec(number(jwk, "n"), number(jwk, "e"));
+        return KeyFactory.getInstance("RSA").generatePublic(spec);
+    }
+
+    private static PublicKey ecKey(JsonNode jwk) throws GeneralSecurityException {
+        String curve = EC_CURVES.get(jwk.path("crv").asText());
+        if (curve == null) {
+            return null;
+        }
+
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec(curve));
+        ECPoint point = new ECPoint(number(jwk, "x"), number(jwk, "y"));
+        ECPublicKeySpec spec = new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class));
+        return KeyFactory.getInstance("EC").generatePublic(spec);
+    }
+
+    private static BigInteger number(JsonNode jwk, String field) {
+        String value = jwk.path(field).asText(null);
+        if (value == null) {
+            throw new IllegalArgumentException("JWK " + jwk.path("kid").asText() + " has no " + field);
+        }
+        return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+    }
+}
@@ -36,18 +36,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         String token = authHeader.substring(7);
 
-        if (jwtService.isTokenValid(token)) {
-            Role role = jwtService.getRole(token);
-
+        jwtService.verify(token).ifPresent(claims -> jwtService.roleOf(claims).ifPresent(role -> {
             UsernamePasswordAuthenticationToken auth =
                     new UsernamePasswordAuthenticationToken(
-                            null,
+                            claims.getSubject(),
                             null,
                             List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))
                     );
 
             SecurityContextHolder.getContext().setAuthentication(auth);
-        }
+        }));
 
         filterChain.doFilter(request, response);
     }
@@ -1,29 +1,129 @@
 package project.hotel_reservations.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import project.hotel_reservations.service.TokenRevocationService;
 
-import java.security.Key;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Optional;
 
+/**
+ * Verifies bearer tokens with a single parser built once, against the public keys of a JWKS
+ * document when security.jwt.jwks-uri is set, otherwise against the shared HMAC secret.
+ * Verified claims are cached under the SHA-256 digest of the token until the token expires or
+ * the cache TTL runs out, so a token seen again skips the signature check. Rejected tokens are
+ * never cached, and withdrawing a key from the JWKS forces cached tokens to be verified again.
+ * Tokens carrying a revoked jti are rejected, cached or not
+ */
 @Service
 public class JwtService {
 
-    @Value("${security.jwt.secret}")
-    private String SECRET;
+    private record Verified(Claims claims, long keyRevision) {
+    }
+
+    private final JwtParser parser;
+    private final JwksKeyResolver jwks;
+    private final TokenRevocationService revocations;
+    private final Duration maxTtl;
+    private final Cache<String, Verified> verified;
+
+    public JwtService(@Value("${security.jwt.secret:}") String secret,
+                      @Nullable JwksKeyResolver jwks,
+                      TokenRevocationService revocations,
+                      @Value("${security.jwt.cache-size:10000}") long cacheSize,
+                      @Value("${security.jwt.cache-ttl:5m}") Duration maxTtl,
+                      MeterRegistry meterRegistry) {
+        if (jwks != null) {
+            this.parser = Jwts.parserBuilder().setSigningKeyResolver(jwks).build();
+        } else if (StringUtils.hasText(secret)) {
+            this.parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(secret.getBytes())).build();
+        } else {
+            throw new IllegalStateException("Either security.jwt.secret or security.jwt.jwks-uri must be set");
+        }
+        this.jwks = jwks;
+        this.revocations = revocations;
+        this.maxTtl = maxTtl;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwtClaims");
+    }
+
+    /**
+     * Return the claims of a token whose signature and expiry check out, verifying it at most once
+     * while it stays cached
+     *
+     * @param token compact JWT
+     * @return verified claims, empty if the token is malformed, forged, expired or revoked
+     */
+    public Optional<Claims> verify(String token) {
+        String key = digest(token);
+        long keyRevision = jwks != null ? jwks.revision() : 0;
+        Verified cached = verified.getIfPresent(key);
+        if (cached != null && cached.keyRevision() == keyRevision) {
+            if (!isExpired(cached.claims())) {
+                return isRevoked(cached.claims()) ? Optional.empty() : Optional.of(cached.claims());
+            }
+            verified.invalidate(key);
+            return Optional.empty();
+        }
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+        Claims claims;
+        try {
+            claims = parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            verified.invalidate(key);
+            return Optional.empty();
+        }
+        verified.put(key, new Verified(claims, keyRevision));
+        return isRevoked(claims) ? Optional.empty() : Optional.of(claims);
+    }
+
+    /**
+     * Return the role of a verified token
+     *
+     * @param token compact JWT
+     * @return role claim, empty if the token is not valid or carries no known role
+     */
+    public Optional<Role> resolveRole(String token) {
+        return verify(token).flatMap(this::roleOf);
+    }
+
+    /**
+     * Return the role of verified claims
+     *
+     * @param claims claims returned by {@link #verify(String)}
+     * @return role claim, empty if the claims carry no known role
+     */
+    public Optional<Role> roleOf(Claims claims) {
+        try {
+            return Optional.of(Role.valueOf(claims.get("role", String.class)));
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return Optional.empty();
+        }
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verify(token).orElseThrow(() -> new JwtException("Invalid token"));
     }
 
     public Role getRole(String token) {
@@ -32,11 +132,52 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token) {
+        return verify(token).isPresent();
+    }
+
+    private boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        return jti != null && revocations.isRevoked(jti);
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    private static String digest(String token) {
         try {
-            extractAllClaims(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Keeps an entry until its token expires, never longer than the cache TTL
+     */
+    private class UntilTokenExpiry implements Expiry<String, Verified> {
+
+        @Override
+        public long expireAfterCreate(String key, Verified entry, long currentTime) {
+            long ttl = maxTtl.toNanos();
+            Date expiration = entry.claims().getExpiration();
+            if (expiration == null) {
+                return ttl;
+            }
+            long remaining = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttl, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Verified entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Verified entry, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
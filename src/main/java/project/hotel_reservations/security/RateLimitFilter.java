@@ -0,0 +1,165 @@
+package project.hotel_reservations.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import project.hotel_reservations.exception.ErrorResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Limits the requests of each principal, identified by the subject and role of its token, with a
+ * token bucket per principal and rule. Buckets live in a bounded concurrent map and are taken from
+ * without locking; a request over the limit gets 429 with a Retry-After header. With
+ * security.rate-limit.shared the requests admitted here are also counted in buckets shared by
+ * every node
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private record Limit(int index, String method, PathPattern pattern, long interval, long tolerance) {
+
+        boolean matches(HttpServletRequest request, PathContainer path) {
+            return (method == null || method.equalsIgnoreCase(request.getMethod())) && pattern.matches(path);
+        }
+    }
+
+    private final boolean enabled;
+    private final List<Limit> limits;
+    private final Cache<String, TokenBucket> buckets;
+    private final SharedRateLimiter shared;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           @Nullable SharedRateLimiter shared,
+                           ObjectMapper objectMapper) {
+        List<RateLimitProperties.Rule> rules = properties.rules();
+        this.enabled = properties.enabled();
+        this.limits = IntStream.range(0, rules.size())
+                .mapToObj(i -> limit(i, rules.get(i)))
+                .toList();
+        long idle = limits.stream()
+                .mapToLong(limit -> limit.tolerance() + limit.interval())
+                .max()
+                .orElse(0);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxKeys())
+                .expireAfterAccess(Duration.ofNanos(idle))
+                .build();
+        this.shared = properties.shared() ? shared : null;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        Limit limit = enabled ? match(request) : null;
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = limit.index() + "|" + principal(request);
+        long now = System.nanoTime();
+        long wait = buckets.get(key, k -> new TokenBucket(limit.interval(), limit.tolerance(), now))
+                .tryConsume(now);
+        if (wait == 0 && shared != null) {
+            wait = sharedWait(key, limit);
+        }
+
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Limit match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI().substring(request.getContextPath().length()));
+        for (Limit limit : limits) {
+            if (limit.matches(request, path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private long sharedWait(String key, Limit limit) {
+        try {
+            return shared.tryConsume(key, limit.interval(), limit.tolerance());
+        } catch (DataAccessException e) {
+            log.warn("Shared rate limit unavailable, request admitted by the local limit. key={}", key, e);
+            return 0;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long wait) throws IOException {
+        long seconds = Math.max(1, (wait + 999_999_999L) / 1_000_000_000L);
+
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message("Too many requests, retry in " + seconds + " seconds")
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static String principal(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth.getPrincipal() == null) {
+            return "anonymous|" + request.getRemoteAddr();
+        }
+        String roles = auth.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+        return roles + "|" + auth.getName();
+    }
+
+    private static Limit limit(int index, RateLimitProperties.Rule rule) {
+        if (!StringUtils.hasText(rule.pattern())) {
+            throw new IllegalArgumentException("Rate limit rule " + index + " has no pattern");
+        }
+        if (rule.capacity() < 1 || rule.perSecond() <= 0) {
+            throw new IllegalArgumentException("Rate limit rule " + rule.pattern() + " must allow at least one request");
+        }
+
+        long interval = Math.max(1, Math.round(1_000_000_000L / rule.perSecond()));
+        String method = StringUtils.hasText(rule.method()) ? rule.method() : null;
+        PathPattern pattern = PathPatternParser.defaultInstance.parse(rule.pattern());
+        return new Limit(index, method, pattern, interval, (rule.capacity() - 1) * interval);
+    }
+}
@@ -0,0 +1,33 @@
+package project.hotel_reservations.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Request limits per principal. Each request is counted against the first rule whose method and
+ * path pattern match it; requests that match no rule are not limited
+ *
+ * @param enabled whether requests are limited at all
+ * @param maxKeys most buckets kept in memory, the least recently used ones are dropped first
+ * @param shared whether buckets are also shared with the other nodes through the database
+ * @param rules limits per endpoint pattern, in matching order
+ */
+@ConfigurationProperties("security.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxKeys,
+        @DefaultValue("false") boolean shared,
+        @DefaultValue List<Rule> rules
+) {
+
+    /**
+     * @param method HTTP method of the requests, any method when empty
+     * @param pattern path pattern of the requests, like /rooms/hotels/{hotelId}/available
+     * @param capacity requests a principal can burst
+     * @param perSecond requests per second a principal is allowed on average
+     */
+    public record Rule(String method, String pattern, int capacity, double perSecond) {
+    }
+}
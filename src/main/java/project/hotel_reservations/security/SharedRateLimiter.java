@@ -0,0 +1,45 @@
+package project.hotel_reservations.security;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.hotel_reservations.repository.RateLimitBucketRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token buckets shared by every node through the rate_limit_buckets table, so a principal gets
+ * the configured limit across the cluster instead of once per node
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "security.rate-limit.shared", havingValue = "true")
+@RequiredArgsConstructor
+public class SharedRateLimiter {
+
+    private final RateLimitBucketRepository repository;
+
+    /**
+     * Takes a token from a shared bucket
+     *
+     * @param key bucket of the principal and rule
+     * @param interval nanoseconds between two tokens
+     * @param tolerance nanoseconds of burst the bucket allows
+     * @return 0 if a token was taken, otherwise nanoseconds until the next one
+     */
+    public long tryConsume(String key, long interval, long tolerance) {
+        long wait = repository.tryConsume(key, TimeUnit.NANOSECONDS.toMicros(interval),
+                TimeUnit.NANOSECONDS.toMicros(tolerance));
+        return TimeUnit.MICROSECONDS.toNanos(Math.max(0, wait));
+    }
+
+    @Scheduled(fixedDelayString = "${security.rate-limit.cleanup-interval-ms:600000}")
+    public void purgeFull() {
+        int deleted = repository.deleteFull();
+        if (deleted > 0) {
+            log.debug("Purged full rate limit buckets. count={}", deleted);
+        }
+    }
+}
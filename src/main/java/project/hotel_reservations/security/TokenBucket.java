@@ -0,0 +1,41 @@
+package project.hotel_reservations.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket, kept as the generic cell rate algorithm: the only state is the time at
+ * which the bucket would be full again, moved forward by one interval per admitted request with a
+ * single compare-and-set
+ */
+final class TokenBucket {
+
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong fullAt;
+
+    TokenBucket(long interval, long tolerance, long now) {
+        this.interval = interval;
+        this.tolerance = tolerance;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token if one is left
+     *
+     * @param now current time in nanoseconds
+     * @return 0 if a token was taken, otherwise nanoseconds until the next one
+     */
+    long tryConsume(long now) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now);
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next + interval)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -3,15 +3,15 @@ package project.hotel_reservations.service;
 import project.hotel_reservations.dto.guest.GuestCreateDTO;
 import project.hotel_reservations.dto.guest.GuestResponseDTO;
 import project.hotel_reservations.dto.guest.GuestUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 
-import java.util.List;
 import java.util.UUID;
 
 public interface GuestService {
 
     GuestResponseDTO create(GuestCreateDTO req);
 
-    List<GuestResponseDTO> findAll();
+    CursorPageDTO<GuestResponseDTO> findAll(String cursor, Integer size);
 
     GuestResponseDTO findById(UUID id);
 
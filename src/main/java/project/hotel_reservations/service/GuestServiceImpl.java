@@ -2,13 +2,17 @@ package project.hotel_reservations.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import project.hotel_reservations.dto.guest.GuestCreateDTO;
 import project.hotel_reservations.dto.guest.GuestResponseDTO;
 import project.hotel_reservations.dto.guest.GuestUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.mapper.GuestMapper;
 import project.hotel_reservations.model.Guest;
+import project.hotel_reservations.pagination.Cursor;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.GuestRepository;
 
 import java.util.List;
@@ -20,6 +24,7 @@ public class GuestServiceImpl implements GuestService {
 
     private final GuestRepository repository;
     private final GuestMapper mapper;
+    private final CursorCodec cursors;
 
     /**
      * Creates a new guest
@@ -42,16 +47,22 @@ public class GuestServiceImpl implements GuestService {
     }
 
     /**
-     * Return all guests
+     * Return one page of guests, ordered by name and ID
      *
-     * @return List of guest DTOs
+     * @param cursor cursor of the page, the first page when null
+     * @param size page size, the default size when null
+     * @return page of guest DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor or the size is invalid
      */
     @Override
-    public List<GuestResponseDTO> findAll() {
-        return repository.findAll()
-                .stream()
-                .map(mapper::toDto)
-                .toList();
+    public CursorPageDTO<GuestResponseDTO> findAll(String cursor, Integer size) {
+        int limit = cursors.pageSize(size);
+        Cursor after = cursors.decode(cursor);
+        List<Guest> rows = after == null
+                ? repository.findPage(Limit.of(limit + 1))
+                : repository.findPageAfter(after.key(), after.id(), Limit.of(limit + 1));
+
+        return cursors.page(rows, limit, mapper::toDto, Guest::getName, Guest::getId);
     }
 
     /**
@@ -3,15 +3,15 @@ package project.hotel_reservations.service;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminCreateDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminResponseDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 
-import java.util.List;
 import java.util.UUID;
 
 public interface HotelAdminService {
 
     HotelAdminResponseDTO create(HotelAdminCreateDTO req);
 
-    List<HotelAdminResponseDTO> findAll();
+    CursorPageDTO<HotelAdminResponseDTO> findAll(String cursor, Integer size);
 
     HotelAdminResponseDTO findById(UUID id);
 
@@ -2,14 +2,18 @@ package project.hotel_reservations.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminCreateDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminResponseDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.mapper.HotelAdminMapper;
 import project.hotel_reservations.model.Hotel;
 import project.hotel_reservations.model.HotelAdmin;
+import project.hotel_reservations.pagination.Cursor;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.HotelAdminRepository;
 import project.hotel_reservations.repository.HotelRepository;
 
@@ -23,6 +27,7 @@ public class HotelAdminServiceImpl implements HotelAdminService {
     private final HotelAdminRepository repository;
     private final HotelRepository hotelRepository;
     private final HotelAdminMapper mapper;
+    private final CursorCodec cursors;
 
     /**
      * Creates a new hotel admin
@@ -45,16 +50,22 @@ public class HotelAdminServiceImpl implements HotelAdminService {
     }
 
     /**
-     * Return all hotel admins
+     * Return one page of hotel admins, ordered by name and ID
      *
-     * @return List of hotel admin DTOs
+     * @param cursor cursor of the page, the first page when null
+     * @param size page size, the default size when null
+     * @return page of hotel admin DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor or the size is invalid
      */
     @Override
-    public List<HotelAdminResponseDTO> findAll() {
-        return repository.findAll()
-                .stream()
-                .map(mapper::toDto)
-                .toList();
+    public CursorPageDTO<HotelAdminResponseDTO> findAll(String cursor, Integer size) {
+        int limit = cursors.pageSize(size);
+        Cursor after = cursors.decode(cursor);
+        List<HotelAdmin> rows = after == null
+                ? repository.findPage(Limit.of(limit + 1))
+                : repository.findPageAfter(after.key(), after.id(), Limit.of(limit + 1));
+
+        return cursors.page(rows, limit, mapper::toDto, HotelAdmin::getName, HotelAdmin::getId);
     }
 
     /**
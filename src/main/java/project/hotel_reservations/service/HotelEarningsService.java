@@ -0,0 +1,21 @@
+package project.hotel_reservations.service;
+
+import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.model.Payment;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface HotelEarningsService {
+
+    void open(Hotel hotel);
+
+    void record(Payment payment);
+
+    void reverse(Payment payment);
+
+    Optional<BigDecimal> findTotal(UUID hotelId);
+
+    int reconcile();
+}
@@ -0,0 +1,148 @@
+package project.hotel_reservations.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.dto.hotel.HotelEarningsTotal;
+import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.model.HotelEarnings;
+import project.hotel_reservations.model.Payment;
+import project.hotel_reservations.model.ReservationStatus;
+import project.hotel_reservations.repository.HotelEarningsRepository;
+import project.hotel_reservations.repository.HotelRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps one earnings row per hotel. Payments and refunds move it with a single in-place UPDATE
+ * inside the caller's transaction, reads are a primary key lookup
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class HotelEarningsServiceImpl implements HotelEarningsService {
+
+    private final HotelEarningsRepository repository;
+    private final HotelRepository hotelRepository;
+
+    /**
+     * Creates the empty ledger row of a new hotel
+     *
+     * @param hotel persisted hotel
+     */
+    @Override
+    @Transactional
+    public void open(Hotel hotel) {
+        repository.save(HotelEarnings.builder()
+                .hotel(hotel)
+                .totalAmount(BigDecimal.ZERO)
+                .paymentCount(0L)
+                .build());
+    }
+
+    /**
+     * Adds a payment to the earnings of the hotel of its reservation
+     *
+     * @param payment saved payment
+     */
+    @Override
+    @Transactional
+    public void record(Payment payment) {
+        move(hotelOf(payment), payment.getTotalAmount(), 1);
+    }
+
+    /**
+     * Takes a payment back out of the earnings of the hotel of its reservation
+     *
+     * @param payment payment of a cancelled reservation
+     */
+    @Override
+    @Transactional
+    public void reverse(Payment payment) {
+        move(hotelOf(payment), payment.getTotalAmount().negate(), -1);
+    }
+
+    /**
+     * Return the earnings of a hotel as kept by the ledger
+     *
+     * @param hotelId hotel ID
+     * @return total earnings, empty when the hotel has no ledger row
+     */
+    @Override
+    public Optional<BigDecimal> findTotal(UUID hotelId) {
+        return repository.findTotalByHotelId(hotelId);
+    }
+
+    /**
+     * Compares every ledger row with the full payment aggregate and corrects the ones that drifted.
+     * Both reads come from the same snapshot, a concurrent payment makes the correction fail instead of being lost
+     *
+     * @return number of corrected hotels
+     */
+    @Override
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public int reconcile() {
+        Map<UUID, HotelEarnings> ledger = repository.findAll()
+                .stream()
+                .collect(Collectors.toMap(HotelEarnings::getHotelId, Function.identity()));
+        int corrected = 0;
+
+        for (HotelEarningsTotal actual : repository.sumPaymentsByHotel(ReservationStatus.CANCELLED)) {
+            HotelEarnings row = ledger.remove(actual.hotelId());
+            if (row == null) {
+                log.warn("Hotel earnings row missing, recreated. hotelId={}", actual.hotelId());
+                repository.save(HotelEarnings.builder()
+                        .hotel(hotelRepository.getReferenceById(actual.hotelId()))
+                        .totalAmount(actual.totalAmount())
+                        .paymentCount(actual.paymentCount())
+                        .build());
+                corrected++;
+            } else if (correct(row, actual.totalAmount(), actual.paymentCount())) {
+                corrected++;
+            }
+        }
+
+        for (HotelEarnings row : ledger.values()) {
+            if (correct(row, BigDecimal.ZERO, 0L)) {
+                corrected++;
+            }
+        }
+
+        return corrected;
+    }
+
+    private void move(UUID hotelId, BigDecimal amount, long payments) {
+        if (repository.add(hotelId, amount, payments, LocalDateTime.now()) == 0) {
+            log.warn("Hotel earnings row missing, created on first payment. hotelId={}", hotelId);
+            repository.save(HotelEarnings.builder()
+                    .hotel(hotelRepository.getReferenceById(hotelId))
+                    .totalAmount(amount)
+                    .paymentCount(payments)
+                    .build());
+        }
+    }
+
+    private static boolean correct(HotelEarnings row, BigDecimal totalAmount, long paymentCount) {
+        if (row.getTotalAmount().compareTo(totalAmount) == 0 && row.getPaymentCount() == paymentCount) {
+            return false;
+        }
+
+        log.warn("Hotel earnings drifted, corrected. hotelId={}, ledger={}/{}, actual={}/{}", row.getHotelId(),
+                row.getTotalAmount(), row.getPaymentCount(), totalAmount, paymentCount);
+        row.setTotalAmount(totalAmount);
+        row.setPaymentCount(paymentCount);
+        return true;
+    }
+
+    private static UUID hotelOf(Payment payment) {
+        return payment.getReservation().getRoom().getHotel().getId();
+    }
+}
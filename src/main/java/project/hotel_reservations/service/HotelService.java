@@ -1,8 +1,11 @@
 package project.hotel_reservations.service;
 
 import project.hotel_reservations.dto.hotel.HotelCreateDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbyDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbySearchDTO;
 import project.hotel_reservations.dto.hotel.HotelResponseDTO;
 import project.hotel_reservations.dto.hotel.HotelUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -12,7 +15,7 @@ public interface HotelService {
 
     HotelResponseDTO create(HotelCreateDTO req);
 
-    List<HotelResponseDTO> findAll();
+    CursorPageDTO<HotelResponseDTO> findAll(String cursor, Integer size);
 
     HotelResponseDTO findById(UUID id);
 
@@ -21,4 +24,8 @@ public interface HotelService {
     void delete(UUID id);
 
     BigDecimal getTotalEarningsByHotel(UUID id);
+
+    CursorPageDTO<HotelResponseDTO> search(String text, String cursor, Integer size);
+
+    List<HotelNearbyDTO> findNearby(HotelNearbySearchDTO criteria, Integer size);
 }
@@ -2,31 +2,66 @@ package project.hotel_reservations.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
+import project.hotel_reservations.config.CacheConfig;
 import project.hotel_reservations.dto.hotel.HotelCreateDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbyDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbySearchDTO;
 import project.hotel_reservations.dto.hotel.HotelResponseDTO;
+import project.hotel_reservations.dto.hotel.HotelSearchHit;
 import project.hotel_reservations.dto.hotel.HotelUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
+import project.hotel_reservations.geo.GeoPoint;
+import project.hotel_reservations.geo.HotelGeoIndex;
+import project.hotel_reservations.geo.NearbyHotel;
 import project.hotel_reservations.mapper.HotelMapper;
 import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.model.Room;
+import project.hotel_reservations.pagination.Cursor;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.HotelRepository;
+import project.hotel_reservations.repository.RoomRepository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class HotelServiceImpl implements HotelService {
 
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_SEARCH_LENGTH = 100;
+    private static final double MAX_RADIUS_KM = 200;
+
     private final HotelRepository repository;
     private final HotelMapper mapper;
+    private final CursorCodec cursors;
+    private final HotelEarningsService earningsService;
+    private final HotelGeoIndex geoIndex;
+    private final RoomRepository roomRepository;
+    private final RoomAvailabilityIndex availabilityIndex;
 
     /**
-     * Creates a new hotel
+     * Creates a new hotel with an empty earnings ledger
      *
      * @param req DTO with creation data
      * @return DTO of the created hotel
+     * @throws IllegalArgumentException if only one of the coordinates is given
      */
     @Override
     @Transactional
@@ -36,21 +71,33 @@ public class HotelServiceImpl implements HotelService {
                 .address(req.address())
                 .phone(req.phone())
                 .email(req.email())
+                .latitude(req.latitude())
+                .longitude(req.longitude())
                 .build();
-        return mapper.toDto(repository.save(entity));
+        requireBothCoordinates(entity);
+        Hotel saved = repository.save(entity);
+        earningsService.open(saved);
+        geoIndex.track(saved);
+        return mapper.toDto(saved);
     }
 
     /**
-     * Return all hotels
+     * Return one page of hotels, ordered by name and ID
      *
-     * @return List of hotel DTOs
+     * @param cursor cursor of the page, the first page when null
+     * @param size page size, the default size when null
+     * @return page of hotel DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor or the size is invalid
      */
     @Override
-    public List<HotelResponseDTO> findAll() {
-        return repository.findAll()
-                .stream()
-                .map(mapper::toDto)
-                .toList();
+    public CursorPageDTO<HotelResponseDTO> findAll(String cursor, Integer size) {
+        int limit = cursors.pageSize(size);
+        Cursor after = cursors.decode(cursor);
+        List<Hotel> rows = after == null
+                ? repository.findPage(Limit.of(limit + 1))
+                : repository.findPageAfter(after.key(), after.id(), Limit.of(limit + 1));
+
+        return cursors.page(rows, limit, mapper::toDto, Hotel::getName, Hotel::getId);
     }
 
     /**
@@ -61,6 +108,7 @@ public class HotelServiceImpl implements HotelService {
      * @throws EntityNotFoundException if hotel not found
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.HOTELS, key = "#id")
     public HotelResponseDTO findById(UUID id) {
         return repository.findById(id)
                 .map(mapper::toDto)
@@ -74,47 +122,184 @@ public class HotelServiceImpl implements HotelService {
      * @param req DTO with updated data
      * @return DTO of the updated hotel
      * @throws EntityNotFoundException if hotel not found
+     * @throws IllegalArgumentException if the hotel would be left with only one of the coordinates
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.HOTELS, key = "#id")
     public HotelResponseDTO update(UUID id, HotelUpdateDTO req) {
         Hotel entity = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Hotel not found"));
 
         mapper.toEntity(req, entity);
+        requireBothCoordinates(entity);
 
-        return mapper.toDto(repository.save(entity));
+        Hotel saved = repository.save(entity);
+        geoIndex.track(saved);
+        return mapper.toDto(saved);
     }
 
     /**
-     * Deletes a hotel by ID
+     * Deletes a hotel by ID, together with its rooms
      *
      * @param id hotel ID
      */
     @Override
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.HOTELS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.ROOMS, allEntries = true)
+    })
     public void delete(UUID id) {
         if (!repository.existsById(id)) {
             throw new EntityNotFoundException("Hotel not found");
         }
 
         repository.deleteById(id);
+        geoIndex.untrack(id);
     }
 
     /**
-     * Updates the total earning of the hotel
+     * Return the total earnings of the hotel, read from its earnings ledger
      *
      * @param id hotel ID
-     * @return DTO of the total earning
+     * @return total earnings of the hotel
      * @throws EntityNotFoundException if hotel not found
      */
     @Override
     public BigDecimal getTotalEarningsByHotel(UUID id) {
-        if (!repository.existsById(id)) {
-            throw new EntityNotFoundException("Hotel not found");
+        return earningsService.findTotal(id).orElseGet(() -> {
+            if (!repository.existsById(id)) {
+                throw new EntityNotFoundException("Hotel not found");
+            }
+            return BigDecimal.ZERO;
+        });
+    }
+
+    /**
+     * Return one page of the hotels whose name or address matches a text, best matches first.
+     * Every word matches as a prefix, the name also matches fuzzily
+     *
+     * @param text words to look for
+     * @param cursor cursor of the page, the first page when null
+     * @param size page size, the default size when null
+     * @return page of hotel DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the text has no words or is too long, or the cursor or the size is invalid
+     */
+    @Override
+    public CursorPageDTO<HotelResponseDTO> search(String text, String cursor, Integer size) {
+        if (text == null || text.length() > MAX_SEARCH_LENGTH) {
+            throw new IllegalArgumentException("Search text must have at most " + MAX_SEARCH_LENGTH + " characters");
+        }
+        List<String> words = NON_WORD.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .toList();
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Search text must contain letters or digits");
         }
 
-        BigDecimal total = repository.getTotalEarningsByHotel(id);
-        return total != null ? total : BigDecimal.ZERO;
+        String terms = words.stream().map(word -> word + ":*").collect(Collectors.joining(" & "));
+        String normalized = String.join(" ", words);
+        int limit = cursors.pageSize(size);
+        Cursor after = cursors.decode(cursor);
+        List<HotelSearchHit> rows = after == null
+                ? repository.search(terms, normalized, limit + 1)
+                : repository.searchAfter(terms, normalized, after.keyAsDouble(), after.id(), limit + 1);
+
+        return cursors.page(rows, limit, HotelServiceImpl::toDto, HotelSearchHit::getRank, HotelSearchHit::getId);
+    }
+
+    /**
+     * Return the hotels within a radius of a point, nearest first. With stay dates, only the hotels
+     * with a room that is free for the whole stay and holds the guests are kept
+     *
+     * @param criteria center, radius and optional stay
+     * @param size maximum number of hotels, the default page size when null
+     * @return hotel DTOs with their distance to the center
+     * @throws IllegalArgumentException if the center, the radius, the date range or the size is invalid
+     */
+    @Override
+    public List<HotelNearbyDTO> findNearby(HotelNearbySearchDTO criteria, Integer size) {
+        if (criteria.latitude() == null || criteria.longitude() == null
+                || Math.abs(criteria.latitude()) > 90 || Math.abs(criteria.longitude()) > 180) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (criteria.radiusKm() == null || criteria.radiusKm() <= 0 || criteria.radiusKm() > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("Radius must be greater than 0 and at most " + MAX_RADIUS_KM + " km");
+        }
+        if ((criteria.checkIn() == null) != (criteria.checkOut() == null)
+                || (criteria.checkIn() != null && !criteria.checkOut().isAfter(criteria.checkIn()))) {
+            throw new IllegalArgumentException("The check-out date must be later than the check-in date");
+        }
+        int limit = cursors.pageSize(size);
+
+        List<NearbyHotel> nearby = geoIndex.isEnabled()
+                ? geoIndex.findNearby(new GeoPoint(criteria.latitude(), criteria.longitude()), criteria.radiusKm())
+                : repository.findNearby(criteria.latitude(), criteria.longitude(), criteria.radiusKm() * 1000)
+                        .stream()
+                        .map(hit -> new NearbyHotel(hit.getHotelId(), hit.getDistanceKm()))
+                        .toList();
+        if (criteria.checkIn() != null && !nearby.isEmpty()) {
+            Set<UUID> open = hotelsWithFreeRoom(nearby, criteria.checkIn(), criteria.checkOut(), criteria.guests());
+            nearby = nearby.stream().filter(hotel -> open.contains(hotel.hotelId())).toList();
+        }
+        if (nearby.size() > limit) {
+            nearby = nearby.subList(0, limit);
+        }
+        if (nearby.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Hotel> hotels = repository.findAllById(nearby.stream().map(NearbyHotel::hotelId).toList())
+                .stream()
+                .collect(Collectors.toMap(Hotel::getId, Function.identity()));
+
+        return nearby.stream()
+                .filter(hit -> hotels.containsKey(hit.hotelId()))
+                .map(hit -> toNearbyDto(hotels.get(hit.hotelId()), hit.distanceKm()))
+                .toList();
+    }
+
+    private Set<UUID> hotelsWithFreeRoom(List<NearbyHotel> nearby, LocalDate checkIn, LocalDate checkOut, Integer guests) {
+        List<Room> rooms = roomRepository.findAvailableRoomsOfHotels(
+                nearby.stream().map(NearbyHotel::hotelId).toList(), guests != null ? guests : 1);
+        Set<UUID> free = new HashSet<>(availabilityIndex.filterAvailable(
+                rooms.stream().map(Room::getId).toList(), checkIn, checkOut));
+
+        return rooms.stream()
+                .filter(room -> free.contains(room.getId()))
+                .map(room -> room.getHotel().getId())
+                .collect(Collectors.toSet());
+    }
+
+    private static void requireBothCoordinates(Hotel hotel) {
+        if ((hotel.getLatitude() == null) != (hotel.getLongitude() == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
+    }
+
+    private static HotelNearbyDTO toNearbyDto(Hotel hotel, double distanceKm) {
+        return HotelNearbyDTO.builder()
+                .id(hotel.getId())
+                .name(hotel.getName())
+                .address(hotel.getAddress())
+                .phone(hotel.getPhone())
+                .email(hotel.getEmail())
+                .latitude(hotel.getLatitude())
+                .longitude(hotel.getLongitude())
+                .distanceKm(distanceKm)
+                .build();
+    }
+
+    private static HotelResponseDTO toDto(HotelSearchHit hit) {
+        return HotelResponseDTO.builder()
+                .id(hit.getId())
+                .name(hit.getName())
+                .address(hit.getAddress())
+                .phone(hit.getPhone())
+                .email(hit.getEmail())
+                .latitude(hit.getLatitude())
+                .longitude(hit.getLongitude())
+                .build();
     }
 }
@@ -0,0 +1,24 @@
+package project.hotel_reservations.service;
+
+import project.hotel_reservations.dto.hotel.HotelStatsDTO;
+import project.hotel_reservations.dto.hotel.StatsGranularity;
+import project.hotel_reservations.model.Reservation;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface HotelStatsService {
+
+    void recordStay(Reservation reservation);
+
+    void reverseStay(Reservation reservation);
+
+    void changeRoomCount(UUID hotelId, int delta);
+
+    void openDays(LocalDate from, LocalDate to);
+
+    int backfill(UUID hotelId, LocalDate from, LocalDate to);
+
+    List<HotelStatsDTO> findStats(UUID hotelId, LocalDate from, LocalDate to, StatsGranularity granularity);
+}
@@ -0,0 +1,162 @@
+package project.hotel_reservations.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.dto.hotel.HotelStatsDTO;
+import project.hotel_reservations.dto.hotel.StatsGranularity;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.repository.HotelDailyStatsRepository;
+import project.hotel_reservations.repository.HotelRepository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the daily revenue and occupancy rollups of every hotel. Confirmations, cancellations and room
+ * changes move the affected days with in-place UPDATEs, charts read the rollups only
+ */
+@Service
+@RequiredArgsConstructor
+public class HotelStatsServiceImpl implements HotelStatsService {
+
+    private final HotelDailyStatsRepository repository;
+    private final HotelRepository hotelRepository;
+
+    /**
+     * Adds the nights and the payment of a confirmed stay to the days it covers
+     *
+     * @param reservation confirmed reservation with its payment
+     */
+    @Override
+    @Transactional
+    public void recordStay(Reservation reservation) {
+        apply(reservation, 1);
+    }
+
+    /**
+     * Takes the nights and the payment of a cancelled stay back out of the days it covers
+     *
+     * @param reservation reservation that was confirmed
+     */
+    @Override
+    @Transactional
+    public void reverseStay(Reservation reservation) {
+        apply(reservation, -1);
+    }
+
+    /**
+     * Changes how many rooms a hotel has, from today on
+     *
+     * @param hotelId hotel ID
+     * @param delta rooms added, negative when rooms are removed
+     */
+    @Override
+    @Transactional
+    public void changeRoomCount(UUID hotelId, int delta) {
+        repository.adjustRoomsAvailable(hotelId, LocalDate.now(), delta);
+    }
+
+    /**
+     * Creates the missing days of every hotel, so days without stays still count their rooms
+     *
+     * @param from first day, inclusive
+     * @param to last day, exclusive
+     */
+    @Override
+    @Transactional
+    public void openDays(LocalDate from, LocalDate to) {
+        repository.createMissingDaysOfAllHotels(from, to);
+    }
+
+    /**
+     * Recomputes the rollups of a hotel over a range of days from its reservations and payments
+     *
+     * @param hotelId hotel ID
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return number of rebuilt days
+     * @throws IllegalArgumentException if the range is invalid
+     * @throws EntityNotFoundException if hotel not found
+     */
+    @Override
+    @Transactional
+    public int backfill(UUID hotelId, LocalDate from, LocalDate to) {
+        checkRange(hotelId, from, to);
+        return repository.rebuildDays(hotelId, from, to.plusDays(1));
+    }
+
+    /**
+     * Return the revenue and occupancy of a hotel per day or per month
+     *
+     * @param hotelId hotel ID
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @param granularity DAY or MONTH
+     * @return one entry per day or month that has rollups
+     * @throws IllegalArgumentException if the range is invalid
+     * @throws EntityNotFoundException if hotel not found
+     */
+    @Override
+    public List<HotelStatsDTO> findStats(UUID hotelId, LocalDate from, LocalDate to, StatsGranularity granularity) {
+        checkRange(hotelId, from, to);
+
+        if (granularity == StatsGranularity.MONTH) {
+            return repository.findMonths(hotelId, from, to)
+                    .stream()
+                    .map(month -> toDto(LocalDate.of(month.year(), month.month(), 1), month.revenue(),
+                            month.nightsSold(), month.roomsAvailable()))
+                    .toList();
+        }
+
+        return repository.findDays(hotelId, from, to)
+                .stream()
+                .map(day -> toDto(day.getDay(), day.getRevenue(), day.getNightsSold(), day.getRoomsAvailable()))
+                .toList();
+    }
+
+    private void apply(Reservation reservation, int sign) {
+        UUID hotelId = reservation.getRoom().getHotel().getId();
+        LocalDate checkIn = reservation.getCheckInDate();
+        LocalDate checkOut = reservation.getCheckOutDate();
+        BigDecimal nights = BigDecimal.valueOf(ChronoUnit.DAYS.between(checkIn, checkOut));
+        BigDecimal total = reservation.getPayment() != null ? reservation.getPayment().getTotalAmount() : BigDecimal.ZERO;
+        BigDecimal perNight = total.divide(nights, 2, RoundingMode.HALF_UP);
+        BigDecimal remainder = total.subtract(perNight.multiply(nights));
+
+        repository.createMissingDays(hotelId, checkIn, checkOut);
+        repository.addStay(hotelId, checkIn, checkOut, sign, perNight.multiply(BigDecimal.valueOf(sign)));
+        if (remainder.signum() != 0) {
+            repository.addRevenue(hotelId, checkIn, remainder.multiply(BigDecimal.valueOf(sign)));
+        }
+    }
+
+    private void checkRange(UUID hotelId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new IllegalArgumentException("Invalid date range");
+        }
+        if (!hotelRepository.existsById(hotelId)) {
+            throw new EntityNotFoundException("Hotel not found");
+        }
+    }
+
+    private static HotelStatsDTO toDto(LocalDate period, BigDecimal revenue, long nightsSold, long roomsAvailable) {
+        return HotelStatsDTO.builder()
+                .period(period)
+                .revenue(revenue)
+                .nightsSold(nightsSold)
+                .roomsAvailable(roomsAvailable)
+                .occupancy(roomsAvailable == 0
+                        ? BigDecimal.ZERO
+                        : BigDecimal.valueOf(nightsSold).divide(BigDecimal.valueOf(roomsAvailable), 4, RoundingMode.HALF_UP))
+                .adr(nightsSold == 0
+                        ? BigDecimal.ZERO
+                        : revenue.divide(BigDecimal.valueOf(nightsSold), 2, RoundingMode.HALF_UP))
+                .build();
+    }
+}
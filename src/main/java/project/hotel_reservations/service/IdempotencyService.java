@@ -0,0 +1,10 @@
+package project.hotel_reservations.service;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    <T> T execute(String key, String scope, Object request, Class<T> responseType, Supplier<T> action);
+
+    int purgeExpired();
+}
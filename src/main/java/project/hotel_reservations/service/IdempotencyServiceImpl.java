@@ -0,0 +1,232 @@
+package project.hotel_reservations.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import project.hotel_reservations.model.IdempotencyRecord;
+import project.hotel_reservations.repository.IdempotencyRecordRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Answers repeated requests that carry the same Idempotency-Key with the response of the first one.
+ * Responses live in the idempotency_records table and a bounded in-memory LRU in front of it;
+ * duplicates that arrive while the first request is still running on this node wait for its result.
+ * A request holds its key for a short lease only, so a key whose request died before storing the
+ * response can be claimed again once the lease runs out
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final Map<String, Snapshot> cache;
+    private final Map<String, CompletableFuture<Snapshot>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyServiceImpl(IdempotencyRecordRepository repository,
+                                  ObjectMapper objectMapper,
+                                  @Value("${reservations.idempotency.ttl:24h}") Duration ttl,
+                                  @Value("${reservations.idempotency.lease:2m}") Duration lease,
+                                  @Value("${reservations.idempotency.cache-size:10000}") int cacheSize) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Runs an action once per Idempotency-Key and replays its response for every repeated request
+     *
+     * @param key Idempotency-Key header, the action runs unguarded when null
+     * @param scope operation the key belongs to, so a key cannot be replayed on another endpoint;
+     *              keys are also kept apart per authenticated caller
+     * @param request request body, repeated requests must carry the same one
+     * @param responseType type of the response to replay
+     * @param action the operation to guard
+     * @return the response of the first request with this key
+     * @throws IllegalArgumentException if the key is blank or too long
+     * @throws IllegalStateException if the key was used for a different request or the first request is still running on another node
+     */
+    @Override
+    public <T> T execute(String key, String scope, Object request, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String recordKey = scope + ":" + caller() + ":" + key;
+        String requestHash = hash(request);
+
+        Snapshot cached = cache.get(recordKey);
+        if (cached != null && !cached.isExpired()) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        CompletableFuture<Snapshot> mine = new CompletableFuture<>();
+        CompletableFuture<Snapshot> running = inFlight.putIfAbsent(recordKey, mine);
+        if (running != null) {
+            return replay(await(running), requestHash, responseType);
+        }
+
+        try {
+            Snapshot snapshot = stored(recordKey);
+            if (snapshot == null) {
+                snapshot = perform(recordKey, requestHash, action);
+            }
+
+            cache.put(recordKey, snapshot);
+            mine.complete(snapshot);
+
+            return replay(snapshot, requestHash, responseType);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(recordKey, mine);
+        }
+    }
+
+    /**
+     * Deletes the stored responses whose TTL has passed
+     *
+     * @return number of deleted records
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${reservations.idempotency.cleanup-interval-ms:3600000}")
+    public int purgeExpired() {
+        cache.values().removeIf(Snapshot::isExpired);
+        int deleted = repository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("Purged expired idempotency records. count={}", deleted);
+        }
+
+        return deleted;
+    }
+
+    private Snapshot stored(String recordKey) {
+        IdempotencyRecord record = repository.findById(recordKey).orElse(null);
+        if (record == null) {
+            return null;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (record.getResponseBody() == null) {
+            if (record.getClaimedUntil() != null && record.getClaimedUntil().isAfter(now)) {
+                throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+            }
+            log.warn("Idempotency-Key claim lapsed without a response, taking it over. key={}", recordKey);
+            return null;
+        }
+        if (record.getExpiresAt().isBefore(now)) {
+            repository.deleteById(recordKey);
+            return null;
+        }
+
+        return new Snapshot(record.getRequestHash(), record.getResponseBody(), record.getExpiresAt());
+    }
+
+    private <T> Snapshot perform(String recordKey, String requestHash, Supplier<T> action) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime claimedUntil = now.plus(lease);
+        if (repository.claim(recordKey, requestHash, now, claimedUntil) == 0
+                && repository.takeOver(recordKey, requestHash, now, claimedUntil) == 0) {
+            throw new IllegalStateException("A request with this Idempotency-Key is still being processed");
+        }
+
+        T response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            repository.deleteById(recordKey);
+            throw e;
+        }
+
+        String body = write(response);
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        repository.complete(recordKey, body, expiresAt);
+
+        return new Snapshot(requestHash, body, expiresAt);
+    }
+
+    private <T> T replay(Snapshot snapshot, String requestHash, Class<T> responseType) {
+        if (!snapshot.requestHash().equals(requestHash)) {
+            throw new IllegalStateException("Idempotency-Key was already used for a different request");
+        }
+
+        try {
+            return objectMapper.readValue(snapshot.body(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored idempotent response cannot be read", e);
+        }
+    }
+
+    private static String caller() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getName() != null ? auth.getName() : "";
+    }
+
+    private static Snapshot await(CompletableFuture<Snapshot> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Value cannot be serialized", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(write(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Snapshot(String requestHash, String body, LocalDateTime expiresAt) {
+
+        boolean isExpired() {
+            return expiresAt.isBefore(LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package project.hotel_reservations.service;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface InventoryService {
+
+    void sell(UUID hotelId, String roomType, LocalDate checkIn, LocalDate checkOut);
+
+    boolean trySell(UUID hotelId, String roomType, LocalDate checkIn, LocalDate checkOut);
+
+    void release(UUID hotelId, String roomType, LocalDate checkIn, LocalDate checkOut);
+
+    void changeRoomCount(UUID hotelId, String roomType, int delta);
+}
@@ -0,0 +1,91 @@
+package project.hotel_reservations.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.repository.RoomInventoryRepository;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Keeps the nightly room type counters. Every change is a single UPDATE over the nights of a stay,
+ * so concurrent bookings of different nights or types touch different rows
+ */
+@Service
+@RequiredArgsConstructor
+public class InventoryServiceImpl implements InventoryService {
+
+    private final RoomInventoryRepository repository;
+
+    /**
+     * Sells one room of a type for every night of a stay
+     *
+     * @param hotelId hotel ID
+     * @param roomType room type
+     * @param checkIn first night, inclusive
+     * @param checkOut departure day, exclusive
+     * @throws IllegalStateException if some night has no room of the type left
+     */
+    @Override
+    @Transactional
+    public void sell(UUID hotelId, String roomType, LocalDate checkIn, LocalDate checkOut) {
+        if (!trySell(hotelId, roomType, checkIn, checkOut)) {
+            throw new IllegalStateException("No rooms of type " + roomType + " left for the selected dates");
+        }
+    }
+
+    /**
+     * Sells one room of a type for every night of a stay, or nothing when a night is sold out
+     *
+     * @param hotelId hotel ID
+     * @param roomType room type
+     * @param checkIn first night, inclusive
+     * @param checkOut departure day, exclusive
+     * @return false if some night has no room of the type left
+     * @throws IllegalStateException if a concurrent booking sold out a night mid-update
+     */
+    @Override
+    @Transactional
+    public boolean trySell(UUID hotelId, String roomType, LocalDate checkIn, LocalDate checkOut) {
+        repository.createMissingNights(hotelId, roomType, checkIn, checkOut);
+
+        int sold = repository.sellNights(hotelId, roomType, checkIn, checkOut);
+        if (sold == 0) {
+            return false;
+        }
+        if (sold != ChronoUnit.DAYS.between(checkIn, checkOut)) {
+            throw new IllegalStateException("Room type inventory changed concurrently, please try again");
+        }
+
+        return true;
+    }
+
+    /**
+     * Gives back one room of a type for every night of a stay
+     *
+     * @param hotelId hotel ID
+     * @param roomType room type
+     * @param checkIn first night, inclusive
+     * @param checkOut departure day, exclusive
+     */
+    @Override
+    @Transactional
+    public void release(UUID hotelId, String roomType, LocalDate checkIn, LocalDate checkOut) {
+        repository.releaseNights(hotelId, roomType, checkIn, checkOut);
+    }
+
+    /**
+     * Changes how many rooms of a type a hotel has, from today on
+     *
+     * @param hotelId hotel ID
+     * @param roomType room type
+     * @param delta rooms added, negative when rooms are removed
+     */
+    @Override
+    @Transactional
+    public void changeRoomCount(UUID hotelId, String roomType, int delta) {
+        repository.adjustTotal(hotelId, roomType, LocalDate.now(), delta);
+    }
+}
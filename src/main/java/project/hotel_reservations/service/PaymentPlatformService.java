@@ -1,17 +1,17 @@
 package project.hotel_reservations.service;
 
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformCreateDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformResponseDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformUpdateDTO;
 
-import java.util.List;
 import java.util.UUID;
 
 public interface PaymentPlatformService {
 
     PaymentPlatformResponseDTO create(PaymentPlatformCreateDTO req);
 
-    List<PaymentPlatformResponseDTO> findAll();
+    CursorPageDTO<PaymentPlatformResponseDTO> findAll(String cursor, Integer size);
 
     PaymentPlatformResponseDTO findById(UUID id);
 
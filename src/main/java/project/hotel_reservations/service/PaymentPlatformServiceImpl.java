@@ -2,13 +2,21 @@ package project.hotel_reservations.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.config.CacheConfig;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformCreateDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformResponseDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformUpdateDTO;
+import project.hotel_reservations.factory.PaymentProcessorRegistry;
 import project.hotel_reservations.mapper.PaymentPlatformMapper;
 import project.hotel_reservations.model.PaymentPlatform;
+import project.hotel_reservations.pagination.Cursor;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.PaymentPlatformRepository;
 
 import java.util.List;
@@ -20,16 +28,21 @@ public class PaymentPlatformServiceImpl implements PaymentPlatformService {
 
     private final PaymentPlatformRepository repository;
     private final PaymentPlatformMapper mapper;
+    private final CursorCodec cursors;
+    private final PaymentProcessorRegistry processors;
 
     /**
      * Creates a new payment platform
      *
      * @param req DTO with creation data
      * @return DTO of the created payment platform
+     * @throws IllegalArgumentException if no payment processor handles the code
      */
     @Override
     @Transactional
     public PaymentPlatformResponseDTO create(PaymentPlatformCreateDTO req) {
+        requireProcessor(req.code());
+
         PaymentPlatform entity = PaymentPlatform.builder()
                 .name(req.name())
                 .code(req.code())
@@ -39,16 +52,22 @@ public class PaymentPlatformServiceImpl implements PaymentPlatformService {
     }
 
     /**
-     * Return all payment platforms
+     * Return one page of payment platforms, ordered by name and ID
      *
-     * @return List of payment platform DTOs
+     * @param cursor cursor of the page, the first page when null
+     * @param size page size, the default size when null
+     * @return page of payment platform DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor or the size is invalid
      */
     @Override
-    public List<PaymentPlatformResponseDTO> findAll() {
-        return repository.findAll()
-                .stream()
-                .map(mapper::toDto)
-                .toList();
+    public CursorPageDTO<PaymentPlatformResponseDTO> findAll(String cursor, Integer size) {
+        int limit = cursors.pageSize(size);
+        Cursor after = cursors.decode(cursor);
+        List<PaymentPlatform> rows = after == null
+                ? repository.findPage(Limit.of(limit + 1))
+                : repository.findPageAfter(after.key(), after.id(), Limit.of(limit + 1));
+
+        return cursors.page(rows, limit, mapper::toDto, PaymentPlatform::getName, PaymentPlatform::getId);
     }
 
     /**
@@ -59,6 +78,7 @@ public class PaymentPlatformServiceImpl implements PaymentPlatformService {
      * @throws EntityNotFoundException if payment platform not found
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.PAYMENT_PLATFORMS, key = "#id")
     public PaymentPlatformResponseDTO findById(UUID id) {
         return repository.findById(id)
                 .map(mapper::toDto)
@@ -72,10 +92,16 @@ public class PaymentPlatformServiceImpl implements PaymentPlatformService {
      * @param req DTO with updated data
      * @return DTO of the updated payment platform
      * @throws EntityNotFoundException if payment platform not found
+     * @throws IllegalArgumentException if no payment processor handles the new code
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PAYMENT_PLATFORMS, key = "#id")
     public PaymentPlatformResponseDTO update(UUID id, PaymentPlatformUpdateDTO req) {
+        if (req.code() != null) {
+            requireProcessor(req.code());
+        }
+
         PaymentPlatform entity = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Payment platform not found"));
 
@@ -91,6 +117,7 @@ public class PaymentPlatformServiceImpl implements PaymentPlatformService {
      */
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PAYMENT_PLATFORMS, key = "#id")
     public void delete(UUID id) {
         if (!repository.existsById(id)) {
             throw new EntityNotFoundException("Payment platform not found");
@@ -98,4 +125,10 @@ public class PaymentPlatformServiceImpl implements PaymentPlatformService {
 
         repository.deleteById(id);
     }
+
+    private void requireProcessor(String code) {
+        if (!processors.supports(code)) {
+            throw new IllegalArgumentException("Unsupported payment platform: " + code);
+        }
+    }
 }
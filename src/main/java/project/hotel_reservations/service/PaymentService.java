@@ -5,4 +5,6 @@ import project.hotel_reservations.model.Payment;
 
 public interface PaymentService {
     Payment processPayment(PaymentCreateDTO req);
+
+    void refund(Payment payment);
 }
@@ -6,11 +6,11 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import project.hotel_reservations.dto.payment.PaymentCreateDTO;
+import project.hotel_reservations.dto.payment_platform.PaymentPlatformResponseDTO;
 import project.hotel_reservations.model.Payment;
 import project.hotel_reservations.model.PaymentMethod;
-import project.hotel_reservations.model.PaymentPlatform;
-import project.hotel_reservations.factory.PaymentProcessorFactory;
 import project.hotel_reservations.factory.PaymentProcessor;
+import project.hotel_reservations.factory.PaymentProcessorRegistry;
 import project.hotel_reservations.repository.PaymentPlatformRepository;
 import project.hotel_reservations.repository.PaymentRepository;
 
@@ -21,9 +21,12 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentRepository repository;
     private final PaymentPlatformRepository paymentPlatformRepository;
+    private final PaymentPlatformService paymentPlatformService;
+    private final HotelEarningsService earningsService;
+    private final PaymentProcessorRegistry processorRegistry;
 
     /**
-     * Processes and creates a payment
+     * Processes and creates a payment, adding it to the earnings of the hotel in the same transaction
      *
      * @param req DTO with creation data
      * @return DTO of the created payment
@@ -53,7 +56,9 @@ public class PaymentServiceImpl implements PaymentService {
             }
 
             log.info("Processing CASH payment");
-            return repository.save(entity);
+            Payment saved = repository.save(entity);
+            earningsService.record(saved);
+            return saved;
         }
 
         if (entity.getPaymentMethod() == PaymentMethod.TRANSFER) {
@@ -64,21 +69,34 @@ public class PaymentServiceImpl implements PaymentService {
             }
 
             log.info("Fetching PaymentPlatform id={}", req.paymentPlatformId());
-            PaymentPlatform paymentPlatform = paymentPlatformRepository.findById(req.paymentPlatformId())
-                    .orElseThrow(() -> new EntityNotFoundException("Payment platform not found"));
+            PaymentPlatformResponseDTO paymentPlatform = paymentPlatformService.findById(req.paymentPlatformId());
 
-            entity.setPaymentPlatform(paymentPlatform);
-            log.info("PaymentPlatform assigned: {}", paymentPlatform.getName());
+            entity.setPaymentPlatform(paymentPlatformRepository.getReferenceById(paymentPlatform.id()));
+            log.info("PaymentPlatform assigned: {}", paymentPlatform.name());
 
-            PaymentProcessor processor = PaymentProcessorFactory.getProcessor(paymentPlatform);
+            PaymentProcessor processor = processorRegistry.getProcessor(paymentPlatform.code());
 
             processor.process(entity);
 
-            log.info("Payment processed successfully by {}", processor.getClass().getSimpleName());
+            log.info("Payment processed successfully by {}", processor.code());
 
-            return repository.save(entity);
+            Payment saved = repository.save(entity);
+            earningsService.record(saved);
+            return saved;
         }
 
         return null;
     }
+
+    /**
+     * Refunds the payment of a cancelled reservation, taking it back out of the hotel earnings
+     *
+     * @param payment payment of the cancelled reservation
+     */
+    @Override
+    @Transactional
+    public void refund(Payment payment) {
+        log.info("Refunding payment. paymentId={}, total={}", payment.getId(), payment.getTotalAmount());
+        earningsService.reverse(payment);
+    }
 }
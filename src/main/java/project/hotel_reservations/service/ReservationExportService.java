@@ -0,0 +1,11 @@
+package project.hotel_reservations.service;
+
+import project.hotel_reservations.dto.reservation.ReservationExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ReservationExportService {
+
+    long export(ReservationExportFormat format, OutputStream out) throws IOException;
+}
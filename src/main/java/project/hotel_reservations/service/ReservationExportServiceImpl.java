@@ -0,0 +1,109 @@
+package project.hotel_reservations.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.dto.payment.PaymentResponseDTO;
+import project.hotel_reservations.dto.reservation.ReservationExportFormat;
+import project.hotel_reservations.dto.reservation.ReservationResponseDTO;
+import project.hotel_reservations.mapper.ReservationMapper;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.repository.ReservationRepository;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole reservation history to a stream, one row at a time. Rows are read through a
+ * database cursor and the persistence context is cleared every few rows, so memory stays flat
+ * whatever the size of the table
+ */
+@Slf4j
+@Service
+public class ReservationExportServiceImpl implements ReservationExportService {
+
+    private static final String CSV_HEADER = "id,check_in_date,check_out_date,people_count,status,room_id,guest_id,"
+            + "payment_id,payment_total_amount,payment_date,payment_method,payment_platform_id";
+
+    private final ReservationRepository repository;
+    private final ReservationMapper mapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final int clearEvery;
+
+    public ReservationExportServiceImpl(ReservationRepository repository,
+                                        ReservationMapper mapper,
+                                        ObjectMapper objectMapper,
+                                        EntityManager entityManager,
+                                        @Value("${reservations.export.clear-every:1000}") int clearEvery) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.clearEvery = clearEvery;
+    }
+
+    /**
+     * Writes every reservation to the output, ordered by check-in date
+     *
+     * @param format file format
+     * @param out stream to write to, left open
+     * @return number of written reservations
+     * @throws IOException if the output cannot be written
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long export(ReservationExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ReservationExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long rows = 0;
+        try (Stream<Reservation> reservations = repository.streamAll()) {
+            Iterator<Reservation> iterator = reservations.iterator();
+            while (iterator.hasNext()) {
+                ReservationResponseDTO dto = mapper.toDto(iterator.next());
+                writer.write(format == ReservationExportFormat.CSV ? toCsv(dto) : objectMapper.writeValueAsString(dto));
+                writer.write('\n');
+
+                if (++rows % clearEvery == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        writer.flush();
+        log.info("Reservations exported. format={}, rows={}", format, rows);
+
+        return rows;
+    }
+
+    private static String toCsv(ReservationResponseDTO dto) {
+        PaymentResponseDTO payment = dto.payment();
+
+        return Stream.of(
+                        dto.id(), dto.checkInDate(), dto.checkOutDate(), dto.peopleCount(), dto.status(),
+                        dto.roomId(), dto.guestId(),
+                        payment == null ? null : payment.id(),
+                        payment == null ? null : payment.totalAmount(),
+                        payment == null ? null : payment.date(),
+                        payment == null ? null : payment.paymentMethod(),
+                        payment == null ? null : payment.paymentPlatformId())
+                .map(value -> Objects.toString(value, ""))
+                .collect(Collectors.joining(","));
+    }
+}
@@ -1,10 +1,17 @@
 package project.hotel_reservations.service;
 
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.reservation.PayReservationDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchResponseDTO;
 import project.hotel_reservations.dto.reservation.ReservationCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationGroupDTO;
+import project.hotel_reservations.dto.reservation.ReservationGrouping;
 import project.hotel_reservations.dto.reservation.ReservationResponseDTO;
+import project.hotel_reservations.dto.reservation.RoomTypeReservationCreateDTO;
 import project.hotel_reservations.model.ReservationStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -13,7 +20,11 @@ public interface ReservationService {
 
     ReservationResponseDTO create(ReservationCreateDTO req);
 
-    List<ReservationResponseDTO> findAll();
+    ReservationResponseDTO createForRoomType(RoomTypeReservationCreateDTO req);
+
+    ReservationBatchResponseDTO createBatch(ReservationBatchCreateDTO req);
+
+    CursorPageDTO<ReservationResponseDTO> findAll(String cursor, Integer size);
 
     ReservationResponseDTO findById(UUID id);
 
@@ -21,7 +32,11 @@ public interface ReservationService {
 
     ReservationResponseDTO cancelReservation(UUID id);
 
+    int expireHolds(Collection<UUID> ids);
+
     List<ReservationResponseDTO> findReservationsByRoom(UUID roomId);
 
     Map<ReservationStatus, List<ReservationResponseDTO>> getReservationsGroupedByPaymentMethod();
+
+    List<ReservationGroupDTO> summarize(ReservationGrouping grouping, Integer pageSize);
 }
@@ -2,22 +2,49 @@ package project.hotel_reservations.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
+import project.hotel_reservations.availability.StayInterval;
+import project.hotel_reservations.concurrency.RoomLockManager;
+import project.hotel_reservations.config.RetryOnConflict;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.reservation.PayReservationDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchItemDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchResponseDTO;
 import project.hotel_reservations.dto.payment.PaymentCreateDTO;
 import project.hotel_reservations.dto.reservation.ReservationCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationGroupDTO;
+import project.hotel_reservations.dto.reservation.ReservationGroupTotal;
+import project.hotel_reservations.dto.reservation.ReservationGrouping;
 import project.hotel_reservations.dto.reservation.ReservationResponseDTO;
+import project.hotel_reservations.dto.reservation.RoomTypeReservationCreateDTO;
+import project.hotel_reservations.exception.BatchRejectedException;
 import project.hotel_reservations.exception.ReservationNotFoundException;
+import project.hotel_reservations.hold.ReservationHoldScheduler;
 import project.hotel_reservations.mapper.ReservationMapper;
 import project.hotel_reservations.model.*;
+import project.hotel_reservations.pagination.Cursor;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.GuestRepository;
+import project.hotel_reservations.repository.HotelRepository;
 import project.hotel_reservations.repository.ReservationRepository;
 import project.hotel_reservations.repository.RoomRepository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,46 +54,245 @@ public class ReservationServiceImpl implements ReservationService {
     private final ReservationRepository repository;
     private final RoomRepository roomRepository;
     private final GuestRepository guestRepository;
+    private final HotelRepository hotelRepository;
     private final ReservationMapper mapper;
     private final PaymentService paymentService;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final RoomLockManager roomLocks;
+    private final InventoryService inventoryService;
+    private final ReservationHoldScheduler holds;
+    private final CursorCodec cursors;
+    private final HotelStatsService statsService;
 
     /**
      * Creates a new reservation
      *
      * @param req DTO with creation data
      * @return DTO of the created reservation
+     * @throws IllegalStateException if the room is already booked for the requested dates
      */
     @Override
     @Transactional
     public ReservationResponseDTO create(ReservationCreateDTO req) {
-        Reservation entity = Reservation.builder()
-                .checkInDate(req.checkInDate())
-                .checkOutDate(req.checkOutDate())
-                .peopleCount(req.peopleCount())
-                .build();
+        roomLocks.lockRoom(req.roomId());
 
         Room room = roomRepository.findById(req.roomId())
                 .orElseThrow(() -> new EntityNotFoundException("Room not found"));
         Guest guest = guestRepository.findById(req.guestId())
                 .orElseThrow(() -> new EntityNotFoundException("Guest not found"));
 
-        entity.setRoom(room);
-        entity.setGuest(guest);
+        if (!isBookable(room.getId(), req.checkInDate(), req.checkOutDate())) {
+            throw new IllegalStateException("Room is not available for the selected dates");
+        }
+
+        inventoryService.sell(room.getHotel().getId(), room.getType(), req.checkInDate(), req.checkOutDate());
 
-        return mapper.toDto(repository.save(entity));
+        return mapper.toDto(book(room, guest, req.checkInDate(), req.checkOutDate(), req.peopleCount()));
     }
 
     /**
-     * Return all reservations
+     * Creates a new reservation for any free room of a type
      *
-     * @return List of reservation DTOs
+     * @param req DTO with the hotel, room type and stay
+     * @return DTO of the created reservation
+     * @throws EntityNotFoundException if hotel or guest not found
+     * @throws IllegalStateException if no room of the type is left for the requested dates
+     */
+    @Override
+    @Transactional
+    public ReservationResponseDTO createForRoomType(RoomTypeReservationCreateDTO req) {
+        if (!hotelRepository.existsById(req.hotelId())) {
+            throw new EntityNotFoundException("Hotel not found");
+        }
+        Guest guest = guestRepository.findById(req.guestId())
+                .orElseThrow(() -> new EntityNotFoundException("Guest not found"));
+
+        inventoryService.sell(req.hotelId(), req.roomType(), req.checkInDate(), req.checkOutDate());
+
+        List<Room> candidates = roomRepository.findAvailableRoomsOfType(req.hotelId(), req.roomType(), req.peopleCount());
+        roomLocks.lockRooms(candidates.stream().map(Room::getId).toList());
+
+        Room room = candidates.stream()
+                .filter(candidate -> isBookable(candidate.getId(), req.checkInDate(), req.checkOutDate()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException(
+                        "No rooms of type " + req.roomType() + " left for the selected dates"));
+
+        return mapper.toDto(book(room, guest, req.checkInDate(), req.checkOutDate(), req.peopleCount()));
+    }
+
+    /**
+     * Creates a block of reservations in one transaction. Rooms and guests are loaded with one query
+     * each and the new rows are inserted in JDBC batches
+     *
+     * @param req DTO with the reservations and whether the block is all-or-nothing
+     * @return DTO with the created reservations and the error of every rejected item
+     * @throws BatchRejectedException if the block is atomic and some item cannot be booked
      */
     @Override
-    public List<ReservationResponseDTO> findAll() {
-        return repository.findAll()
+    @Transactional
+    public ReservationBatchResponseDTO createBatch(ReservationBatchCreateDTO req) {
+        List<ReservationCreateDTO> items = req.reservations();
+        Set<UUID> roomIds = items.stream().map(ReservationCreateDTO::roomId).collect(Collectors.toSet());
+        Set<UUID> guestIds = items.stream().map(ReservationCreateDTO::guestId).collect(Collectors.toSet());
+
+        roomLocks.lockRooms(roomIds);
+
+        Map<UUID, Room> rooms = roomRepository.findAllById(roomIds)
                 .stream()
-                .map(mapper::toDto)
-                .toList();
+                .collect(Collectors.toMap(Room::getId, Function.identity()));
+        Map<UUID, Guest> guests = guestRepository.findAllById(guestIds)
+                .stream()
+                .collect(Collectors.toMap(Guest::getId, Function.identity()));
+        Map<UUID, List<StayInterval>> taken = takenStays(items, roomIds);
+
+        List<Reservation> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        List<ReservationBatchItemDTO> results = new ArrayList<>();
+
+        for (int i = 0; i < items.size(); i++) {
+            ReservationCreateDTO item = items.get(i);
+            String error = checkBatchItem(item, rooms, guests, taken);
+            if (error != null) {
+                results.add(ReservationBatchItemDTO.builder().index(i).error(error).build());
+                continue;
+            }
+
+            taken.computeIfAbsent(item.roomId(), id -> new ArrayList<>())
+                    .add(new StayInterval(null, item.roomId(), item.checkInDate(), item.checkOutDate()));
+            accepted.add(Reservation.builder()
+                    .checkInDate(item.checkInDate())
+                    .checkOutDate(item.checkOutDate())
+                    .peopleCount(item.peopleCount())
+                    .holdExpiresAt(holds.newDeadline())
+                    .room(rooms.get(item.roomId()))
+                    .guest(guests.get(item.guestId()))
+                    .build());
+            acceptedIndexes.add(i);
+        }
+
+        if (req.isAtomic() && !results.isEmpty()) {
+            throw new BatchRejectedException("Reservation batch rejected", results.stream()
+                    .map(result -> "reservations[" + result.index() + "]: " + result.error())
+                    .toList());
+        }
+
+        List<Reservation> saved = repository.saveAll(accepted);
+        repository.flush();
+
+        for (int i = 0; i < saved.size(); i++) {
+            availabilityIndex.register(saved.get(i));
+            holds.track(saved.get(i));
+            results.add(ReservationBatchItemDTO.builder()
+                    .index(acceptedIndexes.get(i))
+                    .reservation(mapper.toDto(saved.get(i)))
+                    .build());
+        }
+        results.sort(Comparator.comparingInt(ReservationBatchItemDTO::index));
+
+        return ReservationBatchResponseDTO.builder()
+                .created(saved.size())
+                .failed(items.size() - saved.size())
+                .items(results)
+                .build();
+    }
+
+    /**
+     * Loads the stays that already occupy the rooms of a batch. Only needed when other nodes may
+     * have booked them, otherwise the local index is up to date
+     */
+    private Map<UUID, List<StayInterval>> takenStays(List<ReservationCreateDTO> items, Set<UUID> roomIds) {
+        Map<UUID, List<StayInterval>> taken = new HashMap<>();
+        if (!roomLocks.isDistributed()) {
+            return taken;
+        }
+
+        LocalDate from = items.stream().map(ReservationCreateDTO::checkInDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate to = items.stream().map(ReservationCreateDTO::checkOutDate).max(Comparator.naturalOrder()).orElseThrow();
+        repository.findStayIntervals(roomIds, from, to, RoomAvailabilityIndex.ACTIVE_STATUSES)
+                .forEach(stay -> taken.computeIfAbsent(stay.roomId(), id -> new ArrayList<>()).add(stay));
+
+        return taken;
+    }
+
+    /**
+     * Checks one item of a batch against the stored and the already accepted stays, and sells its
+     * room type inventory when it can be booked
+     *
+     * @return error message, or null when the item can be booked
+     */
+    private String checkBatchItem(ReservationCreateDTO item, Map<UUID, Room> rooms, Map<UUID, Guest> guests,
+                                  Map<UUID, List<StayInterval>> taken) {
+        Room room = rooms.get(item.roomId());
+        if (room == null) {
+            return "Room not found";
+        }
+        if (!guests.containsKey(item.guestId())) {
+            return "Guest not found";
+        }
+
+        boolean overlaps = taken.getOrDefault(room.getId(), List.of())
+                .stream()
+                .anyMatch(stay -> stay.checkIn().isBefore(item.checkOutDate())
+                        && item.checkInDate().isBefore(stay.checkOut()));
+        if (overlaps || !availabilityIndex.isAvailable(room.getId(), item.checkInDate(), item.checkOutDate())) {
+            return "Room is not available for the selected dates";
+        }
+        if (!inventoryService.trySell(room.getHotel().getId(), room.getType(), item.checkInDate(), item.checkOutDate())) {
+            return "No rooms of type " + room.getType() + " left for the selected dates";
+        }
+
+        return null;
+    }
+
+    private Reservation book(Room room, Guest guest, LocalDate checkIn, LocalDate checkOut, Integer peopleCount) {
+        Reservation entity = Reservation.builder()
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .peopleCount(peopleCount)
+                .holdExpiresAt(holds.newDeadline())
+                .room(room)
+                .guest(guest)
+                .build();
+
+        Reservation saved = repository.saveAndFlush(entity);
+        availabilityIndex.register(saved);
+        holds.track(saved);
+
+        return saved;
+    }
+
+    /**
+     * Checks the local availability index first and, when other nodes may also book the room,
+     * confirms against the database while the room lock is held
+     */
+    private boolean isBookable(UUID roomId, LocalDate checkIn, LocalDate checkOut) {
+        if (!availabilityIndex.isAvailable(roomId, checkIn, checkOut)) {
+            return false;
+        }
+
+        return !roomLocks.isDistributed()
+                || !repository.existsOverlapping(roomId, checkIn, checkOut);
+    }
+
+    /**
+     * Return one page of reservations, ordered by check-in date and ID
+     *
+     * @param cursor cursor of the page, the first page when null
+     * @param size page size, the default size when null
+     * @return page of reservation DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor or the size is invalid
+     */
+    @Override
+    public CursorPageDTO<ReservationResponseDTO> findAll(String cursor, Integer size) {
+        int limit = cursors.pageSize(size);
+        Cursor after = cursors.decode(cursor);
+        List<ReservationResponseDTO> rows = after == null
+                ? repository.findPage(Limit.of(limit + 1))
+                : repository.findPageAfter(after.keyAsDate(), after.id(), Limit.of(limit + 1));
+
+        return cursors.page(rows, limit, Function.identity(),
+                ReservationResponseDTO::checkInDate, ReservationResponseDTO::id);
     }
 
     /**
@@ -78,8 +304,7 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public ReservationResponseDTO findById(UUID id) {
-        return repository.findById(id)
-                .map(mapper::toDto)
+        return repository.findResponseById(id)
                 .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
     }
 
@@ -90,14 +315,22 @@ public class ReservationServiceImpl implements ReservationService {
      * @param req DTO with payment data
      * @return DTO of the confirmed reservation
      * @throws EntityNotFoundException if reservation not found
+     * @throws IllegalStateException if the hold of the reservation has expired
+     * @throws OptimisticLockingFailureException if the reservation keeps changing concurrently
      */
     @Override
     @Transactional
+    @RetryOnConflict
     public ReservationResponseDTO confirmReservation(UUID id, PayReservationDTO req) {
         Reservation entity = repository.findById(id)
                 .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
 
+        if (entity.getHoldExpiresAt() != null && entity.getHoldExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalStateException("Reservation hold has expired");
+        }
+
         entity.getState().confirm(entity);
+        entity.setHoldExpiresAt(null);
 
         PaymentCreateDTO paymentCreateDTO = PaymentCreateDTO.builder()
                 .totalAmount(req.totalAmount())
@@ -109,26 +342,69 @@ public class ReservationServiceImpl implements ReservationService {
         Payment payment = paymentService.processPayment(paymentCreateDTO);
 
         entity.setPayment(payment);
+        availabilityIndex.register(entity);
+        statsService.recordStay(entity);
 
-        return mapper.toDto(repository.save(entity));
+        return mapper.toDto(repository.saveAndFlush(entity));
     }
 
     /**
-     * Cancel a reservation
+     * Cancel a reservation, refunding its payment when it was confirmed
      *
      * @param id reservation ID
      * @return DTO of the canceled reservation
      * @throws EntityNotFoundException if reservation not found
+     * @throws OptimisticLockingFailureException if the reservation keeps changing concurrently
      */
     @Override
     @Transactional
+    @RetryOnConflict
     public ReservationResponseDTO cancelReservation(UUID id) {
         Reservation entity = repository.findById(id)
                 .orElseThrow(() -> new ReservationNotFoundException("Reservation not found"));
+        boolean paid = entity.getStatus() == ReservationStatus.CONFIRMED && entity.getPayment() != null;
 
         entity.getState().cancel(entity);
+        if (paid) {
+            paymentService.refund(entity.getPayment());
+            statsService.reverseStay(entity);
+        }
+        availabilityIndex.release(entity);
+        inventoryService.release(entity.getRoom().getHotel().getId(), entity.getRoom().getType(),
+                entity.getCheckInDate(), entity.getCheckOutDate());
+
+        return mapper.toDto(repository.saveAndFlush(entity));
+    }
 
-        return mapper.toDto(repository.save(entity));
+    /**
+     * Cancels the PENDING reservations whose hold has run out. The entities go through their state
+     * and are flushed together, so Hibernate sends the UPDATEs as one JDBC batch
+     *
+     * @param ids IDs of reservations whose hold deadline has passed
+     * @return number of cancelled reservations
+     */
+    @Override
+    @Transactional
+    public int expireHolds(Collection<UUID> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Reservation> expired = repository.findAllWithDetailsById(ids)
+                .stream()
+                .filter(reservation -> reservation.getStatus() == ReservationStatus.PENDING)
+                .filter(reservation -> reservation.getHoldExpiresAt() != null
+                        && !reservation.getHoldExpiresAt().isAfter(now))
+                .toList();
+
+        for (Reservation reservation : expired) {
+            reservation.getState().cancel(reservation);
+            availabilityIndex.release(reservation);
+            inventoryService.release(reservation.getRoom().getHotel().getId(), reservation.getRoom().getType(),
+                    reservation.getCheckInDate(), reservation.getCheckOutDate());
+        }
+
+        repository.saveAll(expired);
+        repository.flush();
+
+        return expired.size();
     }
 
     /**
@@ -142,10 +418,7 @@ public class ReservationServiceImpl implements ReservationService {
             throw new EntityNotFoundException("Room not found");
         }
 
-        return repository.findReservationsByRoom(roomId)
-                .stream()
-                .map(mapper::toDto)
-                .toList();
+        return repository.findResponsesByRoom(roomId);
     }
 
     /**
@@ -155,9 +428,43 @@ public class ReservationServiceImpl implements ReservationService {
      */
     @Override
     public Map<ReservationStatus, List<ReservationResponseDTO>> getReservationsGroupedByPaymentMethod() {
-        return repository.findAll()
+        return repository.findAllResponses()
                 .stream()
-                .map(mapper::toDto)
                 .collect(Collectors.groupingBy(ReservationResponseDTO::status));
     }
+
+    /**
+     * Return the count and payment total of every group of reservations, computed by the database
+     *
+     * @param grouping attribute to group by
+     * @param pageSize when set, each group also carries its first page of reservations
+     * @return one DTO per group
+     * @throws IllegalArgumentException if the page size is invalid
+     */
+    @Override
+    public List<ReservationGroupDTO> summarize(ReservationGrouping grouping, Integer pageSize) {
+        List<ReservationGroupTotal> totals = grouping == ReservationGrouping.STATUS
+                ? repository.sumByStatus()
+                : repository.sumByPaymentMethod();
+        Limit limit = pageSize == null ? null : Limit.of(cursors.pageSize(pageSize));
+
+        return totals.stream()
+                .map(total -> ReservationGroupDTO.builder()
+                        .key(total.key())
+                        .count(total.count())
+                        .totalAmount(total.totalAmount())
+                        .firstPage(limit == null ? null : firstPage(grouping, total.key(), limit))
+                        .build())
+                .toList();
+    }
+
+    private List<ReservationResponseDTO> firstPage(ReservationGrouping grouping, String key, Limit limit) {
+        if (grouping == ReservationGrouping.STATUS) {
+            return repository.findPageByStatus(ReservationStatus.valueOf(key), limit);
+        }
+
+        return key == null
+                ? repository.findUnpaidPage(limit)
+                : repository.findPageByPaymentMethod(PaymentMethod.valueOf(key), limit);
+    }
 }
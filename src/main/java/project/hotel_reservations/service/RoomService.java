@@ -1,9 +1,12 @@
 package project.hotel_reservations.service;
 
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.room.RoomCreateDTO;
 import project.hotel_reservations.dto.room.RoomResponseDTO;
+import project.hotel_reservations.dto.room.RoomSearchDTO;
 import project.hotel_reservations.dto.room.RoomUpdateDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -11,7 +14,7 @@ public interface RoomService {
 
     RoomResponseDTO create(RoomCreateDTO req);
 
-    List<RoomResponseDTO> findAll();
+    CursorPageDTO<RoomResponseDTO> findAll(String cursor, Integer size);
 
     RoomResponseDTO findById(UUID id);
 
@@ -24,4 +27,8 @@ public interface RoomService {
     List<RoomResponseDTO> findByHotelId(UUID hotelId);
 
     List<RoomResponseDTO> findAvailableRooms(UUID hotelId);
+
+    List<RoomResponseDTO> findAvailableRooms(UUID hotelId, LocalDate checkIn, LocalDate checkOut, Integer guests);
+
+    CursorPageDTO<RoomResponseDTO> search(RoomSearchDTO criteria, String cursor, Integer size);
 }
@@ -2,18 +2,36 @@ package project.hotel_reservations.service;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
+import project.hotel_reservations.config.CacheConfig;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.room.RoomCreateDTO;
 import project.hotel_reservations.dto.room.RoomResponseDTO;
+import project.hotel_reservations.dto.room.RoomSearchDTO;
+import project.hotel_reservations.dto.room.RoomSort;
 import project.hotel_reservations.dto.room.RoomUpdateDTO;
 import project.hotel_reservations.mapper.RoomMapper;
 import project.hotel_reservations.model.Hotel;
 import project.hotel_reservations.model.Room;
+import project.hotel_reservations.pagination.Cursor;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.HotelRepository;
 import project.hotel_reservations.repository.RoomRepository;
+import project.hotel_reservations.repository.RoomSpecifications;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -23,6 +41,10 @@ public class RoomServiceImpl implements RoomService {
     private final RoomRepository repository;
     private final HotelRepository hotelRepository;
     private final RoomMapper mapper;
+    private final RoomAvailabilityIndex availabilityIndex;
+    private final InventoryService inventoryService;
+    private final CursorCodec cursors;
+    private final HotelStatsService statsService;
 
     /**
      * Creates a new room
@@ -46,20 +68,30 @@ public class RoomServiceImpl implements RoomService {
 
         entity.setHotel(hotel);
 
-        return mapper.toDto(repository.save(entity));
+        Room saved = repository.save(entity);
+        inventoryService.changeRoomCount(hotel.getId(), saved.getType(), 1);
+        statsService.changeRoomCount(hotel.getId(), 1);
+
+        return mapper.toDto(saved);
     }
 
     /**
-     * Return all rooms
+     * Return one page of rooms, ordered by code and ID
      *
-     * @return List of room DTOs
+     * @param cursor cursor of the page, the first page when null
+     * @param size page size, the default size when null
+     * @return page of room DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the cursor or the size is invalid
      */
     @Override
-    public List<RoomResponseDTO> findAll() {
-        return repository.findAll()
-                .stream()
-                .map(mapper::toDto)
-                .toList();
+    public CursorPageDTO<RoomResponseDTO> findAll(String cursor, Integer size) {
+        int limit = cursors.pageSize(size);
+        Cursor after = cursors.decode(cursor);
+        List<Room> rows = after == null
+                ? repository.findPage(Limit.of(limit + 1))
+                : repository.findPageAfter(after.key(), after.id(), Limit.of(limit + 1));
+
+        return cursors.page(rows, limit, mapper::toDto, Room::getCode, Room::getId);
     }
 
     /**
@@ -70,6 +102,7 @@ public class RoomServiceImpl implements RoomService {
      * @throws EntityNotFoundException if room not found
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.ROOMS, key = "#id")
     public RoomResponseDTO findById(UUID id) {
         return repository.findById(id)
                 .map(mapper::toDto)
@@ -85,27 +118,47 @@ public class RoomServiceImpl implements RoomService {
      * @throws EntityNotFoundException if room not found
      */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ROOMS, key = "#id")
     public RoomResponseDTO update(UUID id, RoomUpdateDTO req) {
         Room entity = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Room not found"));
 
+        String previousType = entity.getType();
+        boolean wasBookable = Boolean.TRUE.equals(entity.getAvailable());
         mapper.toEntity(req, entity);
+        boolean bookable = Boolean.TRUE.equals(entity.getAvailable());
+
+        // the type counters only count rooms that can be booked
+        if (wasBookable != bookable || bookable && !Objects.equals(previousType, entity.getType())) {
+            if (wasBookable) {
+                inventoryService.changeRoomCount(entity.getHotel().getId(), previousType, -1);
+            }
+            if (bookable) {
+                inventoryService.changeRoomCount(entity.getHotel().getId(), entity.getType(), 1);
+            }
+        }
 
         return mapper.toDto(repository.save(entity));
     }
 
     /**
-     * Deletes a room by ID
+     * Deletes a room by ID. The row stays behind, flagged as deleted, so its cached copy is evicted
      *
      * @param id room ID
      */
     @Override
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ROOMS, key = "#id")
     public void softDelete(UUID id) {
-        if (!repository.existsById(id)) {
-            throw new EntityNotFoundException("Room not found");
-        }
+        Room entity = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Room not found"));
 
-        repository.deleteById(id);
+        repository.delete(entity);
+        if (Boolean.TRUE.equals(entity.getAvailable())) {
+            inventoryService.changeRoomCount(entity.getHotel().getId(), entity.getType(), -1);
+        }
+        statsService.changeRoomCount(entity.getHotel().getId(), -1);
     }
 
     /**
@@ -154,4 +207,92 @@ public class RoomServiceImpl implements RoomService {
                 .map(mapper::toDto)
                 .toList();
     }
+
+    /**
+     * Return the rooms of a hotel that are free for a stay and can hold the guests
+     *
+     * @param hotelId hotel ID
+     * @param checkIn first night of the stay
+     * @param checkOut departure day
+     * @param guests number of guests, defaults to 1
+     * @return List of room DTOs
+     * @throws EntityNotFoundException if hotel not found
+     * @throws IllegalArgumentException if the date range is invalid
+     */
+    @Override
+    public List<RoomResponseDTO> findAvailableRooms(UUID hotelId, LocalDate checkIn, LocalDate checkOut, Integer guests) {
+        if (checkIn == null || checkOut == null || !checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("The check-out date must be later than the check-in date");
+        }
+        if (!hotelRepository.existsById(hotelId)) {
+            throw new EntityNotFoundException("Hotel not found");
+        }
+
+        List<Room> candidates = repository.findAvailableRoomsWithCapacity(hotelId, guests != null ? guests : 1);
+        Set<UUID> free = new HashSet<>(availabilityIndex.filterAvailable(
+                candidates.stream().map(Room::getId).toList(), checkIn, checkOut));
+
+        return candidates.stream()
+                .filter(room -> free.contains(room.getId()))
+                .map(mapper::toDto)
+                .toList();
+    }
+
+    /**
+     * Return one page of the rooms matching every given criterion, across hotels.
+     * The criteria become a single query, rooms booked over the stay are excluded by the database
+     *
+     * @param criteria search criteria, null fields are ignored
+     * @param cursor cursor of the page, the first page when null
+     * @param size page size, the default size when null
+     * @return page of room DTOs with the cursor of the next page
+     * @throws IllegalArgumentException if the price or date range, the cursor or the size is invalid
+     */
+    @Override
+    public CursorPageDTO<RoomResponseDTO> search(RoomSearchDTO criteria, String cursor, Integer size) {
+        if (criteria.minPrice() != null && criteria.maxPrice() != null
+                && criteria.minPrice().compareTo(criteria.maxPrice()) > 0) {
+            throw new IllegalArgumentException("The minimum price must not exceed the maximum price");
+        }
+        if ((criteria.checkIn() == null) != (criteria.checkOut() == null)
+                || (criteria.checkIn() != null && !criteria.checkOut().isAfter(criteria.checkIn()))) {
+            throw new IllegalArgumentException("The check-out date must be later than the check-in date");
+        }
+
+        int limit = cursors.pageSize(size);
+        Cursor after = cursors.decode(cursor);
+        RoomSort sort = criteria.sort() != null ? criteria.sort() : RoomSort.PRICE;
+        Sort.Direction direction = criteria.direction() != null ? criteria.direction() : Sort.Direction.ASC;
+
+        List<Specification<Room>> specs = new ArrayList<>();
+        specs.add(RoomSpecifications.bookable());
+        if (criteria.hotelId() != null) {
+            specs.add(RoomSpecifications.inHotel(criteria.hotelId()));
+        }
+        if (criteria.type() != null) {
+            specs.add(RoomSpecifications.ofType(criteria.type()));
+        }
+        if (criteria.guests() != null) {
+            specs.add(RoomSpecifications.holding(criteria.guests()));
+        }
+        if (criteria.minPrice() != null) {
+            specs.add(RoomSpecifications.priceFrom(criteria.minPrice()));
+        }
+        if (criteria.maxPrice() != null) {
+            specs.add(RoomSpecifications.priceUpTo(criteria.maxPrice()));
+        }
+        if (criteria.checkIn() != null) {
+            specs.add(RoomSpecifications.freeBetween(criteria.checkIn(), criteria.checkOut()));
+        }
+        if (after != null) {
+            specs.add(RoomSpecifications.after(sort, direction, sort.keyOf(after), after.id()));
+        }
+
+        List<Room> rows = repository.findBy(Specification.allOf(specs), query -> query
+                .sortBy(Sort.by(direction, sort.property(), "id"))
+                .limit(limit + 1)
+                .all());
+
+        return cursors.page(rows, limit, mapper::toDto, sort::keyOf, Room::getId);
+    }
 }
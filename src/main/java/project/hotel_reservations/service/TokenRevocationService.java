@@ -0,0 +1,14 @@
+package project.hotel_reservations.service;
+
+import java.time.LocalDateTime;
+
+public interface TokenRevocationService {
+
+    void revoke(String jti, LocalDateTime expiresAt);
+
+    boolean isRevoked(String jti);
+
+    void refresh();
+
+    void rebuild();
+}
@@ -0,0 +1,130 @@
+package project.hotel_reservations.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import project.hotel_reservations.model.RevokedToken;
+import project.hotel_reservations.repository.RevokedTokenRepository;
+import project.hotel_reservations.security.BloomFilter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the revoked_tokens table behind an in-memory Bloom filter of their jti. A token the filter
+ * has never seen is accepted without touching the database; only possible hits are looked up, and
+ * the answer is cached. The filter picks up revocations made on other nodes every refresh interval
+ * and is rebuilt from the table, without the expired rows, every rebuild interval
+ */
+@Slf4j
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    /**
+     * Revocations are read again for this long after the last refresh, so rows committed late
+     * or stamped by a node with a slower clock are not missed
+     */
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository repository;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+    private final Cache<String, Boolean> lookups;
+
+    private volatile BloomFilter filter;
+    private LocalDateTime refreshedAt;
+
+    public TokenRevocationServiceImpl(RevokedTokenRepository repository,
+                                      @Value("${security.jwt.revocation.expected-tokens:100000}") long expectedTokens,
+                                      @Value("${security.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                      @Value("${security.jwt.revocation.refresh-ms:5000}") long refreshMillis) {
+        this.repository = repository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.lookups = Caffeine.newBuilder()
+                .maximumSize(expectedTokens)
+                .expireAfterWrite(Duration.ofMillis(refreshMillis))
+                .build();
+        this.filter = BloomFilter.create(expectedTokens, falsePositiveRate);
+    }
+
+    /**
+     * Revokes a token, it is rejected on this node right away and on the others after their next refresh
+     *
+     * @param jti id of the token
+     * @param expiresAt expiration of the token, the revocation is kept until then
+     * @throws IllegalArgumentException if the id is blank or the token already expired
+     */
+    @Override
+    public synchronized void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null || jti.isBlank()) {
+            throw new IllegalArgumentException("Token id must not be empty");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!expiresAt.isAfter(now)) {
+            throw new IllegalArgumentException("Token already expired");
+        }
+
+        repository.save(RevokedToken.builder()
+                .jti(jti)
+                .revokedAt(now)
+                .expiresAt(expiresAt)
+                .build());
+        filter.put(jti);
+        lookups.put(jti, true);
+        log.info("Token revoked. jti={}", jti);
+    }
+
+    /**
+     * Return whether a token was revoked
+     *
+     * @param jti id of the token
+     * @return true if the token is in the revocation list
+     */
+    @Override
+    public boolean isRevoked(String jti) {
+        if (!filter.mightContain(jti)) {
+            return false;
+        }
+        return lookups.get(jti, repository::existsById);
+    }
+
+    /**
+     * Adds the revocations made since the last refresh, on any node, to the filter
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.refresh-ms:5000}",
+            initialDelayString = "${security.jwt.revocation.refresh-ms:5000}")
+    public synchronized void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        List<String> revoked = repository.findJtisRevokedSince(refreshedAt.minus(REFRESH_OVERLAP), now);
+        BloomFilter current = filter;
+        revoked.forEach(current::put);
+        refreshedAt = now;
+    }
+
+    /**
+     * Deletes the revocations of expired tokens and rebuilds the filter from the rest, sized for
+     * at least twice as many tokens as are revoked now
+     */
+    @Override
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.rebuild-ms:3600000}",
+            initialDelayString = "${security.jwt.revocation.rebuild-ms:3600000}")
+    public synchronized void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = repository.deleteExpired(now);
+        List<String> revoked = repository.findActiveJtis(now);
+
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedTokens, 2L * revoked.size()), falsePositiveRate);
+        revoked.forEach(rebuilt::put);
+        filter = rebuilt;
+        refreshedAt = now;
+        log.info("Revocation filter rebuilt. revoked={}, purged={}", revoked.size(), deleted);
+    }
+}
@@ -0,0 +1,33 @@
+package project.hotel_reservations.stats;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import project.hotel_reservations.service.HotelStatsService;
+
+import java.time.LocalDate;
+
+/**
+ * Opens the rollup days of every hotel ahead of time, so days without stays still report their rooms
+ */
+@Slf4j
+@Component
+public class HotelStatsScheduler {
+
+    private final HotelStatsService statsService;
+    private final int daysAhead;
+
+    public HotelStatsScheduler(HotelStatsService statsService,
+                               @Value("${hotels.stats.open-days-ahead:90}") int daysAhead) {
+        this.statsService = statsService;
+        this.daysAhead = daysAhead;
+    }
+
+    @Scheduled(cron = "${hotels.stats.open-cron:0 5 0 * * *}")
+    public void openDays() {
+        LocalDate today = LocalDate.now();
+        statsService.openDays(today, today.plusDays(daysAhead));
+        log.info("Hotel stats days opened. from={}, days={}", today, daysAhead);
+    }
+}
@@ -2,16 +2,16 @@ package project.hotel_reservations.validation.validator;
 
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
-import project.hotel_reservations.dto.reservation.ReservationCreateDTO;
+import project.hotel_reservations.dto.reservation.StayDates;
 import project.hotel_reservations.validation.annotation.ValidDateRange;
 
-public class DateRangeValidator implements ConstraintValidator<ValidDateRange, ReservationCreateDTO> {
+public class DateRangeValidator implements ConstraintValidator<ValidDateRange, StayDates> {
     @Override
-    public boolean isValid(ReservationCreateDTO reservationCreateDTO, ConstraintValidatorContext constraintValidatorContext) {
-        if (reservationCreateDTO.checkInDate() == null || reservationCreateDTO.checkOutDate() == null) {
+    public boolean isValid(StayDates stayDates, ConstraintValidatorContext constraintValidatorContext) {
+        if (stayDates.checkInDate() == null || stayDates.checkOutDate() == null) {
             return true;
         }
 
-        return reservationCreateDTO.checkOutDate().isAfter(reservationCreateDTO.checkInDate());
+        return stayDates.checkOutDate().isAfter(stayDates.checkInDate());
     }
 }
@@ -0,0 +1,84 @@
+-- Runs after Hibernate updates the schema (spring.jpa.defer-datasource-initialization).
+-- Statements are separated by @@ because the DO block contains semicolons.
+
+CREATE EXTENSION IF NOT EXISTS btree_gist
+@@
+
+ALTER TABLE reservations
+    ADD COLUMN IF NOT EXISTS stay daterange
+    GENERATED ALWAYS AS (daterange(check_in_date, check_out_date, '[)')) STORED
+@@
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'reservations_no_overlap') THEN
+        ALTER TABLE reservations
+            ADD CONSTRAINT reservations_no_overlap
+            EXCLUDE USING gist (room_id WITH =, stay WITH &&)
+            WHERE (status <> 'CANCELLED');
+    END IF;
+END
+$$
+@@
+
+-- Idempotency keys carry the scope and the caller, widened from 512 for long subjects
+ALTER TABLE idempotency_records ALTER COLUMN idempotency_key TYPE varchar(1024)
+@@
+
+INSERT INTO hotel_earnings (hotel_id, total_amount, payment_count, updated_at)
+SELECT h.id, COALESCE(SUM(p.total_amount), 0), COUNT(p.id), now()
+FROM hotels h
+LEFT JOIN rooms ro ON ro.hotel_id = h.id
+LEFT JOIN reservations r ON r.room_id = ro.id AND r.status <> 'CANCELLED'
+LEFT JOIN payments p ON p.reservation_id = r.id
+GROUP BY h.id
+ON CONFLICT (hotel_id) DO NOTHING
+@@
+
+-- Room search (RoomSpecifications). Equality columns first, then the sort key and the ID tie-breaker,
+-- so a search within a hotel and type reads the index in page order and stops after one page.
+-- Capacity is only filtered, it rides along in INCLUDE.
+CREATE INDEX IF NOT EXISTS idx_rooms_search_hotel_type_price
+    ON rooms (hotel_id, type, price, id) INCLUDE (capacity)
+    WHERE deleted = false AND available = true
+@@
+
+CREATE INDEX IF NOT EXISTS idx_rooms_search_type_price
+    ON rooms (type, price, id) INCLUDE (capacity, hotel_id)
+    WHERE deleted = false AND available = true
+@@
+
+-- Overlap probe of the date filter: answered from the index alone, cancelled stays are not indexed
+CREATE INDEX IF NOT EXISTS idx_reservations_room_dates
+    ON reservations (room_id, check_in_date, check_out_date)
+    WHERE status <> 'CANCELLED'
+@@
+
+-- Hotel search (HotelRepository.search): prefix full-text over name and address, fuzzy match on the name
+CREATE EXTENSION IF NOT EXISTS pg_trgm
+@@
+
+ALTER TABLE hotels
+    ADD COLUMN IF NOT EXISTS search tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(address, '')), 'B')
+    ) STORED
+@@
+
+CREATE INDEX IF NOT EXISTS idx_hotels_search ON hotels USING gin (search)
+@@
+
+CREATE INDEX IF NOT EXISTS idx_hotels_name_trgm ON hotels USING gin (name gin_trgm_ops)
+@@
+
+-- Durable radius search (HotelRepository.findNearby) when hotels.geo.in-memory is off
+CREATE EXTENSION IF NOT EXISTS cube
+@@
+
+CREATE EXTENSION IF NOT EXISTS earthdistance
+@@
+
+CREATE INDEX IF NOT EXISTS idx_hotels_location ON hotels USING gist (ll_to_earth(latitude, longitude))
+    WHERE latitude IS NOT NULL AND longitude IS NOT NULL
+@@
@@ -0,0 +1,130 @@
+package project.hotel_reservations.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.model.Room;
+import project.hotel_reservations.repository.ReservationRepository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RoomAvailabilityIndexTest {
+
+    private static final LocalDate BASE = LocalDate.now();
+
+    @Mock
+    private ReservationRepository repository;
+
+    @InjectMocks
+    private RoomAvailabilityIndex index;
+
+    private UUID roomId;
+
+    @BeforeEach
+    void setup() {
+        roomId = UUID.randomUUID();
+    }
+
+    private Reservation reservation(UUID id, int fromDay, int toDay) {
+        return Reservation.builder()
+                .id(id)
+                .room(Room.builder().id(roomId).build())
+                .checkInDate(BASE.plusDays(fromDay))
+                .checkOutDate(BASE.plusDays(toDay))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Warm up loads active stays from the repository")
+    void shouldWarmUpFromRepository() {
+        when(repository.findStayIntervals(any())).thenReturn(List.of(
+                new StayInterval(UUID.randomUUID(), roomId, BASE, BASE.plusDays(3))
+        ));
+
+        index.warmUp();
+
+        assertFalse(index.isAvailable(roomId, BASE.plusDays(2), BASE.plusDays(4)));
+        assertTrue(index.isAvailable(roomId, BASE.plusDays(3), BASE.plusDays(5)));
+        assertTrue(index.isAvailable(UUID.randomUUID(), BASE, BASE.plusDays(3)));
+    }
+
+    @Test
+    @DisplayName("Check-out day is free for the next check-in")
+    void shouldTreatCheckOutAsExclusive() {
+        index.register(reservation(UUID.randomUUID(), 5, 8));
+
+        assertTrue(index.isAvailable(roomId, BASE.plusDays(8), BASE.plusDays(9)));
+        assertTrue(index.isAvailable(roomId, BASE.plusDays(1), BASE.plusDays(5)));
+        assertFalse(index.isAvailable(roomId, BASE.plusDays(7), BASE.plusDays(9)));
+        assertFalse(index.isAvailable(roomId, BASE, BASE.plusDays(20)));
+    }
+
+    @Test
+    @DisplayName("Released reservations free their nights")
+    void shouldReleaseReservation() {
+        Reservation reservation = reservation(UUID.randomUUID(), 0, 2);
+        index.register(reservation);
+        index.register(reservation);
+
+        index.release(reservation);
+
+        assertTrue(index.isAvailable(roomId, BASE, BASE.plusDays(2)));
+    }
+
+    @Test
+    @DisplayName("Overlap answers match a linear scan after random inserts and removals")
+    void shouldMatchLinearScan() {
+        Random random = new Random(42);
+        List<Reservation> active = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            if (!active.isEmpty() && random.nextInt(3) == 0) {
+                index.release(active.remove(random.nextInt(active.size())));
+            } else {
+                int from = random.nextInt(1_000);
+                Reservation added = reservation(UUID.randomUUID(), from, from + 1 + random.nextInt(10));
+                active.add(added);
+                index.register(added);
+            }
+
+            int from = random.nextInt(1_000);
+            LocalDate checkIn = BASE.plusDays(from);
+            LocalDate checkOut = checkIn.plusDays(1 + random.nextInt(10));
+            boolean expected = active.stream().noneMatch(r ->
+                    r.getCheckInDate().isBefore(checkOut) && checkIn.isBefore(r.getCheckOutDate()));
+
+            assertEquals(expected, index.isAvailable(roomId, checkIn, checkOut));
+        }
+    }
+
+    @Test
+    @DisplayName("Rolling the horizon forward keeps far-future stays and drops past nights")
+    void shouldRollHorizon() {
+        RoomCalendar calendar = new RoomCalendar(0);
+        calendar.add(UUID.randomUUID(), 10, 12, 0);
+        calendar.add(UUID.randomUUID(), 900, 905, 0);
+
+        assertFalse(calendar.isFree(10, 11, 0));
+        assertFalse(calendar.isFree(903, 904, 0));
+
+        long later = 800;
+        assertTrue(calendar.isFree(later, later + 5, later));
+        assertFalse(calendar.isFree(902, 903, later));
+        assertTrue(calendar.isFree(905, 910, later));
+        assertTrue(calendar.isFree(10 + 768, 12 + 768, later));
+    }
+}
@@ -0,0 +1,214 @@
+package project.hotel_reservations.concurrency;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
+import project.hotel_reservations.dto.reservation.ReservationCreateDTO;
+import project.hotel_reservations.hold.ReservationHoldScheduler;
+import project.hotel_reservations.mapper.ReservationMapper;
+import project.hotel_reservations.model.Guest;
+import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.model.Room;
+import project.hotel_reservations.pagination.CursorCodec;
+import project.hotel_reservations.repository.GuestRepository;
+import project.hotel_reservations.repository.HotelRepository;
+import project.hotel_reservations.repository.ReservationRepository;
+import project.hotel_reservations.repository.RoomRepository;
+import project.hotel_reservations.service.HotelStatsService;
+import project.hotel_reservations.service.InventoryService;
+import project.hotel_reservations.service.PaymentService;
+import project.hotel_reservations.service.ReservationServiceImpl;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * Fires concurrent bookings through ReservationServiceImpl with in-memory collaborators
+ * and a no-op transaction manager, so locks and after-commit callbacks run as in production
+ */
+public class RoomLockManagerStressTest {
+
+    private static final int THREADS = 16;
+    private static final int BOOKINGS = 4_000;
+    private static final String UNAVAILABLE = "Room is not available for the selected dates";
+
+    private ReservationServiceImpl service;
+    private TransactionTemplate transactions;
+    private Guest guest;
+    private AtomicInteger advisoryLocks;
+
+    @BeforeEach
+    void setup() {
+        ReservationRepository repository = mock(ReservationRepository.class, withSettings().stubOnly());
+        RoomRepository roomRepository = mock(RoomRepository.class, withSettings().stubOnly());
+        GuestRepository guestRepository = mock(GuestRepository.class, withSettings().stubOnly());
+        EntityManager entityManager = mock(EntityManager.class, withSettings().stubOnly());
+        Query advisoryQuery = mock(Query.class, withSettings().stubOnly());
+
+        guest = Guest.builder().id(UUID.randomUUID()).build();
+
+        when(repository.saveAndFlush(any(Reservation.class))).thenAnswer(invocation -> {
+            Reservation reservation = invocation.getArgument(0);
+            reservation.setId(UUID.randomUUID());
+            return reservation;
+        });
+        Hotel hotel = Hotel.builder().id(UUID.randomUUID()).build();
+        when(roomRepository.findById(any(UUID.class))).thenAnswer(invocation ->
+                Optional.of(Room.builder().id(invocation.getArgument(0)).type("suite").hotel(hotel).build()));
+        when(guestRepository.findById(guest.getId())).thenReturn(Optional.of(guest));
+
+        advisoryLocks = new AtomicInteger();
+        when(advisoryQuery.setParameter(anyInt(), any())).thenReturn(advisoryQuery);
+        when(entityManager.createNativeQuery("SELECT pg_advisory_xact_lock(?1)")).thenAnswer(invocation -> {
+            advisoryLocks.incrementAndGet();
+            return advisoryQuery;
+        });
+
+        service = new ReservationServiceImpl(
+                repository,
+                roomRepository,
+                guestRepository,
+                mock(HotelRepository.class, withSettings().stubOnly()),
+                mock(ReservationMapper.class, withSettings().stubOnly()),
+                mock(PaymentService.class, withSettings().stubOnly()),
+                new RoomAvailabilityIndex(repository),
+                new RoomLockManager(entityManager, 1024, true, 30_000),
+                mock(InventoryService.class, withSettings().stubOnly()),
+                mock(ReservationHoldScheduler.class, withSettings().stubOnly()),
+                new CursorCodec(50, 500),
+                mock(HotelStatsService.class, withSettings().stubOnly())
+        );
+        transactions = new TransactionTemplate(new NoOpTransactionManager());
+    }
+
+    @Test
+    @DisplayName("Concurrent overlapping bookings of one room never double-book")
+    void shouldNeverDoubleBook() throws Exception {
+        UUID roomId = UUID.randomUUID();
+        LocalDate start = LocalDate.now().plusDays(1);
+        List<ReservationCreateDTO> requests = new ArrayList<>();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < BOOKINGS; i++) {
+            LocalDate checkIn = start.plusDays(random.nextInt(120));
+            requests.add(request(roomId, checkIn, checkIn.plusDays(1 + random.nextInt(5))));
+        }
+
+        List<ReservationCreateDTO> accepted = book(requests).accepted();
+        accepted.sort(Comparator.comparing(ReservationCreateDTO::checkInDate));
+
+        assertFalse(accepted.isEmpty());
+        for (int i = 1; i < accepted.size(); i++) {
+            assertFalse(accepted.get(i).checkInDate().isBefore(accepted.get(i - 1).checkOutDate()),
+                    "Double booking between " + accepted.get(i - 1) + " and " + accepted.get(i));
+        }
+        assertEquals(BOOKINGS, advisoryLocks.get());
+    }
+
+    @Test
+    @DisplayName("Bookings of unrelated rooms do not contend")
+    void shouldBookUnrelatedRoomsInParallel(TestReporter reporter) throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        List<ReservationCreateDTO> requests = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            requests.add(request(UUID.randomUUID(), checkIn, checkIn.plusDays(3)));
+        }
+
+        Result result = book(requests);
+
+        assertEquals(BOOKINGS, result.accepted().size());
+        assertEquals(BOOKINGS, advisoryLocks.get());
+        reporter.publishEntry(Map.of(
+                "bookings", String.valueOf(BOOKINGS),
+                "threads", String.valueOf(THREADS),
+                "elapsedMillis", String.valueOf(result.elapsedMillis()),
+                "bookingsPerSecond", String.valueOf(BOOKINGS * 1000L / Math.max(result.elapsedMillis(), 1))));
+    }
+
+    private ReservationCreateDTO request(UUID roomId, LocalDate checkIn, LocalDate checkOut) {
+        return ReservationCreateDTO.builder()
+                .checkInDate(checkIn)
+                .checkOutDate(checkOut)
+                .peopleCount(1)
+                .roomId(roomId)
+                .guestId(guest.getId())
+                .build();
+    }
+
+    private Result book(List<ReservationCreateDTO> requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<ReservationCreateDTO> accepted = new CopyOnWriteArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (ReservationCreateDTO request : requests) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    transactions.executeWithoutResult(status -> service.create(request));
+                    accepted.add(request);
+                } catch (IllegalStateException e) {
+                    // only a booked room may reject, a lock timeout fails the test
+                    if (!UNAVAILABLE.equals(e.getMessage())) {
+                        throw e;
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+        executor.shutdown();
+
+        return new Result(new ArrayList<>(accepted), elapsedMillis);
+    }
+
+    private record Result(List<ReservationCreateDTO> accepted, long elapsedMillis) {
+    }
+
+    private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package project.hotel_reservations.concurrency;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RoomLockManagerTest {
+
+    private static final String ADVISORY_LOCK = "SELECT pg_advisory_xact_lock(?1)";
+
+    private EntityManager entityManager;
+    private Query query;
+
+    @BeforeEach
+    void setup() {
+        entityManager = mock(EntityManager.class);
+        query = mock(Query.class);
+        when(entityManager.createNativeQuery(ADVISORY_LOCK)).thenReturn(query);
+        when(query.setParameter(anyInt(), any())).thenReturn(query);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Take one advisory lock per room, in key order")
+    void shouldTakeAdvisoryLocksInOrder() {
+        UUID first = new UUID(5, 1);
+        UUID second = new UUID(1, 1);
+        RoomLockManager locks = new RoomLockManager(entityManager, 16, true, 1_000);
+
+        locks.lockRooms(List.of(first, second, first));
+
+        ArgumentCaptor<Object> keys = ArgumentCaptor.forClass(Object.class);
+        verify(entityManager, times(2)).createNativeQuery(ADVISORY_LOCK);
+        verify(query, times(2)).setParameter(eq(1), keys.capture());
+        verify(query, times(2)).getSingleResult();
+        assertEquals(List.of(0L, 4L), keys.getAllValues());
+        assertTrue(locks.isDistributed());
+        complete();
+    }
+
+    @Test
+    @DisplayName("Skip advisory locks on a single node")
+    void shouldSkipAdvisoryLocksWhenDisabled() {
+        RoomLockManager locks = new RoomLockManager(entityManager, 16, false, 1_000);
+
+        locks.lockRoom(UUID.randomUUID());
+
+        verify(entityManager, never()).createNativeQuery(anyString());
+        assertFalse(locks.isDistributed());
+        complete();
+    }
+
+    @Test
+    @DisplayName("Hold the room until the transaction completes")
+    void shouldHoldRoomUntilCompletion() throws Exception {
+        UUID roomId = UUID.randomUUID();
+        RoomLockManager locks = new RoomLockManager(entityManager, 16, false, 50);
+        locks.lockRoom(roomId);
+
+        ExecutionException busy = assertThrows(ExecutionException.class,
+                () -> lockInOtherTransaction(locks, roomId).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, busy.getCause());
+        assertEquals("Room is busy, please try again", busy.getCause().getMessage());
+
+        complete();
+        lockInOtherTransaction(locks, roomId).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Reject locking outside a transaction")
+    void shouldRequireTransaction() {
+        TransactionSynchronizationManager.clearSynchronization();
+        RoomLockManager locks = new RoomLockManager(entityManager, 16, true, 1_000);
+
+        assertThrows(IllegalStateException.class, () -> locks.lockRoom(UUID.randomUUID()));
+        verifyNoInteractions(entityManager);
+    }
+
+    private CompletableFuture<Void> lockInOtherTransaction(RoomLockManager locks, UUID roomId) {
+        return CompletableFuture.runAsync(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                locks.lockRoom(roomId);
+            } finally {
+                complete();
+            }
+        });
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+}
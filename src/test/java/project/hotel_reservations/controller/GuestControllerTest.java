@@ -15,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import project.hotel_reservations.dto.guest.GuestCreateDTO;
 import project.hotel_reservations.dto.guest.GuestResponseDTO;
 import project.hotel_reservations.dto.guest.GuestUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.security.JwtService;
 import project.hotel_reservations.service.GuestService;
 
@@ -78,11 +79,13 @@ public class GuestControllerTest {
                 id, null, "Juan", null, null, null, null, null
         );
 
-        when(service.findAll()).thenReturn(List.of(dto));
+        when(service.findAll(null, null)).thenReturn(
+                CursorPageDTO.<GuestResponseDTO>builder().items(List.of(dto)).build()
+        );
 
         mockMvc.perform(get("/guests"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("Juan"));
+                .andExpect(jsonPath("$.items[0].name").value("Juan"));
     }
 
     @Test
@@ -15,6 +15,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminCreateDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminResponseDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.security.JwtService;
 import project.hotel_reservations.model.HotelAdminShift;
 import project.hotel_reservations.service.HotelAdminService;
@@ -86,11 +87,13 @@ public class HotelAdminControllerTest {
                 .name("Usuario")
                 .build();
 
-        when(service.findAll()).thenReturn(List.of(dto));
+        when(service.findAll(null, null)).thenReturn(
+                CursorPageDTO.<HotelAdminResponseDTO>builder().items(List.of(dto)).build()
+        );
 
         mockMvc.perform(get("/hotel-admins"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("Usuario"));
+                .andExpect(jsonPath("$.items[0].name").value("Usuario"));
     }
 
     @Test
@@ -12,10 +12,18 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.http.MediaType;
 import project.hotel_reservations.dto.hotel.HotelCreateDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbyDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbySearchDTO;
 import project.hotel_reservations.dto.hotel.HotelResponseDTO;
+import project.hotel_reservations.dto.hotel.HotelStatsDTO;
+import project.hotel_reservations.dto.hotel.StatsGranularity;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.security.JwtService;
 import project.hotel_reservations.service.HotelService;
+import project.hotel_reservations.service.HotelStatsService;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,6 +47,9 @@ public class HotelControllerTest {
     @MockitoBean
     private HotelService hotelService;
 
+    @MockitoBean
+    private HotelStatsService statsService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -79,11 +90,13 @@ public class HotelControllerTest {
                 .name("Hotel")
                 .build();
 
-        when(hotelService.findAll()).thenReturn(List.of(dto));
+        when(hotelService.findAll(null, null)).thenReturn(
+                CursorPageDTO.<HotelResponseDTO>builder().items(List.of(dto)).build()
+        );
 
         mockMvc.perform(get("/hotels"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].name").value("Hotel"));
+                .andExpect(jsonPath("$.items[0].name").value("Hotel"));
     }
 
     @Test
@@ -107,4 +120,91 @@ public class HotelControllerTest {
         mockMvc.perform(delete("/hotels/{id}", id))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @DisplayName("Get monthly stats of a hotel")
+    void shouldGetMonthlyStats() throws Exception {
+        LocalDate from = LocalDate.of(2026, 1, 1);
+        LocalDate to = LocalDate.of(2026, 2, 28);
+        HotelStatsDTO dto = HotelStatsDTO.builder()
+                .period(from)
+                .revenue(new BigDecimal("1200.00"))
+                .nightsSold(12)
+                .roomsAvailable(310)
+                .occupancy(new BigDecimal("0.0387"))
+                .adr(new BigDecimal("100.00"))
+                .build();
+
+        when(statsService.findStats(id, from, to, StatsGranularity.MONTH)).thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/hotels/{id}/stats", id)
+                        .param("from", "2026-01-01")
+                        .param("to", "2026-02-28")
+                        .param("granularity", "MONTH"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].period").value("2026-01-01"))
+                .andExpect(jsonPath("$[0].nightsSold").value(12))
+                .andExpect(jsonPath("$[0].adr").value(100.00));
+    }
+
+    @Test
+    @DisplayName("Reject stats with an inverted date range")
+    void shouldRejectInvertedStatsRange() throws Exception {
+        LocalDate from = LocalDate.of(2026, 2, 1);
+        LocalDate to = LocalDate.of(2026, 1, 1);
+        when(statsService.findStats(id, from, to, StatsGranularity.DAY))
+                .thenThrow(new IllegalArgumentException("Invalid date range"));
+
+        mockMvc.perform(get("/hotels/{id}/stats", id)
+                        .param("from", "2026-02-01")
+                        .param("to", "2026-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Backfill stats of a hotel")
+    void shouldBackfillStats() throws Exception {
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        when(statsService.backfill(id, from, to)).thenReturn(365);
+
+        mockMvc.perform(post("/hotels/{id}/stats/backfill", id)
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("365"));
+    }
+
+    @Test
+    @DisplayName("Search hotels by name or address")
+    void shouldSearchHotels() throws Exception {
+        HotelResponseDTO dto = HotelResponseDTO.builder().id(id).name("Hotel California").build();
+        when(hotelService.search("california", null, 10)).thenReturn(
+                CursorPageDTO.<HotelResponseDTO>builder().items(List.of(dto)).build()
+        );
+
+        mockMvc.perform(get("/hotels/search").param("q", "california").param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].name").value("Hotel California"));
+    }
+
+    @Test
+    @DisplayName("Find hotels near a point")
+    void shouldFindNearbyHotels() throws Exception {
+        HotelNearbyDTO dto = HotelNearbyDTO.builder().id(id).name("Hotel California").distanceKm(0.8).build();
+        HotelNearbySearchDTO criteria = HotelNearbySearchDTO.builder()
+                .latitude(-12.05)
+                .longitude(-77.04)
+                .radiusKm(5.0)
+                .build();
+        when(hotelService.findNearby(criteria, null)).thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/hotels/nearby")
+                        .param("lat", "-12.05")
+                        .param("lon", "-77.04")
+                        .param("radiusKm", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Hotel California"))
+                .andExpect(jsonPath("$[0].distanceKm").value(0.8));
+    }
 }
@@ -11,6 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformCreateDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformResponseDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformUpdateDTO;
@@ -77,12 +78,14 @@ public class PaymentPlatformControllerTest {
                 .name("PayPal")
                 .build();
 
-        when(service.findAll()).thenReturn(List.of(dto));
+        when(service.findAll(null, null)).thenReturn(
+                CursorPageDTO.<PaymentPlatformResponseDTO>builder().items(List.of(dto)).build()
+        );
 
         mockMvc.perform(get("/payment-platforms"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(id.toString()))
-                .andExpect(jsonPath("$[0].name").value("PayPal"));
+                .andExpect(jsonPath("$.items[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.items[0].name").value("PayPal"));
     }
 
     @Test
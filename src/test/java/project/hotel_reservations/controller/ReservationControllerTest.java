@@ -2,32 +2,62 @@ package project.hotel_reservations.controller;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.reservation.PayReservationDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchItemDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchResponseDTO;
 import project.hotel_reservations.dto.reservation.ReservationCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationExportFormat;
+import project.hotel_reservations.dto.reservation.ReservationGroupDTO;
+import project.hotel_reservations.dto.reservation.ReservationGrouping;
 import project.hotel_reservations.dto.reservation.ReservationResponseDTO;
+import project.hotel_reservations.dto.reservation.RoomTypeReservationCreateDTO;
+import project.hotel_reservations.exception.BatchRejectedException;
 import project.hotel_reservations.model.PaymentMethod;
 import project.hotel_reservations.security.JwtService;
+import project.hotel_reservations.service.IdempotencyService;
+import project.hotel_reservations.service.ReservationExportService;
 import project.hotel_reservations.service.ReservationService;
 
+import jakarta.servlet.ServletException;
+
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -48,6 +78,18 @@ public class ReservationControllerTest {
     @MockitoBean
     private ReservationService service;
 
+    @MockitoBean
+    private IdempotencyService idempotencyService;
+
+    @MockitoBean
+    private ReservationExportService exportService;
+
+    @BeforeEach
+    void setup() {
+        when(idempotencyService.execute(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(4).get());
+    }
+
     @Test
     @DisplayName("POST /reservations → should create a reservation and return 201")
     void create_reservation_shouldReturn201() throws Exception {
@@ -76,6 +118,258 @@ public class ReservationControllerTest {
                 .andExpect(jsonPath("$.peopleCount").value(2));
     }
 
+    @Test
+    @DisplayName("POST /reservations → should return 409 when the database rejects an overlapping stay")
+    void create_reservation_overlap_shouldReturn409() throws Exception {
+
+        ReservationCreateDTO request = new ReservationCreateDTO(
+                LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(2),
+                2,
+                UUID.randomUUID(),
+                UUID.randomUUID()
+        );
+
+        when(service.create(any())).thenThrow(new DataIntegrityViolationException("overlap",
+                new ConstraintViolationException("overlap", new SQLException("overlap", "23P01"), null)));
+
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                )
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Room is not available for the selected dates"));
+    }
+
+    @Test
+    @DisplayName("POST /reservations → should return 409 when a unique key is violated")
+    void create_reservation_duplicate_shouldReturn409() throws Exception {
+
+        ReservationCreateDTO request = new ReservationCreateDTO(
+                LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(2),
+                2,
+                UUID.randomUUID(),
+                UUID.randomUUID()
+        );
+
+        when(service.create(any())).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException("duplicate", "23505"),
+                        "room_inventory_room_type_date")));
+
+        mockMvc.perform(post("/reservations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                )
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Request conflicts with existing data"));
+    }
+
+    @Test
+    @DisplayName("POST /reservations → should not report a NOT NULL violation as a conflict")
+    void create_reservation_notNullViolation_shouldNotReturn409() {
+
+        ReservationCreateDTO request = new ReservationCreateDTO(
+                LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(2),
+                2,
+                UUID.randomUUID(),
+                UUID.randomUUID()
+        );
+
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException("not null", "23502"), null));
+        when(service.create(any())).thenThrow(violation);
+
+        ServletException thrown = assertThrows(ServletException.class, () -> mockMvc.perform(post("/reservations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request))));
+        assertSame(violation, thrown.getCause());
+    }
+
+    @Test
+    @DisplayName("POST /reservations/room-type → should book any room of the type and return 201")
+    void createForRoomType_shouldReturn201() throws Exception {
+
+        RoomTypeReservationCreateDTO request = RoomTypeReservationCreateDTO.builder()
+                .checkInDate(LocalDate.now().plusDays(1))
+                .checkOutDate(LocalDate.now().plusDays(3))
+                .peopleCount(2)
+                .hotelId(UUID.randomUUID())
+                .roomType("suite")
+                .guestId(UUID.randomUUID())
+                .build();
+
+        ReservationResponseDTO response = ReservationResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .peopleCount(2)
+                .build();
+
+        when(service.createForRoomType(any())).thenReturn(response);
+
+        mockMvc.perform(post("/reservations/room-type")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").exists());
+    }
+
+    @Test
+    @DisplayName("POST /reservations/room-type → should return 400 when check-out is not after check-in")
+    void createForRoomType_invalidDates_shouldReturn400() throws Exception {
+
+        RoomTypeReservationCreateDTO request = RoomTypeReservationCreateDTO.builder()
+                .checkInDate(LocalDate.now().plusDays(3))
+                .checkOutDate(LocalDate.now().plusDays(1))
+                .peopleCount(2)
+                .hotelId(UUID.randomUUID())
+                .roomType("suite")
+                .guestId(UUID.randomUUID())
+                .build();
+
+        mockMvc.perform(post("/reservations/room-type")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                )
+                .andExpect(status().isBadRequest());
+    }
+
+    private ReservationBatchCreateDTO batchRequest(Boolean atomic) {
+        return ReservationBatchCreateDTO.builder()
+                .reservations(List.of(new ReservationCreateDTO(
+                        LocalDate.now().plusDays(1),
+                        LocalDate.now().plusDays(2),
+                        2,
+                        UUID.randomUUID(),
+                        UUID.randomUUID()
+                )))
+                .atomic(atomic)
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /reservations/batch → should return 201 when every reservation is created")
+    void createBatch_shouldReturn201() throws Exception {
+
+        ReservationBatchResponseDTO response = ReservationBatchResponseDTO.builder()
+                .created(1)
+                .failed(0)
+                .items(List.of(ReservationBatchItemDTO.builder()
+                        .index(0)
+                        .reservation(ReservationResponseDTO.builder().id(UUID.randomUUID()).build())
+                        .build()))
+                .build();
+
+        when(service.createBatch(any())).thenReturn(response);
+
+        mockMvc.perform(post("/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest(true)))
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.items[0].reservation.id").exists());
+    }
+
+    @Test
+    @DisplayName("POST /reservations/batch → should return 207 when some reservations are rejected")
+    void createBatch_partial_shouldReturn207() throws Exception {
+
+        ReservationBatchResponseDTO response = ReservationBatchResponseDTO.builder()
+                .created(0)
+                .failed(1)
+                .items(List.of(ReservationBatchItemDTO.builder().index(0).error("Room not found").build()))
+                .build();
+
+        when(service.createBatch(any())).thenReturn(response);
+
+        mockMvc.perform(post("/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest(false)))
+                )
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$.items[0].error").value("Room not found"));
+    }
+
+    @Test
+    @DisplayName("POST /reservations/batch → should return 409 with item errors when an atomic batch is rejected")
+    void createBatch_atomicRejected_shouldReturn409() throws Exception {
+
+        when(service.createBatch(any())).thenThrow(new BatchRejectedException("Reservation batch rejected",
+                List.of("reservations[0]: Room not found")));
+
+        mockMvc.perform(post("/reservations/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest(true)))
+                )
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors[0]").value("reservations[0]: Room not found"));
+    }
+
+    @Test
+    @DisplayName("POST /reservations → should pass the Idempotency-Key to the idempotency guard")
+    void create_reservation_withIdempotencyKey_shouldUseGuard() throws Exception {
+
+        ReservationCreateDTO request = new ReservationCreateDTO(
+                LocalDate.now().plusDays(1),
+                LocalDate.now().plusDays(2),
+                2,
+                UUID.randomUUID(),
+                UUID.randomUUID()
+        );
+
+        ReservationResponseDTO stored = ReservationResponseDTO.builder()
+                .id(UUID.randomUUID())
+                .build();
+
+        doReturn(stored).when(idempotencyService).execute(eq("key-1"), eq("POST /reservations"), any(),
+                eq(ReservationResponseDTO.class), any());
+
+        mockMvc.perform(post("/reservations")
+                        .header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request))
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(stored.id().toString()));
+
+        verify(service, never()).create(any());
+    }
+
+    @Test
+    @DisplayName("GET /reservations/export → should stream reservations as CSV")
+    void export_shouldStreamCsv() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("id\n1\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(exportService).export(eq(ReservationExportFormat.CSV), any());
+
+        MvcResult result = mockMvc.perform(get("/reservations/export").param("format", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"reservations.csv\""))
+                .andExpect(content().string("id\n1\n"));
+    }
+
+    @Test
+    @DisplayName("GET /reservations/group-method/summary → should return one entry per group")
+    void summarize_shouldReturnGroups() throws Exception {
+        when(service.summarize(ReservationGrouping.PAYMENT_METHOD, null)).thenReturn(List.of(
+                new ReservationGroupDTO("CASH", 4, new BigDecimal("200.00"), null)));
+
+        mockMvc.perform(get("/reservations/group-method/summary").param("by", "PAYMENT_METHOD"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].key").value("CASH"))
+                .andExpect(jsonPath("$[0].count").value(4))
+                .andExpect(jsonPath("$[0].totalAmount").value(200.00));
+    }
+
     @Test
     @DisplayName("GET /reservations → should return list of reservations with 200")
     void findAll_shouldReturn200_andList() throws Exception {
@@ -84,11 +378,13 @@ public class ReservationControllerTest {
                 .id(UUID.randomUUID())
                 .build();
 
-        when(service.findAll()).thenReturn(List.of(reservation));
+        when(service.findAll(null, null)).thenReturn(
+                CursorPageDTO.<ReservationResponseDTO>builder().items(List.of(reservation)).build()
+        );
 
         mockMvc.perform(get("/reservations"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(1));
+                .andExpect(jsonPath("$.items.length()").value(1));
     }
 
     @Test
@@ -132,4 +428,17 @@ public class ReservationControllerTest {
                 )
                 .andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("PATCH /reservations/{id}/cancel → should return 409 when the reservation keeps changing concurrently")
+    void cancelReservation_conflict_shouldReturn409() throws Exception {
+
+        UUID id = UUID.randomUUID();
+
+        when(service.cancelReservation(id))
+                .thenThrow(new ObjectOptimisticLockingFailureException("Reservation", id));
+
+        mockMvc.perform(patch("/reservations/{id}/cancel", id))
+                .andExpect(status().isConflict());
+    }
 }
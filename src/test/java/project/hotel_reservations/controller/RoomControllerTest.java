@@ -7,17 +7,22 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.room.RoomCreateDTO;
 import project.hotel_reservations.dto.room.RoomResponseDTO;
+import project.hotel_reservations.dto.room.RoomSearchDTO;
+import project.hotel_reservations.dto.room.RoomSort;
 import project.hotel_reservations.dto.room.RoomUpdateDTO;
 import project.hotel_reservations.security.JwtService;
 import project.hotel_reservations.service.RoomService;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -90,12 +95,14 @@ public class RoomControllerTest {
                 .hotelId(hotelId)
                 .build();
 
-        when(roomService.findAll()).thenReturn(List.of(dto));
+        when(roomService.findAll(null, null)).thenReturn(
+                CursorPageDTO.<RoomResponseDTO>builder().items(List.of(dto)).build()
+        );
 
         mockMvc.perform(get("/rooms"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].id").value(id.toString()))
-                .andExpect(jsonPath("$[0].code").value("12"));
+                .andExpect(jsonPath("$.items[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.items[0].code").value("12"));
     }
 
     @Test
@@ -158,4 +165,49 @@ public class RoomControllerTest {
         mockMvc.perform(delete("/rooms/" + id))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @DisplayName("Find rooms available for a stay")
+    void shouldFindRoomsAvailableForStay() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = checkIn.plusDays(3);
+        RoomResponseDTO dto = RoomResponseDTO.builder().id(id).hotelId(hotelId).build();
+
+        when(roomService.findAvailableRooms(hotelId, checkIn, checkOut, 2)).thenReturn(List.of(dto));
+
+        mockMvc.perform(get("/rooms/hotels/{hotelId}/available", hotelId)
+                        .param("checkIn", checkIn.toString())
+                        .param("checkOut", checkOut.toString())
+                        .param("guests", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(id.toString()));
+    }
+
+    @Test
+    @DisplayName("Search rooms across hotels")
+    void shouldSearchRooms() throws Exception {
+        RoomResponseDTO dto = RoomResponseDTO.builder().id(id).hotelId(hotelId).build();
+        RoomSearchDTO criteria = RoomSearchDTO.builder()
+                .type("suite")
+                .guests(2)
+                .maxPrice(new BigDecimal("150"))
+                .sort(RoomSort.CAPACITY)
+                .direction(Sort.Direction.DESC)
+                .build();
+
+        when(roomService.search(criteria, null, 20))
+                .thenReturn(CursorPageDTO.<RoomResponseDTO>builder().items(List.of(dto)).next("abc").build());
+
+        mockMvc.perform(get("/rooms/search")
+                        .param("type", "suite")
+                        .param("guests", "2")
+                        .param("maxPrice", "150")
+                        .param("sort", "CAPACITY")
+                        .param("direction", "DESC")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(id.toString()))
+                .andExpect(jsonPath("$.next").value("abc"));
+    }
 }
@@ -0,0 +1,75 @@
+package project.hotel_reservations.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import project.hotel_reservations.dto.token.TokenRevocationDTO;
+import project.hotel_reservations.security.JwtService;
+import project.hotel_reservations.service.TokenRevocationService;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(TokenRevocationController.class)
+@AutoConfigureMockMvc(addFilters = false)
+public class TokenRevocationControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private TokenRevocationService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Revoke a token")
+    void shouldRevokeToken() throws Exception {
+        LocalDateTime expiresAt = LocalDateTime.now().plusHours(1).withNano(0);
+        TokenRevocationDTO req = TokenRevocationDTO.builder()
+                .jti("jti-1")
+                .expiresAt(expiresAt)
+                .build();
+
+        mockMvc.perform(post("/tokens/revocations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isNoContent());
+
+        verify(service).revoke("jti-1", expiresAt);
+    }
+
+    @Test
+    @DisplayName("Reject a revocation without id or with a past expiration")
+    void shouldRejectInvalidRevocation() throws Exception {
+        TokenRevocationDTO req = TokenRevocationDTO.builder()
+                .jti("")
+                .expiresAt(LocalDateTime.now().minusHours(1))
+                .build();
+
+        mockMvc.perform(post("/tokens/revocations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).revoke(any(), eq(req.expiresAt()));
+    }
+}
@@ -0,0 +1,85 @@
+package project.hotel_reservations.factory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import project.hotel_reservations.model.Payment;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaymentProcessorRegistryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void reset() {
+        PluginProcessor.available = true;
+    }
+
+    @Test
+    @DisplayName("Index the processor beans and the plugins by platform code")
+    void shouldRegisterBeansAndPlugins() {
+        PaymentProcessorRegistry registry = registry(new PayPalProcessor(), new StripeProcessor());
+
+        assertTrue(registry.supports("paypal"));
+        assertTrue(registry.supports("STRIPE"));
+        assertTrue(registry.supports("plugin"));
+        assertFalse(registry.supports("BITCOIN"));
+        assertEquals("PAYPAL", registry.getProcessor("paypal").code());
+        assertEquals("plugin", registry.getProcessor("Plugin").code());
+    }
+
+    @Test
+    @DisplayName("Return the same processor for every payment and time each one")
+    void shouldReuseAndTimeProcessors() {
+        PaymentProcessorRegistry registry = registry(new PayPalProcessor());
+
+        PaymentProcessor processor = registry.getProcessor("PAYPAL");
+        processor.process(new Payment());
+        registry.getProcessor("PayPal").process(new Payment());
+
+        assertSame(processor, registry.getProcessor("paypal"));
+        assertEquals(2, meterRegistry.get("payment.processor.duration").tag("platform", "PAYPAL").timer().count());
+    }
+
+    @Test
+    @DisplayName("Reject a platform without processor")
+    void shouldRejectUnknownPlatform() {
+        PaymentProcessorRegistry registry = registry(new PayPalProcessor());
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () -> registry.getProcessor("BITCOIN"));
+        assertEquals("Unsupported payment platform: BITCOIN", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("Refuse two processors for the same platform")
+    void shouldRejectDuplicateCodes() {
+        assertThrows(IllegalStateException.class, () -> registry(new PayPalProcessor(), new PayPalProcessor()));
+    }
+
+    @Test
+    @DisplayName("Report down when a processor is down, with the health and timings of each one")
+    void shouldReportHealth() {
+        PaymentProcessorRegistry registry = registry(new StripeProcessor());
+        assertEquals(Status.UP, registry.health().getStatus());
+
+        PluginProcessor.available = false;
+        Health health = registry.health();
+
+        assertEquals(Status.DOWN, health.getStatus());
+        Map<String, Object> stripe = ((Health) health.getDetails().get("STRIPE")).getDetails();
+        assertEquals(0L, stripe.get("payments"));
+        assertEquals(StripeProcessor.class.getName(), stripe.get("processor"));
+        assertEquals("maintenance", ((Health) health.getDetails().get("PLUGIN")).getDetails().get("reason"));
+    }
+
+    private PaymentProcessorRegistry registry(PaymentProcessor... beans) {
+        return new PaymentProcessorRegistry(List.of(beans), meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package project.hotel_reservations.factory;
+
+import org.springframework.boot.actuate.health.Health;
+import project.hotel_reservations.model.Payment;
+
+/**
+ * Processor found through META-INF/services, the way a plugin jar adds a platform
+ */
+public class PluginProcessor implements PaymentProcessor {
+
+    static volatile boolean available = true;
+
+    @Override
+    public String code() {
+        return "plugin";
+    }
+
+    @Override
+    public void process(Payment payment) {
+    }
+
+    @Override
+    public Health health() {
+        return available ? Health.up().build() : Health.down().withDetail("reason", "maintenance").build();
+    }
+}
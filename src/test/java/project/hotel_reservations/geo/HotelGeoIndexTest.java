@@ -0,0 +1,122 @@
+package project.hotel_reservations.geo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.repository.HotelRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class HotelGeoIndexTest {
+
+    private static final GeoPoint LIMA = new GeoPoint(-12.0464, -77.0428);
+
+    private HotelRepository repository;
+    private HotelGeoIndex index;
+
+    @BeforeEach
+    void setup() {
+        repository = mock(HotelRepository.class);
+        index = new HotelGeoIndex(repository, true, 12);
+    }
+
+    @Test
+    @DisplayName("Warm up loads the located hotels from the repository")
+    void shouldWarmUpFromRepository() {
+        UUID id = UUID.randomUUID();
+        when(repository.findLocations()).thenReturn(List.of(new HotelLocation(id, LIMA.latitude(), LIMA.longitude())));
+
+        index.warmUp();
+
+        assertEquals(List.of(id), ids(index.findNearby(new GeoPoint(-12.05, -77.04), 1)));
+    }
+
+    @Test
+    @DisplayName("Disabled index loads nothing and ignores hotel changes")
+    void shouldStayEmptyWhenDisabled() {
+        HotelGeoIndex disabled = new HotelGeoIndex(repository, false, 12);
+
+        disabled.warmUp();
+        disabled.track(hotel(UUID.randomUUID(), LIMA));
+
+        assertFalse(disabled.isEnabled());
+        assertEquals(0, disabled.size());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Tracking moves a hotel, clearing its coordinates or deleting it drops it")
+    void shouldFollowHotelChanges() {
+        UUID id = UUID.randomUUID();
+        GeoPoint cusco = new GeoPoint(-13.5320, -71.9675);
+
+        index.track(hotel(id, LIMA));
+        index.track(hotel(id, cusco));
+        assertTrue(index.findNearby(LIMA, 50).isEmpty());
+        assertEquals(List.of(id), ids(index.findNearby(cusco, 1)));
+
+        index.track(Hotel.builder().id(id).build());
+        assertEquals(0, index.size());
+
+        index.track(hotel(id, LIMA));
+        index.untrack(id);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Radius search matches a full scan, across the antimeridian and near the poles")
+    void shouldMatchFullScan() {
+        Random random = new Random(42);
+        Map<UUID, GeoPoint> points = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            UUID id = UUID.randomUUID();
+            GeoPoint point = new GeoPoint(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+            points.put(id, point);
+            index.track(hotel(id, point));
+        }
+        List<GeoPoint> centers = new ArrayList<>(List.of(
+                new GeoPoint(0, 179.9), new GeoPoint(10, -179.95), new GeoPoint(89.9, 0), new GeoPoint(-89.5, 120)));
+        for (int i = 0; i < 200; i++) {
+            centers.add(new GeoPoint(random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+
+        for (GeoPoint center : centers) {
+            double radius = 50 + random.nextDouble() * 150;
+            List<NearbyHotel> expected = points.entrySet().stream()
+                    .map(entry -> new NearbyHotel(entry.getKey(), center.distanceKm(entry.getValue())))
+                    .filter(hit -> hit.distanceKm() <= radius)
+                    .sorted(Comparator.comparingDouble(NearbyHotel::distanceKm).thenComparing(NearbyHotel::hotelId))
+                    .toList();
+
+            assertEquals(expected, index.findNearby(center, radius), "center " + center + ", radius " + radius);
+        }
+    }
+
+    @Test
+    @DisplayName("Distance follows the great circle")
+    void shouldMeasureGreatCircleDistance() {
+        GeoPoint cusco = new GeoPoint(-13.5320, -71.9675);
+
+        assertEquals(0, LIMA.distanceKm(LIMA), 1e-9);
+        assertEquals(571, LIMA.distanceKm(cusco), 5);
+        assertEquals(Math.PI * GeoPoint.EARTH_RADIUS_KM, new GeoPoint(0, 0).distanceKm(new GeoPoint(0, 180)), 1e-6);
+    }
+
+    private static Hotel hotel(UUID id, GeoPoint point) {
+        return Hotel.builder().id(id).latitude(point.latitude()).longitude(point.longitude()).build();
+    }
+
+    private static List<UUID> ids(List<NearbyHotel> hits) {
+        return hits.stream().map(NearbyHotel::hotelId).toList();
+    }
+}
@@ -0,0 +1,73 @@
+package project.hotel_reservations.hold;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashedTimingWheelTest {
+
+    private static final long TICK = 1_000;
+
+    @Test
+    @DisplayName("Fire an entry on the first tick at or after its deadline")
+    void shouldFireAtDeadline() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, 8, 0);
+        UUID id = UUID.randomUUID();
+        wheel.schedule(id, 2_500);
+
+        assertTrue(wheel.advance(2_999).isEmpty());
+        assertEquals(List.of(id), wheel.advance(3_000));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Keep entries of later laps in their bucket")
+    void shouldKeepLaterLaps() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, 8, 0);
+        UUID soon = UUID.randomUUID();
+        UUID nextLap = UUID.randomUUID();
+        wheel.schedule(soon, 3_000);
+        wheel.schedule(nextLap, 11_000);
+
+        assertEquals(List.of(soon), wheel.advance(5_000));
+        assertTrue(wheel.advance(10_000).isEmpty());
+        assertEquals(List.of(nextLap), wheel.advance(11_000));
+    }
+
+    @Test
+    @DisplayName("Fire past deadlines on the next tick")
+    void shouldFirePastDeadlinesNextTick() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, 8, 10_000);
+        UUID id = UUID.randomUUID();
+        wheel.schedule(id, 1_000);
+
+        assertEquals(List.of(id), wheel.advance(11_000));
+    }
+
+    @Test
+    @DisplayName("Catch up after a pause longer than a full lap")
+    void shouldCatchUpAfterLongPause() {
+        HashedTimingWheel wheel = new HashedTimingWheel(TICK, 16, 0);
+        Random random = new Random(7);
+        Set<UUID> early = new HashSet<>();
+        Set<UUID> late = new HashSet<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            UUID id = UUID.randomUUID();
+            long deadline = 1 + random.nextInt(200_000);
+            wheel.schedule(id, deadline);
+            (deadline <= 100_000 ? early : late).add(id);
+        }
+
+        assertEquals(early, new HashSet<>(wheel.advance(100_000)));
+        assertEquals(late, new HashSet<>(wheel.advance(200_000)));
+        assertEquals(0, wheel.size());
+    }
+}
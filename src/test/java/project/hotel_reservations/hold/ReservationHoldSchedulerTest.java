@@ -0,0 +1,114 @@
+package project.hotel_reservations.hold;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.model.ReservationStatus;
+import project.hotel_reservations.repository.ReservationRepository;
+import project.hotel_reservations.service.ReservationService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationHoldSchedulerTest {
+
+    @Mock
+    private ReservationService reservationService;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationHoldScheduler scheduler;
+
+    @BeforeEach
+    void setup() {
+        scheduler = new ReservationHoldScheduler(reservationService, reservationRepository,
+                Duration.ofMinutes(15), 10, 64, 2, 30);
+    }
+
+    @Test
+    @DisplayName("Recover outstanding holds and expire the overdue ones in batches")
+    void shouldRecoverAndExpireInBatches() {
+        LocalDateTime past = LocalDateTime.now().minusMinutes(1);
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+        when(reservationRepository.findHoldDeadlines(ReservationStatus.PENDING)).thenReturn(List.of(
+                new HoldDeadline(ids.get(0), past),
+                new HoldDeadline(ids.get(1), past),
+                new HoldDeadline(ids.get(2), past),
+                new HoldDeadline(UUID.randomUUID(), LocalDateTime.now().plusHours(1))
+        ));
+
+        scheduler.recover();
+        assertEquals(4, scheduler.pending());
+
+        sleepPastTick();
+        scheduler.expireDue();
+
+        verify(reservationService, times(2)).expireHolds(anyList());
+        assertEquals(1, scheduler.pending());
+    }
+
+    @Test
+    @DisplayName("Track new holds and retry a conflicting batch one reservation at a time")
+    void shouldRetryConflictingBatchOneByOne() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        LocalDateTime past = LocalDateTime.now().minusSeconds(1);
+        scheduler.track(Reservation.builder().id(first).holdExpiresAt(past).build());
+        scheduler.track(Reservation.builder().id(second).holdExpiresAt(past).build());
+        scheduler.track(Reservation.builder().id(UUID.randomUUID()).build());
+
+        when(reservationService.expireHolds(anyList()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Reservation.class, first))
+                .thenReturn(1);
+
+        sleepPastTick();
+        scheduler.expireDue();
+
+        verify(reservationService).expireHolds(List.of(first));
+        verify(reservationService).expireHolds(List.of(second));
+    }
+
+    @Test
+    @DisplayName("Put a hold that fails to expire back on the wheel and expire it on a later tick")
+    void shouldRetryFailedHoldLater() throws InterruptedException {
+        UUID id = UUID.randomUUID();
+        scheduler.track(Reservation.builder().id(id).holdExpiresAt(LocalDateTime.now().minusSeconds(1)).build());
+
+        when(reservationService.expireHolds(List.of(id)))
+                .thenThrow(new DataAccessResourceFailureException("Connection is not available"))
+                .thenThrow(new IllegalStateException("Cannot cancel"))
+                .thenReturn(1);
+
+        sleepPastTick();
+        scheduler.expireDue();
+        assertEquals(1, scheduler.pending());
+
+        Thread.sleep(60);
+        scheduler.expireDue();
+
+        verify(reservationService, times(3)).expireHolds(List.of(id));
+        assertEquals(0, scheduler.pending());
+    }
+
+    private static void sleepPastTick() {
+        try {
+            Thread.sleep(25);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
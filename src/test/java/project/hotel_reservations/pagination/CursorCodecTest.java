@@ -0,0 +1,59 @@
+package project.hotel_reservations.pagination;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.hotel_reservations.dto.page.CursorPageDTO;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CursorCodecTest {
+
+    private final CursorCodec codec = new CursorCodec(20, 100);
+
+    @Test
+    @DisplayName("Decode the sort key and ID an encoded cursor carries")
+    void shouldRoundTripCursor() {
+        UUID id = UUID.randomUUID();
+
+        Cursor cursor = codec.decode(codec.encode("Hotel | Spa", id));
+
+        assertEquals("Hotel | Spa", cursor.key());
+        assertEquals(id, cursor.id());
+    }
+
+    @Test
+    @DisplayName("Throw on a cursor that was not issued by the codec")
+    void shouldRejectMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("bm8tc2VwYXJhdG9y"));
+    }
+
+    @Test
+    @DisplayName("Default, cap and validate the page size")
+    void shouldResolvePageSize() {
+        assertEquals(20, codec.pageSize(null));
+        assertEquals(100, codec.pageSize(1_000));
+        assertEquals(5, codec.pageSize(5));
+        assertThrows(IllegalArgumentException.class, () -> codec.pageSize(0));
+    }
+
+    @Test
+    @DisplayName("Emit a next cursor only when the extra row was fetched")
+    void shouldBuildPages() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<UUID> rows = List.of(first, second);
+
+        CursorPageDTO<UUID> page = codec.page(rows, 1, Function.identity(), UUID::toString, Function.identity());
+        CursorPageDTO<UUID> last = codec.page(rows, 2, Function.identity(), UUID::toString, Function.identity());
+
+        assertEquals(List.of(first), page.items());
+        assertEquals(first, codec.decode(page.next()).id());
+        assertEquals(rows, last.items());
+        assertNull(last.next());
+    }
+}
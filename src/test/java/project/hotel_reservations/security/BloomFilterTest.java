@@ -0,0 +1,45 @@
+package project.hotel_reservations.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BloomFilterTest {
+
+    @Test
+    @DisplayName("Find every value that was put")
+    void shouldHaveNoFalseNegatives() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        List<String> values = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+
+        values.forEach(filter::put);
+
+        assertTrue(values.stream().allMatch(filter::mightContain));
+    }
+
+    @Test
+    @DisplayName("Keep the false positive rate close to the one the filter was sized for")
+    void shouldKeepFalsePositiveRate() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put("jti-" + i));
+
+        long falsePositives = IntStream.range(10_000, 110_000)
+                .filter(i -> filter.mightContain("jti-" + i))
+                .count();
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    @Test
+    @DisplayName("Reject an empty size or a rate out of range")
+    void shouldRejectInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 0));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(100, 1));
+    }
+}
@@ -0,0 +1,200 @@
+package project.hotel_reservations.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import project.hotel_reservations.service.TokenRevocationService;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class JwksKeyResolverTest {
+
+    @TempDir
+    Path dir;
+
+    private Path jwksFile;
+    private KeyPair rsa;
+    private KeyPair ec;
+
+    @BeforeEach
+    void setup() throws Exception {
+        jwksFile = dir.resolve("jwks.json");
+
+        KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaGenerator.initialize(2048);
+        rsa = rsaGenerator.generateKeyPair();
+
+        KeyPairGenerator ecGenerator = KeyPairGenerator.getInstance("EC");
+        ecGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        ec = ecGenerator.generateKeyPair();
+    }
+
+    @Test
+    @DisplayName("Verify RS256 and ES256 tokens by the kid of their header")
+    void shouldVerifyAsymmetricTokens() throws IOException {
+        writeJwks(rsaJwk("rsa-1", rsa), ecJwk("ec-1", ec));
+        JwtService service = service(resolver(60_000));
+
+        assertEquals(Optional.of(Role.ADMIN), service.resolveRole(token("rsa-1", rsa.getPrivate(), SignatureAlgorithm.RS256)));
+        assertEquals(Optional.of(Role.ADMIN), service.resolveRole(token("ec-1", ec.getPrivate(), SignatureAlgorithm.ES256)));
+    }
+
+    @Test
+    @DisplayName("Reject tokens with an unknown kid, a foreign key or an HMAC signature")
+    void shouldRejectUntrustedTokens() throws Exception {
+        writeJwks(rsaJwk("rsa-1", rsa));
+        JwtService service = service(resolver(60_000));
+        KeyPair other = KeyPairGenerator.getInstance("RSA").generateKeyPair();
+        Key hmac = Keys.hmacShaKeyFor("0123456789abcdef0123456789abcdef".getBytes());
+
+        assertFalse(service.isTokenValid(token("rsa-2", rsa.getPrivate(), SignatureAlgorithm.RS256)));
+        assertFalse(service.isTokenValid(token("rsa-1", other.getPrivate(), SignatureAlgorithm.RS256)));
+        assertFalse(service.isTokenValid(token("rsa-1", hmac, SignatureAlgorithm.HS256)));
+        assertFalse(service.isTokenValid(token(null, rsa.getPrivate(), SignatureAlgorithm.RS256)));
+    }
+
+    @Test
+    @DisplayName("Rotate keys without downtime, withdrawn keys stop verifying even cached tokens")
+    void shouldRotateKeys() throws IOException {
+        writeJwks(rsaJwk("rsa-1", rsa));
+        JwksKeyResolver resolver = resolver(60_000);
+        JwtService service = service(resolver);
+        String oldToken = token("rsa-1", rsa.getPrivate(), SignatureAlgorithm.RS256);
+        String newToken = token("ec-1", ec.getPrivate(), SignatureAlgorithm.ES256);
+        assertTrue(service.isTokenValid(oldToken));
+
+        writeJwks(rsaJwk("rsa-1", rsa), ecJwk("ec-1", ec));
+        resolver.refresh();
+        assertTrue(service.isTokenValid(oldToken));
+        assertTrue(service.isTokenValid(newToken));
+
+        writeJwks(ecJwk("ec-1", ec));
+        resolver.refresh();
+        assertFalse(service.isTokenValid(oldToken));
+        assertTrue(service.isTokenValid(newToken));
+    }
+
+    @Test
+    @DisplayName("Keep the current keys when the document cannot be loaded")
+    void shouldKeepKeysOnFailedLoad() throws IOException {
+        writeJwks(rsaJwk("rsa-1", rsa));
+        JwksKeyResolver resolver = resolver(60_000);
+        JwtService service = service(resolver);
+
+        Files.writeString(jwksFile, "{ not json");
+        resolver.refresh();
+        Files.delete(jwksFile);
+        resolver.refresh();
+
+        assertTrue(service.isTokenValid(token("rsa-1", rsa.getPrivate(), SignatureAlgorithm.RS256)));
+    }
+
+    @Test
+    @DisplayName("Keep the current keys when the document has no usable key")
+    void shouldKeepKeysWithoutUsableKeys() throws IOException {
+        writeJwks(rsaJwk("rsa-1", rsa));
+        JwksKeyResolver resolver = resolver(60_000);
+        JwtService service = service(resolver);
+        String token = token("rsa-1", rsa.getPrivate(), SignatureAlgorithm.RS256);
+        assertTrue(service.isTokenValid(token));
+
+        Files.writeString(jwksFile, "{\"keys\":[]}");
+        resolver.refresh();
+        writeJwks(Map.of("kty", "RSA", "kid", "enc-1", "use", "enc", "n", "AQAB", "e", "AQAB"),
+                Map.of("kty", "OKP", "kid", "ed-1", "crv", "Ed25519", "x", "AQAB"));
+        resolver.refresh();
+
+        assertEquals(0, resolver.revision());
+        assertTrue(service.isTokenValid(token));
+        assertTrue(service.isTokenValid(token("rsa-1", rsa.getPrivate(), SignatureAlgorithm.RS256)));
+    }
+
+    @Test
+    @DisplayName("Reload early when a token names a kid that is not known yet")
+    void shouldReloadOnUnknownKid() throws Exception {
+        writeJwks(rsaJwk("rsa-1", rsa));
+        JwtService service = service(resolver(0));
+        String token = token("ec-1", ec.getPrivate(), SignatureAlgorithm.ES256);
+
+        writeJwks(rsaJwk("rsa-1", rsa), ecJwk("ec-1", ec));
+        assertFalse(service.isTokenValid(token));
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!service.isTokenValid(token) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(service.isTokenValid(token));
+    }
+
+    private JwksKeyResolver resolver(long minRefreshMillis) {
+        JwksKeyResolver resolver = new JwksKeyResolver(
+                new DefaultResourceLoader(), new ObjectMapper(), jwksFile.toUri().toString(), minRefreshMillis);
+        resolver.refresh();
+        return resolver;
+    }
+
+    private static JwtService service(JwksKeyResolver resolver) {
+        return new JwtService(null, resolver, mock(TokenRevocationService.class), 100, Duration.ofMinutes(5), new SimpleMeterRegistry());
+    }
+
+    private static String token(String kid, Key key, SignatureAlgorithm algorithm) {
+        return Jwts.builder()
+                .setHeaderParam("kid", kid)
+                .setSubject("admin@mail.com")
+                .claim("role", "ADMIN")
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(key, algorithm)
+                .compact();
+    }
+
+    @SafeVarargs
+    private void writeJwks(Map<String, String>... keys) throws IOException {
+        Files.writeString(jwksFile, new ObjectMapper().writeValueAsString(Map.of("keys", List.of(keys))));
+    }
+
+    private static Map<String, String> rsaJwk(String kid, KeyPair pair) {
+        RSAPublicKey key = (RSAPublicKey) pair.getPublic();
+        return Map.of("kty", "RSA", "kid", kid, "use", "sig", "alg", "RS256",
+                "n", base64(key.getModulus()), "e", base64(key.getPublicExponent()));
+    }
+
+    private static Map<String, String> ecJwk(String kid, KeyPair pair) {
+        ECPublicKey key = (ECPublicKey) pair.getPublic();
+        return Map.of("kty", "EC", "kid", kid, "use", "sig", "crv", "P-256",
+                "x", base64(key.getW().getAffineX()), "y", base64(key.getW().getAffineY()));
+    }
+
+    private static String base64(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
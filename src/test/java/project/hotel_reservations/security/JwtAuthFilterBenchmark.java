@@ -0,0 +1,104 @@
+package project.hotel_reservations.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import project.hotel_reservations.repository.RevokedTokenRepository;
+import project.hotel_reservations.service.TokenRevocationServiceImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Authenticates one bearer token through JwtAuthFilter. legacyFilter replays the former path,
+ * which rebuilt the key and the parser and verified the token twice per request. Both filters
+ * check the token against a revocation filter that holds 100 000 revoked tokens
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=JwtAuthFilterBenchmark}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private String token;
+    private String jti;
+    private TokenRevocationServiceImpl revocations;
+    private JwtAuthFilter cachedFilter;
+    private JwtAuthFilter uncachedFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        token = JwtServiceTest.token(SECRET, "GUEST", Duration.ofHours(1));
+        jti = legacyClaims(token).getId();
+
+        List<String> revoked = Stream.generate(() -> UUID.randomUUID().toString()).limit(100_000).toList();
+        RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+        when(repository.findActiveJtis(any())).thenReturn(revoked);
+        revocations = new TokenRevocationServiceImpl(repository, 100_000, 0.01, 5_000);
+        revocations.rebuild();
+
+        cachedFilter = new JwtAuthFilter(new JwtService(SECRET, null, revocations, 10_000, Duration.ofMinutes(5), new SimpleMeterRegistry()));
+        uncachedFilter = new JwtAuthFilter(new JwtService(SECRET, null, revocations, 0, Duration.ofMinutes(5), new SimpleMeterRegistry()));
+        request = new MockHttpServletRequest("GET", "/hotels");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void legacyFilter(Blackhole blackhole) {
+        if (legacyClaims(token) != null) {
+            blackhole.consume(Role.valueOf(legacyClaims(token).get("role", String.class)));
+        }
+    }
+
+    @Benchmark
+    public void filterCacheMiss(Blackhole blackhole) throws Exception {
+        uncachedFilter.doFilter(request, response, CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void filterCacheHit(Blackhole blackhole) throws Exception {
+        cachedFilter.doFilter(request, response, CHAIN);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public boolean revocationCheck() {
+        return revocations.isRevoked(jti);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
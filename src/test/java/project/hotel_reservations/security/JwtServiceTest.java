@@ -0,0 +1,111 @@
+package project.hotel_reservations.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import project.hotel_reservations.service.TokenRevocationService;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class JwtServiceTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    private SimpleMeterRegistry registry;
+    private TokenRevocationService revocations;
+    private JwtService service;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        revocations = mock(TokenRevocationService.class);
+        service = new JwtService(SECRET, null, revocations, 100, Duration.ofMinutes(5), registry);
+    }
+
+    @Test
+    @DisplayName("Verify a token once, later requests with the same token hit the cache")
+    void shouldCacheVerifiedClaims() {
+        String token = token(SECRET, "ADMIN", Duration.ofHours(1));
+
+        assertEquals(Optional.of(Role.ADMIN), service.resolveRole(token));
+        assertEquals(Optional.of(Role.ADMIN), service.resolveRole(token));
+        assertTrue(service.isTokenValid(token));
+        assertEquals(Role.ADMIN, service.getRole(token));
+
+        assertEquals(1, gets("miss"));
+        assertEquals(3, gets("hit"));
+    }
+
+    @Test
+    @DisplayName("Reject forged, malformed and expired tokens without caching them")
+    void shouldRejectInvalidTokens() {
+        String forged = token("fedcba9876543210fedcba9876543210fedcba9876543210", "ADMIN", Duration.ofHours(1));
+        String expired = token(SECRET, "ADMIN", Duration.ofHours(-1));
+
+        assertTrue(service.resolveRole(forged).isEmpty());
+        assertTrue(service.resolveRole(forged).isEmpty());
+        assertTrue(service.resolveRole("not-a-jwt").isEmpty());
+        assertFalse(service.isTokenValid(expired));
+        assertThrows(RuntimeException.class, () -> service.extractAllClaims(expired));
+
+        assertEquals(0, gets("hit"));
+    }
+
+    @Test
+    @DisplayName("Drop a cached token once it expires")
+    void shouldDropCachedTokenOnExpiry() throws InterruptedException {
+        String token = token(SECRET, "GUEST", Duration.ofMillis(1500));
+
+        assertTrue(service.isTokenValid(token));
+        Thread.sleep(1600);
+
+        assertFalse(service.isTokenValid(token));
+    }
+
+    @Test
+    @DisplayName("Resolve no role for a valid token without a known role")
+    void shouldResolveNoRoleWithoutKnownRole() {
+        assertTrue(service.resolveRole(token(SECRET, null, Duration.ofHours(1))).isEmpty());
+        assertTrue(service.resolveRole(token(SECRET, "ROOT", Duration.ofHours(1))).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Reject a revoked token even after its claims were cached")
+    void shouldRejectRevokedToken() {
+        String token = token(SECRET, "ADMIN", Duration.ofHours(1));
+        String jti = service.extractAllClaims(token).getId();
+        assertTrue(service.isTokenValid(token));
+
+        when(revocations.isRevoked(jti)).thenReturn(true);
+
+        assertFalse(service.isTokenValid(token));
+        assertTrue(service.resolveRole(token).isEmpty());
+        assertTrue(service.isTokenValid(token(SECRET, "ADMIN", Duration.ofHours(1))));
+        verify(revocations, times(5)).isRevoked(anyString());
+    }
+
+    private double gets(String result) {
+        return registry.get("cache.gets").tag("cache", "jwtClaims").tag("result", result).functionCounter().count();
+    }
+
+    static String token(String secret, String role, Duration validFor) {
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject("user@mail.com")
+                .claim("role", role)
+                .setExpiration(new Date(System.currentTimeMillis() + validFor.toMillis()))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
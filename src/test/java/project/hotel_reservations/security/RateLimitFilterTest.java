@@ -0,0 +1,153 @@
+package project.hotel_reservations.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RateLimitFilterTest {
+
+    private static final String AVAILABLE = "/rooms/hotels/0a6c1a4e-4a52-4c1b-9d5e-2d7a3f0b8c11/available";
+
+    private final AtomicInteger passed = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> passed.incrementAndGet();
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Admit a burst up to the capacity and answer 429 with Retry-After afterwards")
+    void shouldLimitBurst() throws Exception {
+        RateLimitFilter filter = filter(false, null, new RateLimitProperties.Rule("GET", "/rooms/hotels/{hotelId}/available", 3, 0.5));
+        authenticate("partner@mail.com", "GUEST");
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, call(filter, "GET", AVAILABLE).getStatus());
+        }
+        MockHttpServletResponse rejected = call(filter, "GET", AVAILABLE);
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("2", rejected.getHeader("Retry-After"));
+        assertTrue(rejected.getContentAsString().contains("Too many requests"));
+        assertEquals(3, passed.get());
+    }
+
+    @Test
+    @DisplayName("Keep a bucket per principal and leave unmatched requests alone")
+    void shouldLimitPerPrincipal() throws Exception {
+        RateLimitFilter filter = filter(false, null, new RateLimitProperties.Rule("GET", "/rooms/hotels/{hotelId}/available", 1, 1));
+
+        authenticate("partner@mail.com", "GUEST");
+        assertEquals(200, call(filter, "GET", AVAILABLE).getStatus());
+        assertEquals(429, call(filter, "GET", AVAILABLE).getStatus());
+        assertEquals(200, call(filter, "POST", AVAILABLE).getStatus());
+        assertEquals(200, call(filter, "GET", "/hotels").getStatus());
+
+        authenticate("partner@mail.com", "ADMIN");
+        assertEquals(200, call(filter, "GET", AVAILABLE).getStatus());
+
+        authenticate("other@mail.com", "GUEST");
+        assertEquals(200, call(filter, "GET", AVAILABLE).getStatus());
+
+        SecurityContextHolder.clearContext();
+        assertEquals(200, call(filter, "GET", AVAILABLE).getStatus());
+        assertEquals(429, call(filter, "GET", AVAILABLE).getStatus());
+    }
+
+    @Test
+    @DisplayName("Refill the bucket over time")
+    void shouldRefill() throws Exception {
+        RateLimitFilter filter = filter(false, null, new RateLimitProperties.Rule(null, "/**", 1, 2));
+        authenticate("partner@mail.com", "GUEST");
+
+        assertEquals(200, call(filter, "GET", "/hotels").getStatus());
+        assertEquals(429, call(filter, "GET", "/hotels").getStatus());
+        Thread.sleep(600);
+
+        assertEquals(200, call(filter, "GET", "/hotels").getStatus());
+    }
+
+    @Test
+    @DisplayName("Admit no more than the capacity under concurrent requests")
+    void shouldLimitConcurrentRequests() throws Exception {
+        RateLimitFilter filter = filter(false, null, new RateLimitProperties.Rule(null, "/**", 100, 0.001));
+        UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                "partner@mail.com", null, List.of(new SimpleGrantedAuthority("ROLE_GUEST")));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1_000; i++) {
+            executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(auth);
+                call(filter, "GET", "/hotels");
+                return null;
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(100, passed.get());
+    }
+
+    @Test
+    @DisplayName("Apply the shared bucket after the local one and fall back to the local one when it is unavailable")
+    void shouldUseSharedBucket() throws Exception {
+        SharedRateLimiter shared = mock(SharedRateLimiter.class);
+        RateLimitFilter filter = filter(true, shared, new RateLimitProperties.Rule(null, "/**", 10, 1));
+        authenticate("partner@mail.com", "GUEST");
+
+        when(shared.tryConsume(anyString(), anyLong(), anyLong())).thenReturn(TimeUnit.SECONDS.toNanos(3));
+        MockHttpServletResponse rejected = call(filter, "GET", "/hotels");
+        assertEquals(429, rejected.getStatus());
+        assertEquals("3", rejected.getHeader("Retry-After"));
+
+        when(shared.tryConsume(anyString(), anyLong(), anyLong())).thenThrow(new QueryTimeoutException("timeout"));
+        assertEquals(200, call(filter, "GET", "/hotels").getStatus());
+        verify(shared, times(2)).tryConsume(eq("0|ROLE_GUEST|partner@mail.com"), eq(1_000_000_000L), eq(9_000_000_000L));
+    }
+
+    @Test
+    @DisplayName("Reject a rule that admits no request")
+    void shouldRejectInvalidRule() {
+        assertThrows(IllegalArgumentException.class,
+                () -> filter(false, null, new RateLimitProperties.Rule(null, "/**", 0, 1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> filter(false, null, new RateLimitProperties.Rule(null, " ", 1, 1)));
+    }
+
+    private static RateLimitFilter filter(boolean shared, SharedRateLimiter limiter, RateLimitProperties.Rule rule) {
+        return new RateLimitFilter(new RateLimitProperties(true, 1_000, shared, List.of(rule)), limiter, new ObjectMapper());
+    }
+
+    private static void authenticate(String subject, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                subject, null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+
+    private MockHttpServletResponse call(RateLimitFilter filter, String method, String uri) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
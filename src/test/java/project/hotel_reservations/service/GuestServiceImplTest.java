@@ -8,12 +8,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import project.hotel_reservations.dto.guest.GuestCreateDTO;
 import project.hotel_reservations.dto.guest.GuestResponseDTO;
 import project.hotel_reservations.dto.guest.GuestUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.mapper.GuestMapper;
 import project.hotel_reservations.model.Guest;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.GuestRepository;
 
 import java.time.LocalDate;
@@ -22,6 +26,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -38,6 +43,9 @@ public class GuestServiceImplTest {
     @Mock
     private GuestMapper mapper;
 
+    @Spy
+    private CursorCodec cursors = new CursorCodec(50, 500);
+
     @InjectMocks
     private GuestServiceImpl service;
 
@@ -86,15 +94,16 @@ public class GuestServiceImplTest {
     @Test
     @DisplayName("List all guests")
     void shouldReturnListOfGuests() {
-        when(repository.findAll()).thenReturn(List.of(guest));
+        when(repository.findPage(Limit.of(51))).thenReturn(List.of(guest));
         when(mapper.toDto(guest)).thenReturn(
                 new GuestResponseDTO(null, null, null, null, null, null, null, null)
         );
 
-        List<GuestResponseDTO> result = service.findAll();
+        CursorPageDTO<GuestResponseDTO> result = service.findAll(null, null);
 
-        assertEquals(1, result.size());
-        verify(repository).findAll();
+        assertEquals(1, result.items().size());
+        assertNull(result.next());
+        verify(repository).findPage(Limit.of(51));
     }
 
     @Test
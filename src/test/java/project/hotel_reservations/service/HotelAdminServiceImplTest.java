@@ -8,13 +8,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminCreateDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminResponseDTO;
 import project.hotel_reservations.dto.hotel_admin.HotelAdminUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.mapper.HotelAdminMapper;
 import project.hotel_reservations.model.HotelAdmin;
 import project.hotel_reservations.model.HotelAdminShift;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.HotelAdminRepository;
 
 import java.util.List;
@@ -22,6 +26,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -38,6 +43,9 @@ public class HotelAdminServiceImplTest {
     @Mock
     private HotelAdminMapper mapper;
 
+    @Spy
+    private CursorCodec cursors = new CursorCodec(50, 500);
+
     @InjectMocks
     private HotelAdminServiceImpl service;
 
@@ -96,13 +104,14 @@ public class HotelAdminServiceImplTest {
     @Test
     @DisplayName("List all hotel admins")
     void shouldReturnListOfHotelAdmins() {
-        when(repository.findAll()).thenReturn(List.of(hotelAdmin));
+        when(repository.findPage(Limit.of(51))).thenReturn(List.of(hotelAdmin));
         when(mapper.toDto(hotelAdmin)).thenReturn(HotelAdminResponseDTO.builder().build());
 
-        List<HotelAdminResponseDTO> result = service.findAll();
+        CursorPageDTO<HotelAdminResponseDTO> result = service.findAll(null, null);
 
-        assertEquals(1, result.size());
-        verify(repository).findAll();
+        assertEquals(1, result.items().size());
+        assertNull(result.next());
+        verify(repository).findPage(Limit.of(51));
     }
 
     @Test
@@ -0,0 +1,136 @@
+package project.hotel_reservations.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_reservations.dto.hotel.HotelEarningsTotal;
+import project.hotel_reservations.model.*;
+import project.hotel_reservations.repository.HotelEarningsRepository;
+import project.hotel_reservations.repository.HotelRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotelEarningsServiceImplTest {
+
+    private Hotel hotel;
+    private Payment payment;
+
+    @Mock
+    private HotelEarningsRepository repository;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @InjectMocks
+    private HotelEarningsServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        hotel = Hotel.builder().id(UUID.randomUUID()).build();
+        Room room = Room.builder().id(UUID.randomUUID()).hotel(hotel).build();
+        payment = Payment.builder()
+                .id(UUID.randomUUID())
+                .totalAmount(new BigDecimal("90.00"))
+                .reservation(Reservation.builder().id(UUID.randomUUID()).room(room).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Open an empty ledger row for a new hotel")
+    void shouldOpenLedgerRow() {
+        service.open(hotel);
+
+        verify(repository).save(argThat(row -> row.getHotel() == hotel
+                && BigDecimal.ZERO.equals(row.getTotalAmount()) && row.getPaymentCount() == 0));
+    }
+
+    @Test
+    @DisplayName("Record a payment with an in-place update of the ledger row")
+    void shouldRecordPayment() {
+        when(repository.add(eq(hotel.getId()), eq(new BigDecimal("90.00")), eq(1L), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        service.record(payment);
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Create the ledger row when the hotel has none")
+    void shouldCreateMissingRowOnRecord() {
+        when(repository.add(eq(hotel.getId()), any(), eq(1L), any(LocalDateTime.class))).thenReturn(0);
+        when(hotelRepository.getReferenceById(hotel.getId())).thenReturn(hotel);
+
+        service.record(payment);
+
+        verify(repository).save(argThat(row -> row.getHotel() == hotel
+                && new BigDecimal("90.00").equals(row.getTotalAmount()) && row.getPaymentCount() == 1));
+    }
+
+    @Test
+    @DisplayName("Reverse a payment by subtracting it from the ledger row")
+    void shouldReversePayment() {
+        when(repository.add(eq(hotel.getId()), eq(new BigDecimal("-90.00")), eq(-1L), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        service.reverse(payment);
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Read the total of a hotel from its ledger row")
+    void shouldFindTotal() {
+        when(repository.findTotalByHotelId(hotel.getId())).thenReturn(Optional.of(BigDecimal.TEN));
+
+        assertEquals(Optional.of(BigDecimal.TEN), service.findTotal(hotel.getId()));
+    }
+
+    @Test
+    @DisplayName("Reconcile corrects drifted rows and recreates missing ones")
+    void shouldReconcile() {
+        HotelEarnings inSync = row(hotel, "90.00", 1);
+        HotelEarnings drifted = row(Hotel.builder().id(UUID.randomUUID()).build(), "50.00", 2);
+        HotelEarnings stale = row(Hotel.builder().id(UUID.randomUUID()).build(), "10.00", 1);
+        UUID missing = UUID.randomUUID();
+        when(repository.findAll()).thenReturn(List.of(inSync, drifted, stale));
+        when(repository.sumPaymentsByHotel(ReservationStatus.CANCELLED)).thenReturn(List.of(
+                new HotelEarningsTotal(hotel.getId(), new BigDecimal("90.0"), 1L),
+                new HotelEarningsTotal(drifted.getHotelId(), new BigDecimal("70.00"), 3L),
+                new HotelEarningsTotal(missing, new BigDecimal("15.00"), 1L)
+        ));
+        when(hotelRepository.getReferenceById(missing)).thenReturn(Hotel.builder().id(missing).build());
+
+        assertEquals(3, service.reconcile());
+
+        assertEquals(new BigDecimal("90.00"), inSync.getTotalAmount());
+        assertEquals(new BigDecimal("70.00"), drifted.getTotalAmount());
+        assertEquals(3L, drifted.getPaymentCount());
+        assertEquals(BigDecimal.ZERO, stale.getTotalAmount());
+        verify(repository).save(argThat(row -> row.getHotel().getId().equals(missing)));
+    }
+
+    private static HotelEarnings row(Hotel hotel, String total, long payments) {
+        return HotelEarnings.builder()
+                .hotelId(hotel.getId())
+                .hotel(hotel)
+                .totalAmount(new BigDecimal(total))
+                .paymentCount(payments)
+                .build();
+    }
+}
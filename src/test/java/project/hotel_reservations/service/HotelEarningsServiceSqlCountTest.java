@@ -0,0 +1,145 @@
+package project.hotel_reservations.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import project.hotel_reservations.model.*;
+import project.hotel_reservations.repository.*;
+import project.hotel_reservations.support.sql.SqlCountTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static project.hotel_reservations.support.sql.SqlCount.*;
+
+@SqlCountTest
+@Import(HotelEarningsServiceImpl.class)
+public class HotelEarningsServiceSqlCountTest {
+
+    @Autowired
+    private HotelEarningsService service;
+
+    @Autowired
+    private HotelEarningsRepository repository;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+    private Hotel empty;
+    private Payment payment;
+
+    @BeforeEach
+    void setup() {
+        hotel = hotelRepository.save(Hotel.builder().name("Hotel A").address("Av. 1").phone("555").build());
+        empty = hotelRepository.save(Hotel.builder().name("Hotel B").address("Av. 2").phone("556").build());
+        Room room = roomRepository.save(Room.builder()
+                .code("101").capacity(2).type("suite").price(BigDecimal.TEN).description("Suite").hotel(hotel)
+                .build());
+        Guest guest = guestRepository.save(Guest.builder().identification("1").name("Ana").email("ana@mail.com").build());
+
+        LocalDate start = LocalDate.now().plusDays(30);
+        payment = pay(reservation(room, guest, start, ReservationStatus.CONFIRMED), "40.00");
+        pay(reservation(room, guest, start.plusDays(5), ReservationStatus.CANCELLED), "25.00");
+
+        ledger(hotel, "40.00", 1);
+        ledger(empty, "0", 0);
+
+        reset();
+    }
+
+    @AfterEach
+    void cleanup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "payments", "reservations", "rooms", "users",
+                "hotel_earnings", "hotels");
+    }
+
+    @Test
+    @DisplayName("record moves the ledger row with one UPDATE")
+    void record() {
+        service.record(payment);
+
+        assertUpdateCount(1);
+        assertStatementCount(1);
+        assertEquals(0, new BigDecimal("80.00").compareTo(repository.findTotalByHotelId(hotel.getId()).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("record creates the ledger row of a hotel that has none")
+    void recordWithoutLedgerRow() {
+        repository.deleteById(hotel.getId());
+        reset();
+
+        service.record(payment);
+
+        assertUpdateCount(1);
+        assertInsertCount(1);
+        assertStatementCount(2);
+        assertEquals(0, new BigDecimal("40.00").compareTo(repository.findTotalByHotelId(hotel.getId()).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("reconcile reads the ledger and the aggregate, and writes nothing when they agree")
+    void reconcileInSync() {
+        assertEquals(0, service.reconcile());
+
+        assertSelectCount(2);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("reconcile corrects drifted rows, ignoring payments of cancelled reservations")
+    void reconcileDrift() {
+        jdbcTemplate.update("UPDATE hotel_earnings SET total_amount = 999, payment_count = 9");
+
+        assertEquals(2, service.reconcile());
+
+        assertEquals(0, new BigDecimal("40.00").compareTo(repository.findTotalByHotelId(hotel.getId()).orElseThrow()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(repository.findTotalByHotelId(empty.getId()).orElseThrow()));
+    }
+
+    private void ledger(Hotel hotel, String total, long payments) {
+        jdbcTemplate.update("INSERT INTO hotel_earnings (hotel_id, total_amount, payment_count, updated_at) "
+                + "VALUES (?, ?, ?, CURRENT_TIMESTAMP)", hotel.getId(), new BigDecimal(total), payments);
+    }
+
+    private Reservation reservation(Room room, Guest guest, LocalDate checkIn, ReservationStatus status) {
+        return reservationRepository.save(Reservation.builder()
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .peopleCount(2)
+                .status(status)
+                .room(room)
+                .guest(guest)
+                .build());
+    }
+
+    private Payment pay(Reservation reservation, String amount) {
+        return paymentRepository.save(Payment.builder()
+                .totalAmount(new BigDecimal(amount))
+                .paymentMethod(PaymentMethod.CASH)
+                .reservation(reservation)
+                .build());
+    }
+}
@@ -8,21 +8,40 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
 import project.hotel_reservations.dto.hotel.HotelCreateDTO;
+import project.hotel_reservations.dto.hotel.HotelDistanceHit;
+import project.hotel_reservations.dto.hotel.HotelNearbyDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbySearchDTO;
 import project.hotel_reservations.dto.hotel.HotelResponseDTO;
+import project.hotel_reservations.dto.hotel.HotelSearchHit;
 import project.hotel_reservations.dto.hotel.HotelUpdateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
+import project.hotel_reservations.geo.GeoPoint;
+import project.hotel_reservations.geo.HotelGeoIndex;
+import project.hotel_reservations.geo.NearbyHotel;
 import project.hotel_reservations.mapper.HotelMapper;
 import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.model.Room;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.HotelRepository;
+import project.hotel_reservations.repository.RoomRepository;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +55,21 @@ public class HotelServiceImplTest {
     @Mock
     private HotelMapper mapper;
 
+    @Mock
+    private HotelEarningsService earningsService;
+
+    @Mock
+    private HotelGeoIndex geoIndex;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Spy
+    private CursorCodec cursors = new CursorCodec(50, 500);
+
     @InjectMocks
     private HotelServiceImpl service;
 
@@ -60,8 +94,8 @@ public class HotelServiceImplTest {
     @Test
     @DisplayName("Create hotel successfully")
     void shouldCreateHotelSuccessfully() {
-        HotelCreateDTO req = new HotelCreateDTO("Hotel California", "Jiron Bolivia", "9777222", "california@mail.com");
-        HotelResponseDTO dto = new HotelResponseDTO( id, "Hotel California", "Jiron Bolivia", "9777222", "california@mail.com");
+        HotelCreateDTO req = new HotelCreateDTO("Hotel California", "Jiron Bolivia", "9777222", "california@mail.com", -12.05, -77.04);
+        HotelResponseDTO dto = new HotelResponseDTO( id, "Hotel California", "Jiron Bolivia", "9777222", "california@mail.com", -12.05, -77.04);
 
         when(repository.save(any(Hotel.class))).thenReturn(hotel);
         when(mapper.toDto(hotel)).thenReturn(dto);
@@ -74,28 +108,47 @@ public class HotelServiceImplTest {
         assertEquals(dto.email(), result.email());
 
         verify(repository).save(any(Hotel.class));
+        verify(earningsService).open(hotel);
+        verify(geoIndex).track(hotel);
         verify(mapper).toDto(hotel);
     }
 
     @Test
     @DisplayName("List all hotels")
     void shouldListAllHotels() {
-        when(repository.findAll()).thenReturn(List.of(hotel));
+        when(repository.findPage(Limit.of(51))).thenReturn(List.of(hotel));
         when(mapper.toDto(hotel)).thenReturn(
-                new HotelResponseDTO(null, null, null, null, null)
+                new HotelResponseDTO(null, null, null, null, null, null, null)
         );
 
-        List<HotelResponseDTO> result = service.findAll();
+        CursorPageDTO<HotelResponseDTO> result = service.findAll(null, null);
 
-        assertEquals(1, result.size());
-        verify(repository).findAll();
+        assertEquals(1, result.items().size());
+        assertNull(result.next());
+        verify(repository).findPage(Limit.of(51));
+    }
+
+    @Test
+    @DisplayName("Seek past the cursor to load the next page of hotels")
+    void shouldListNextPageOfHotels() {
+        Hotel other = Hotel.builder().id(UUID.randomUUID()).name("Hotel Dorado").build();
+        when(repository.findPage(Limit.of(2))).thenReturn(List.of(hotel, other));
+        when(repository.findPageAfter(hotel.getName(), id, Limit.of(2))).thenReturn(List.of(other));
+
+        CursorPageDTO<HotelResponseDTO> first = service.findAll(null, 1);
+        CursorPageDTO<HotelResponseDTO> second = service.findAll(first.next(), 1);
+
+        assertEquals(1, first.items().size());
+        assertEquals(1, second.items().size());
+        assertNull(second.next());
+        verify(mapper).toDto(other);
     }
 
     @Test
     @DisplayName("Find hotel by ID successfully")
     void shouldFindHotelById() {
         HotelResponseDTO dto =
-                new HotelResponseDTO(id, "Hotel California", "Jiron Bolivia", "97772222", "california@mail.com");
+                new HotelResponseDTO(id, "Hotel California", "Jiron Bolivia", "97772222", "california@mail.com", null, null);
 
         when(repository.findById(id)).thenReturn(Optional.of(hotel));
         when(mapper.toDto(hotel)).thenReturn(dto);
@@ -118,7 +171,7 @@ public class HotelServiceImplTest {
     @DisplayName("Update hotel successfully")
     void shouldUpdateHotel() {
         HotelUpdateDTO req =
-                new HotelUpdateDTO("Nuevo Hotel", "Nueva Calle", "99999", "nuevo@mail.com");
+                new HotelUpdateDTO("Nuevo Hotel", "Nueva Calle", "99999", "nuevo@mail.com", null, null);
 
         Hotel updated = Hotel.builder()
                 .id(id)
@@ -129,7 +182,7 @@ public class HotelServiceImplTest {
                 .build();
 
         HotelResponseDTO dto =
-                new HotelResponseDTO(id, "Nuevo Hotel", "Nueva Calle", "99999", "nuevo@mail.com");
+                new HotelResponseDTO(id, "Nuevo Hotel", "Nueva Calle", "99999", "nuevo@mail.com", null, null);
 
         when(repository.findById(id)).thenReturn(Optional.of(hotel));
 
@@ -151,6 +204,7 @@ public class HotelServiceImplTest {
 
         assertEquals("Nuevo Hotel", result.name());
         verify(repository).save(hotel);
+        verify(geoIndex).track(updated);
     }
 
     @Test
@@ -158,7 +212,7 @@ public class HotelServiceImplTest {
     void shouldThrowWhenUpdateNotFound() {
         when(repository.findById(id)).thenReturn(Optional.empty());
 
-        HotelUpdateDTO req = new HotelUpdateDTO(null, null, null, null);
+        HotelUpdateDTO req = new HotelUpdateDTO(null, null, null, null, null, null);
 
         assertThrows(EntityNotFoundException.class, () -> service.update(id, req));
     }
@@ -172,6 +226,7 @@ public class HotelServiceImplTest {
         service.delete(id);
 
         verify(repository).deleteById(id);
+        verify(geoIndex).untrack(id);
     }
 
     @Test
@@ -181,4 +236,152 @@ public class HotelServiceImplTest {
 
         assertThrows(EntityNotFoundException.class, () -> service.delete(id));
     }
+
+    @Test
+    @DisplayName("Read total earnings from the hotel ledger")
+    void shouldReadTotalEarningsFromLedger() {
+        when(earningsService.findTotal(id)).thenReturn(Optional.of(new BigDecimal("320.00")));
+
+        assertEquals(new BigDecimal("320.00"), service.getTotalEarningsByHotel(id));
+        verify(repository, never()).existsById(id);
+    }
+
+    @Test
+    @DisplayName("Return zero earnings for a hotel without ledger row")
+    void shouldReturnZeroEarningsWithoutLedgerRow() {
+        when(earningsService.findTotal(id)).thenReturn(Optional.empty());
+        when(repository.existsById(id)).thenReturn(true);
+
+        assertEquals(BigDecimal.ZERO, service.getTotalEarningsByHotel(id));
+    }
+
+    @Test
+    @DisplayName("Throw when reading earnings of non-existing hotel")
+    void shouldThrowWhenEarningsHotelNotFound() {
+        when(earningsService.findTotal(id)).thenReturn(Optional.empty());
+        when(repository.existsById(id)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> service.getTotalEarningsByHotel(id));
+    }
+
+    @Test
+    @DisplayName("Search hotels with prefix terms and page by rank")
+    void shouldSearchHotels() {
+        HotelSearchHit best = hit(id, "Hotel California", 0.9);
+        HotelSearchHit second = hit(UUID.randomUUID(), "Hotel Calima", 0.4);
+        when(repository.search("hotel:* & cal:*", "hotel cal", 2)).thenReturn(List.of(best, second));
+        when(repository.searchAfter("hotel:* & cal:*", "hotel cal", 0.9, id, 2)).thenReturn(List.of(second));
+
+        CursorPageDTO<HotelResponseDTO> first = service.search("  Hotel, CAL ", null, 1);
+        CursorPageDTO<HotelResponseDTO> next = service.search("hotel cal", first.next(), 1);
+
+        assertEquals("Hotel California", first.items().get(0).name());
+        assertEquals("Hotel Calima", next.items().get(0).name());
+        assertNull(next.next());
+    }
+
+    @Test
+    @DisplayName("Reject a search text without words")
+    void shouldRejectSearchWithoutWords() {
+        assertThrows(IllegalArgumentException.class, () -> service.search(" -- ", null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.search("a".repeat(101), null, null));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Reject a hotel with only one coordinate")
+    void shouldRejectHalfLocatedHotel() {
+        HotelCreateDTO req = HotelCreateDTO.builder().name("Hotel California").latitude(-12.05).build();
+
+        assertThrows(IllegalArgumentException.class, () -> service.create(req));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Find nearby hotels from the geo index, nearest first, limited to the size")
+    void shouldFindNearbyHotelsFromIndex() {
+        Hotel far = Hotel.builder().id(UUID.randomUUID()).name("Hotel Dorado").build();
+        HotelNearbySearchDTO criteria = HotelNearbySearchDTO.builder().latitude(-12.05).longitude(-77.04).radiusKm(5.0).build();
+        when(geoIndex.isEnabled()).thenReturn(true);
+        when(geoIndex.findNearby(new GeoPoint(-12.05, -77.04), 5.0)).thenReturn(List.of(
+                new NearbyHotel(id, 0.4), new NearbyHotel(far.getId(), 3.2), new NearbyHotel(UUID.randomUUID(), 4.9)));
+        when(repository.findAllById(List.of(id, far.getId()))).thenReturn(List.of(far, hotel));
+
+        List<HotelNearbyDTO> result = service.findNearby(criteria, 2);
+
+        assertEquals(List.of(id, far.getId()), result.stream().map(HotelNearbyDTO::id).toList());
+        assertEquals(0.4, result.get(0).distanceKm());
+        verify(repository, never()).findNearby(anyDouble(), anyDouble(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Keep only the nearby hotels with a free room for the stay")
+    void shouldFindNearbyHotelsWithFreeRoom() {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = checkIn.plusDays(2);
+        UUID fullId = UUID.randomUUID();
+        Room free = Room.builder().id(UUID.randomUUID()).hotel(hotel).build();
+        Room booked = Room.builder().id(UUID.randomUUID()).hotel(Hotel.builder().id(fullId).build()).build();
+        HotelNearbySearchDTO criteria = HotelNearbySearchDTO.builder()
+                .latitude(-12.05).longitude(-77.04).radiusKm(5.0)
+                .checkIn(checkIn).checkOut(checkOut).guests(2)
+                .build();
+        when(geoIndex.isEnabled()).thenReturn(true);
+        when(geoIndex.findNearby(any(GeoPoint.class), eq(5.0))).thenReturn(List.of(
+                new NearbyHotel(fullId, 0.2), new NearbyHotel(id, 0.4)));
+        when(roomRepository.findAvailableRoomsOfHotels(List.of(fullId, id), 2)).thenReturn(List.of(booked, free));
+        when(availabilityIndex.filterAvailable(List.of(booked.getId(), free.getId()), checkIn, checkOut))
+                .thenReturn(List.of(free.getId()));
+        when(repository.findAllById(List.of(id))).thenReturn(List.of(hotel));
+
+        List<HotelNearbyDTO> result = service.findNearby(criteria, null);
+
+        assertEquals(1, result.size());
+        assertEquals(id, result.get(0).id());
+    }
+
+    @Test
+    @DisplayName("Find nearby hotels through the database when the geo index is off")
+    void shouldFindNearbyHotelsFromDatabase() {
+        HotelDistanceHit hit = mock(HotelDistanceHit.class);
+        when(hit.getHotelId()).thenReturn(id);
+        when(hit.getDistanceKm()).thenReturn(1.5);
+        when(geoIndex.isEnabled()).thenReturn(false);
+        when(repository.findNearby(-12.05, -77.04, 5000.0)).thenReturn(List.of(hit));
+        when(repository.findAllById(List.of(id))).thenReturn(List.of(hotel));
+
+        List<HotelNearbyDTO> result = service.findNearby(
+                HotelNearbySearchDTO.builder().latitude(-12.05).longitude(-77.04).radiusKm(5.0).build(), null);
+
+        assertEquals(1.5, result.get(0).distanceKm());
+        verify(geoIndex, never()).findNearby(any(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("Reject a nearby search with invalid center, radius or stay")
+    void shouldRejectInvalidNearbySearch() {
+        HotelNearbySearchDTO.HotelNearbySearchDTOBuilder valid =
+                HotelNearbySearchDTO.builder().latitude(-12.05).longitude(-77.04).radiusKm(5.0);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findNearby(valid.latitude(91.0).build(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findNearby(valid.latitude(-12.05).radiusKm(500.0).build(), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findNearby(valid.radiusKm(5.0).checkIn(LocalDate.now()).build(), null));
+        verifyNoInteractions(geoIndex, repository);
+    }
+
+    private static HotelSearchHit hit(UUID id, String name, double rank) {
+        return new HotelSearchHit() {
+            public UUID getId() { return id; }
+            public String getName() { return name; }
+            public String getAddress() { return "Jiron Bolivia"; }
+            public String getPhone() { return "97772222"; }
+            public String getEmail() { return null; }
+            public Double getLatitude() { return null; }
+            public Double getLongitude() { return null; }
+            public Double getRank() { return rank; }
+        };
+    }
 }
@@ -0,0 +1,179 @@
+package project.hotel_reservations.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
+import project.hotel_reservations.config.CacheConfig;
+import project.hotel_reservations.dto.hotel.HotelCreateDTO;
+import project.hotel_reservations.dto.hotel.HotelNearbySearchDTO;
+import project.hotel_reservations.dto.hotel.HotelUpdateDTO;
+import project.hotel_reservations.geo.HotelGeoIndex;
+import project.hotel_reservations.mapper.HotelMapperImpl;
+import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.model.Room;
+import project.hotel_reservations.pagination.CursorCodec;
+import project.hotel_reservations.repository.HotelEarningsRepository;
+import project.hotel_reservations.repository.HotelRepository;
+import project.hotel_reservations.repository.RoomRepository;
+import project.hotel_reservations.support.sql.SqlCountTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static project.hotel_reservations.support.sql.SqlCount.*;
+
+@SqlCountTest
+@Import({
+        HotelServiceImpl.class,
+        HotelEarningsServiceImpl.class,
+        CacheConfig.class,
+        HotelGeoIndex.class,
+        RoomAvailabilityIndex.class,
+        HotelMapperImpl.class,
+        CursorCodec.class
+})
+public class HotelServiceSqlCountTest {
+
+    @Autowired
+    private HotelService service;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private HotelEarningsRepository earningsRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private HotelGeoIndex geoIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+
+    @BeforeEach
+    void setup() {
+        hotel = hotelRepository.save(Hotel.builder().name("Hotel A").address("Av. 1").phone("555")
+                .latitude(-12.05).longitude(-77.04).build());
+        geoIndex.track(hotel);
+        hotelRepository.save(Hotel.builder().name("Hotel B").address("Av. 2").phone("556").build());
+        jdbcTemplate.update("INSERT INTO hotel_earnings (hotel_id, total_amount, payment_count, updated_at) "
+                + "VALUES (?, 150.00, 3, CURRENT_TIMESTAMP)", hotel.getId());
+
+        reset();
+    }
+
+    @AfterEach
+    void cleanup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "rooms", "hotel_earnings", "hotels");
+        geoIndex.untrack(hotel.getId());
+    }
+
+    @Test
+    @DisplayName("create inserts the hotel and its ledger row")
+    void create() {
+        service.create(HotelCreateDTO.builder().name("Hotel C").address("Av. 3").phone("557").build());
+
+        assertInsertCount(2);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("findAll reads a page with one SELECT")
+    void findAll() {
+        assertEquals(2, service.findAll(null, null).items().size());
+
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("findById reads one hotel with one SELECT, repeated reads hit the cache")
+    void findById() {
+        CaffeineCache cache = (CaffeineCache) ((TransactionAwareCacheDecorator) cacheManager.getCache(CacheConfig.HOTELS))
+                .getTargetCache();
+        long hits = cache.getNativeCache().stats().hitCount();
+
+        service.findById(hotel.getId());
+        service.findById(hotel.getId());
+
+        assertSelectCount(1);
+        assertStatementCount(1);
+        assertEquals(hits + 1, cache.getNativeCache().stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("update evicts the cached hotel once committed")
+    void updateEvictsCachedHotel() {
+        service.findById(hotel.getId());
+        service.update(hotel.getId(), HotelUpdateDTO.builder().phone("999").build());
+        reset();
+
+        assertEquals("999", service.findById(hotel.getId()).phone());
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("update loads and updates the hotel")
+    void update() {
+        service.update(hotel.getId(), HotelUpdateDTO.builder().phone("999").build());
+
+        assertSelectCount(1);
+        assertUpdateCount(1);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("delete checks, loads and deletes the hotel, the database drops its ledger row")
+    void delete() {
+        service.delete(hotel.getId());
+
+        assertDeleteCount(1);
+        assertSelectCount(3);
+        assertStatementCount(4);
+        assertEquals(Optional.empty(), earningsRepository.findTotalByHotelId(hotel.getId()));
+    }
+
+    @Test
+    @DisplayName("getTotalEarningsByHotel reads the ledger row with one SELECT")
+    void getTotalEarningsByHotel() {
+        assertEquals(new BigDecimal("150.00"), service.getTotalEarningsByHotel(hotel.getId()));
+
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("findNearby reads the rooms of the hotels in range and the hotels with two SELECTs")
+    void findNearby() {
+        roomRepository.save(Room.builder().code("101").type("suite").capacity(2).price(new BigDecimal("80.00"))
+                .description("Suite").hotel(hotel).build());
+        reset();
+
+        HotelNearbySearchDTO criteria = HotelNearbySearchDTO.builder()
+                .latitude(-12.06).longitude(-77.03).radiusKm(5.0)
+                .checkIn(LocalDate.now().plusDays(1)).checkOut(LocalDate.now().plusDays(3))
+                .build();
+
+        assertEquals(1, service.findNearby(criteria, null).size());
+        assertSelectCount(2);
+        assertStatementCount(2);
+    }
+}
@@ -0,0 +1,148 @@
+package project.hotel_reservations.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_reservations.dto.hotel.HotelMonthlyStats;
+import project.hotel_reservations.dto.hotel.HotelStatsDTO;
+import project.hotel_reservations.dto.hotel.StatsGranularity;
+import project.hotel_reservations.model.*;
+import project.hotel_reservations.repository.HotelDailyStatsRepository;
+import project.hotel_reservations.repository.HotelRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class HotelStatsServiceImplTest {
+
+    private UUID hotelId;
+    private Reservation reservation;
+    private LocalDate checkIn;
+
+    @Mock
+    private HotelDailyStatsRepository repository;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @InjectMocks
+    private HotelStatsServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        hotelId = UUID.randomUUID();
+        checkIn = LocalDate.of(2026, 3, 10);
+        Room room = Room.builder().id(UUID.randomUUID()).hotel(Hotel.builder().id(hotelId).build()).build();
+        reservation = Reservation.builder()
+                .id(UUID.randomUUID())
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(3))
+                .room(room)
+                .payment(Payment.builder().totalAmount(new BigDecimal("100.00")).build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Spread a confirmed stay over its nights, the check-in night takes the remainder")
+    void shouldRecordStay() {
+        service.recordStay(reservation);
+
+        verify(repository).createMissingDays(hotelId, checkIn, checkIn.plusDays(3));
+        verify(repository).addStay(hotelId, checkIn, checkIn.plusDays(3), 1, new BigDecimal("33.33"));
+        verify(repository).addRevenue(hotelId, checkIn, new BigDecimal("0.01"));
+    }
+
+    @Test
+    @DisplayName("Reverse a cancelled stay with the opposite amounts")
+    void shouldReverseStay() {
+        reservation.getPayment().setTotalAmount(new BigDecimal("90.00"));
+
+        service.reverseStay(reservation);
+
+        verify(repository).addStay(hotelId, checkIn, checkIn.plusDays(3), -1, new BigDecimal("-30.00"));
+        verify(repository, never()).addRevenue(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Change the room count from today on")
+    void shouldChangeRoomCount() {
+        service.changeRoomCount(hotelId, -1);
+
+        verify(repository).adjustRoomsAvailable(hotelId, LocalDate.now(), -1);
+    }
+
+    @Test
+    @DisplayName("Open the days of every hotel")
+    void shouldOpenDays() {
+        service.openDays(checkIn, checkIn.plusDays(90));
+
+        verify(repository).createMissingDaysOfAllHotels(checkIn, checkIn.plusDays(90));
+    }
+
+    @Test
+    @DisplayName("Backfill rebuilds the range including its last day")
+    void shouldBackfill() {
+        when(hotelRepository.existsById(hotelId)).thenReturn(true);
+        when(repository.rebuildDays(hotelId, checkIn, checkIn.plusDays(31))).thenReturn(31);
+
+        assertEquals(31, service.backfill(hotelId, checkIn, checkIn.plusDays(30)));
+    }
+
+    @Test
+    @DisplayName("Compute occupancy and ADR of daily rollups")
+    void shouldFindDailyStats() {
+        when(hotelRepository.existsById(hotelId)).thenReturn(true);
+        when(repository.findDays(hotelId, checkIn, checkIn)).thenReturn(List.of(HotelDailyStats.builder()
+                .day(checkIn).revenue(new BigDecimal("250.00")).nightsSold(2).roomsAvailable(8).build()));
+
+        List<HotelStatsDTO> result = service.findStats(hotelId, checkIn, checkIn, StatsGranularity.DAY);
+
+        assertEquals(new BigDecimal("0.2500"), result.get(0).occupancy());
+        assertEquals(new BigDecimal("125.00"), result.get(0).adr());
+    }
+
+    @Test
+    @DisplayName("Read monthly totals and keep zero ADR for months without sales")
+    void shouldFindMonthlyStats() {
+        LocalDate to = checkIn.plusMonths(1);
+        when(hotelRepository.existsById(hotelId)).thenReturn(true);
+        when(repository.findMonths(hotelId, checkIn, to)).thenReturn(List.of(
+                new HotelMonthlyStats(2026, 3, BigDecimal.ZERO, 0L, 0L)));
+
+        List<HotelStatsDTO> result = service.findStats(hotelId, checkIn, to, StatsGranularity.MONTH);
+
+        assertEquals(LocalDate.of(2026, 3, 1), result.get(0).period());
+        assertEquals(BigDecimal.ZERO, result.get(0).occupancy());
+        assertEquals(BigDecimal.ZERO, result.get(0).adr());
+    }
+
+    @Test
+    @DisplayName("Throw on an inverted date range")
+    void shouldThrowOnInvertedRange() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findStats(hotelId, checkIn, checkIn.minusDays(1), StatsGranularity.DAY));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Throw when the hotel does not exist")
+    void shouldThrowWhenHotelNotFound() {
+        when(hotelRepository.existsById(hotelId)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class,
+                () -> service.findStats(hotelId, checkIn, checkIn, StatsGranularity.DAY));
+    }
+}
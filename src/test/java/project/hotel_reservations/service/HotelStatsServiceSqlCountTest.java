@@ -0,0 +1,100 @@
+package project.hotel_reservations.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import project.hotel_reservations.dto.hotel.HotelStatsDTO;
+import project.hotel_reservations.dto.hotel.StatsGranularity;
+import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.repository.HotelRepository;
+import project.hotel_reservations.support.sql.SqlCountTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static project.hotel_reservations.support.sql.SqlCount.*;
+
+@SqlCountTest
+@Import(HotelStatsServiceImpl.class)
+public class HotelStatsServiceSqlCountTest {
+
+    private static final LocalDate JAN_30 = LocalDate.of(2026, 1, 30);
+
+    @Autowired
+    private HotelStatsService service;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Hotel hotel;
+
+    @BeforeEach
+    void setup() {
+        hotel = hotelRepository.save(Hotel.builder().name("Hotel A").address("Av. 1").phone("555").build());
+        day(JAN_30, "200.00", 2, 10);
+        day(JAN_30.plusDays(1), "100.00", 1, 10);
+        day(JAN_30.plusDays(2), "300.00", 3, 10);
+
+        reset();
+    }
+
+    @AfterEach
+    void cleanup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "hotel_daily_stats", "hotels");
+    }
+
+    @Test
+    @DisplayName("findStats by day checks the hotel and reads the rollup rows")
+    void findDays() {
+        List<HotelStatsDTO> days = service.findStats(hotel.getId(), JAN_30, JAN_30.plusDays(1), StatsGranularity.DAY);
+
+        assertEquals(2, days.size());
+        assertSelectCount(2);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("findStats by month sums the daily rollups with one GROUP BY")
+    void findMonths() {
+        List<HotelStatsDTO> months = service.findStats(hotel.getId(), JAN_30, JAN_30.plusDays(2), StatsGranularity.MONTH);
+
+        assertEquals(2, months.size());
+        assertEquals(LocalDate.of(2026, 1, 1), months.get(0).period());
+        assertEquals(0, new BigDecimal("300.00").compareTo(months.get(0).revenue()));
+        assertEquals(20, months.get(0).roomsAvailable());
+        assertEquals(0, new BigDecimal("100.00").compareTo(months.get(0).adr()));
+        assertSelectCount(2);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("changeRoomCount moves the days from today on with one UPDATE")
+    void changeRoomCount() {
+        day(LocalDate.now(), "0", 0, 10);
+        reset();
+
+        service.changeRoomCount(hotel.getId(), 1);
+
+        assertUpdateCount(1);
+        assertStatementCount(1);
+        assertEquals(11, jdbcTemplate.queryForObject(
+                "SELECT rooms_available FROM hotel_daily_stats WHERE stat_day = ?", Integer.class, LocalDate.now()));
+    }
+
+    private void day(LocalDate day, String revenue, int nightsSold, int roomsAvailable) {
+        jdbcTemplate.update("INSERT INTO hotel_daily_stats (id, hotel_id, stat_day, revenue, nights_sold, rooms_available) "
+                        + "VALUES (?, ?, ?, ?, ?, ?)",
+                UUID.randomUUID(), hotel.getId(), day, new BigDecimal(revenue), nightsSold, roomsAvailable);
+    }
+}
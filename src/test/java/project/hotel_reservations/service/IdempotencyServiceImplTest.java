@@ -0,0 +1,274 @@
+package project.hotel_reservations.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import project.hotel_reservations.dto.reservation.ReservationResponseDTO;
+import project.hotel_reservations.model.IdempotencyRecord;
+import project.hotel_reservations.repository.IdempotencyRecordRepository;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceImplTest {
+
+    private static final String SCOPE = "POST /reservations";
+    private static final String RECORD = SCOPE + ":guest@mail.com:key";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyServiceImpl service;
+    private ReservationResponseDTO response;
+
+    @BeforeEach
+    void setup() {
+        service = new IdempotencyServiceImpl(repository, objectMapper, Duration.ofHours(1), Duration.ofMinutes(1), 100);
+        response = ReservationResponseDTO.builder().id(UUID.randomUUID()).peopleCount(2).build();
+        authenticate("guest@mail.com");
+    }
+
+    @AfterEach
+    void clear() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Run the action unguarded when no key is sent")
+    void shouldRunWithoutKey() {
+        ReservationResponseDTO result = service.execute(null, SCOPE, Map.of("a", 1),
+                ReservationResponseDTO.class, () -> response);
+
+        assertEquals(response, result);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("Run the action once and replay the stored response for repeated requests")
+    void shouldReplayRepeatedRequest() {
+        AtomicInteger calls = new AtomicInteger();
+        when(repository.findById(RECORD)).thenReturn(Optional.empty());
+        when(repository.claim(eq(RECORD), anyString(), any(), any())).thenReturn(1);
+
+        ReservationResponseDTO first = service.execute("key", SCOPE, Map.of("a", 1),
+                ReservationResponseDTO.class, () -> { calls.incrementAndGet(); return response; });
+        ReservationResponseDTO second = service.execute("key", SCOPE, Map.of("a", 1),
+                ReservationResponseDTO.class, () -> { calls.incrementAndGet(); return response; });
+
+        assertEquals(response, first);
+        assertEquals(response, second);
+        assertEquals(1, calls.get());
+        verify(repository).complete(eq(RECORD), anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Replay a response stored by another node")
+    void shouldReplayStoredResponse() throws Exception {
+        ReservationResponseDTO stored = ReservationResponseDTO.builder().id(UUID.randomUUID()).build();
+        String body = objectMapper.writeValueAsString(stored);
+        String hash = hashOf(Map.of("a", 1));
+
+        when(repository.findById(RECORD)).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .key(RECORD)
+                .requestHash(hash)
+                .responseBody(body)
+                .createdAt(LocalDateTime.now())
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build()));
+
+        ReservationResponseDTO result = service.execute("key", SCOPE, Map.of("a", 1),
+                ReservationResponseDTO.class, () -> fail("action must not run"));
+
+        assertEquals(stored, result);
+        verify(repository, never()).claim(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Throw when a key is reused for a different request")
+    void shouldRejectDifferentRequest() {
+        when(repository.findById(RECORD)).thenReturn(Optional.empty());
+        when(repository.claim(eq(RECORD), anyString(), any(), any())).thenReturn(1);
+
+        service.execute("key", SCOPE, Map.of("a", 1), ReservationResponseDTO.class, () -> response);
+
+        assertThrows(IllegalStateException.class,
+                () -> service.execute("key", SCOPE, Map.of("a", 2), ReservationResponseDTO.class, () -> response));
+    }
+
+    @Test
+    @DisplayName("Keep the same key of two callers apart")
+    void shouldScopeKeyToCaller() {
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        when(repository.claim(anyString(), anyString(), any(), any())).thenReturn(1);
+        ReservationResponseDTO other = ReservationResponseDTO.builder().id(UUID.randomUUID()).build();
+
+        ReservationResponseDTO first = service.execute("key", SCOPE, Map.of("a", 1),
+                ReservationResponseDTO.class, () -> response);
+        authenticate("other@mail.com");
+        ReservationResponseDTO second = service.execute("key", SCOPE, Map.of("a", 1),
+                ReservationResponseDTO.class, () -> other);
+
+        assertEquals(response, first);
+        assertEquals(other, second);
+        verify(repository).claim(eq(RECORD), anyString(), any(), any());
+        verify(repository).claim(eq(SCOPE + ":other@mail.com:key"), anyString(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Throw when another node is still processing the key")
+    void shouldRejectWhenClaimedElsewhere() {
+        when(repository.findById(RECORD)).thenReturn(Optional.empty());
+        when(repository.claim(eq(RECORD), anyString(), any(), any())).thenReturn(0);
+
+        assertThrows(IllegalStateException.class,
+                () -> service.execute("key", SCOPE, Map.of("a", 1), ReservationResponseDTO.class, () -> response));
+    }
+
+    @Test
+    @DisplayName("Throw while the claim of another request on the key is still live")
+    void shouldRejectWhileClaimIsLive() {
+        when(repository.findById(RECORD)).thenReturn(Optional.of(claim(LocalDateTime.now().plusMinutes(1))));
+
+        assertThrows(IllegalStateException.class, () -> service.execute("key", SCOPE, Map.of("a", 1),
+                ReservationResponseDTO.class, () -> fail("action must not run")));
+
+        verify(repository, never()).claim(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Take over a claim whose request never stored a response once its lease ran out")
+    void shouldTakeOverLapsedClaim() {
+        when(repository.findById(RECORD)).thenReturn(Optional.of(claim(LocalDateTime.now().minusSeconds(1))));
+        when(repository.claim(eq(RECORD), anyString(), any(), any())).thenReturn(0);
+        when(repository.takeOver(eq(RECORD), anyString(), any(), any())).thenReturn(1);
+
+        ReservationResponseDTO result = service.execute("key", SCOPE, Map.of("a", 1),
+                ReservationResponseDTO.class, () -> response);
+
+        assertEquals(response, result);
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(repository).complete(eq(RECORD), anyString(), expiresAt.capture());
+        assertTrue(expiresAt.getValue().isAfter(LocalDateTime.now().plusMinutes(59)));
+    }
+
+    @Test
+    @DisplayName("Release the key when the action fails so the client can retry")
+    void shouldReleaseKeyOnFailure() {
+        when(repository.findById(RECORD)).thenReturn(Optional.empty());
+        when(repository.claim(eq(RECORD), anyString(), any(), any())).thenReturn(1);
+
+        assertThrows(IllegalStateException.class, () -> service.execute("key", SCOPE, Map.of("a", 1),
+                ReservationResponseDTO.class, () -> { throw new IllegalStateException("Room is not available"); }));
+
+        verify(repository).deleteById(RECORD);
+        verify(repository, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Throw when the key is blank")
+    void shouldRejectBlankKey() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.execute(" ", SCOPE, Map.of(), ReservationResponseDTO.class, () -> response));
+    }
+
+    @Test
+    @DisplayName("Coalesce concurrent duplicates so the action runs once")
+    void shouldCoalesceInFlightDuplicates() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findById(RECORD)).thenReturn(Optional.empty());
+        when(repository.claim(eq(RECORD), anyString(), any(), any())).thenReturn(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<ReservationResponseDTO> first = executor.submit(() -> {
+            authenticate("guest@mail.com");
+            return service.execute("key", SCOPE, Map.of("a", 1), ReservationResponseDTO.class, () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return response;
+            });
+        });
+        started.await(5, TimeUnit.SECONDS);
+        Future<ReservationResponseDTO> second = executor.submit(() -> {
+            authenticate("guest@mail.com");
+            return service.execute("key", SCOPE, Map.of("a", 1),
+                    ReservationResponseDTO.class, () -> { calls.incrementAndGet(); return response; });
+        });
+
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(response, first.get(5, TimeUnit.SECONDS));
+        assertEquals(response, second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+        executor.shutdown();
+    }
+
+    @Test
+    @DisplayName("Purge expired records")
+    void shouldPurgeExpired() {
+        when(repository.deleteExpired(any())).thenReturn(3);
+
+        assertEquals(3, service.purgeExpired());
+    }
+
+    private static void authenticate(String subject) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(subject, null, List.of()));
+    }
+
+    private static IdempotencyRecord claim(LocalDateTime claimedUntil) {
+        return IdempotencyRecord.builder()
+                .key(RECORD)
+                .requestHash("hash")
+                .claimedUntil(claimedUntil)
+                .createdAt(LocalDateTime.now().minusMinutes(5))
+                .expiresAt(claimedUntil)
+                .build();
+    }
+
+    private String hashOf(Object request) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256")
+                .digest(objectMapper.writeValueAsBytes(request));
+        return HexFormat.of().formatHex(digest);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
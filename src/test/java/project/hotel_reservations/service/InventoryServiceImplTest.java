@@ -0,0 +1,91 @@
+package project.hotel_reservations.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_reservations.repository.RoomInventoryRepository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class InventoryServiceImplTest {
+
+    private UUID hotelId;
+    private LocalDate checkIn;
+    private LocalDate checkOut;
+
+    @Mock
+    private RoomInventoryRepository repository;
+
+    @InjectMocks
+    private InventoryServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        hotelId = UUID.randomUUID();
+        checkIn = LocalDate.now().plusDays(1);
+        checkOut = checkIn.plusDays(3);
+    }
+
+    @Test
+    @DisplayName("Sell one room of a type for every night of the stay")
+    void shouldSellEveryNight() {
+        when(repository.sellNights(hotelId, "suite", checkIn, checkOut)).thenReturn(3);
+
+        service.sell(hotelId, "suite", checkIn, checkOut);
+
+        verify(repository).createMissingNights(hotelId, "suite", checkIn, checkOut);
+    }
+
+    @Test
+    @DisplayName("Throw when some night of the stay is sold out")
+    void shouldThrowWhenNightSoldOut() {
+        when(repository.sellNights(hotelId, "suite", checkIn, checkOut)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> service.sell(hotelId, "suite", checkIn, checkOut));
+    }
+
+    @Test
+    @DisplayName("Report a sold out stay without throwing")
+    void shouldNotSellWhenNightSoldOut() {
+        when(repository.sellNights(hotelId, "suite", checkIn, checkOut)).thenReturn(0);
+
+        assertFalse(service.trySell(hotelId, "suite", checkIn, checkOut));
+    }
+
+    @Test
+    @DisplayName("Throw when a concurrent booking sells out a night mid-update")
+    void shouldThrowWhenPartiallySold() {
+        when(repository.sellNights(hotelId, "suite", checkIn, checkOut)).thenReturn(2);
+
+        assertThrows(IllegalStateException.class, () -> service.trySell(hotelId, "suite", checkIn, checkOut));
+    }
+
+    @Test
+    @DisplayName("Release the nights of a cancelled stay")
+    void shouldReleaseNights() {
+        service.release(hotelId, "suite", checkIn, checkOut);
+
+        verify(repository).releaseNights(hotelId, "suite", checkIn, checkOut);
+    }
+
+    @Test
+    @DisplayName("Adjust the allotment of a type from today on")
+    void shouldChangeRoomCount() {
+        service.changeRoomCount(hotelId, "suite", -1);
+
+        verify(repository).adjustTotal(eq(hotelId), eq("suite"), any(LocalDate.class), eq(-1));
+    }
+}
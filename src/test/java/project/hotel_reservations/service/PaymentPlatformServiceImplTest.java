@@ -8,12 +8,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformCreateDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformResponseDTO;
 import project.hotel_reservations.dto.payment_platform.PaymentPlatformUpdateDTO;
+import project.hotel_reservations.factory.PaymentProcessorRegistry;
 import project.hotel_reservations.mapper.PaymentPlatformMapper;
 import project.hotel_reservations.model.PaymentPlatform;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.PaymentPlatformRepository;
 
 import java.util.List;
@@ -21,6 +26,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -36,6 +42,12 @@ public class PaymentPlatformServiceImplTest {
     @Mock
     private PaymentPlatformMapper mapper;
 
+    @Spy
+    private CursorCodec cursors = new CursorCodec(50, 500);
+
+    @Mock
+    private PaymentProcessorRegistry processors;
+
     @InjectMocks
     private PaymentPlatformServiceImpl service;
 
@@ -71,6 +83,7 @@ public class PaymentPlatformServiceImplTest {
                         .code("PP")
                         .build();
 
+        when(processors.supports("PP")).thenReturn(true);
         when(repository.save(any(PaymentPlatform.class))).thenReturn(platform);
         when(mapper.toDto(platform)).thenReturn(dto);
 
@@ -86,7 +99,7 @@ public class PaymentPlatformServiceImplTest {
     @Test
     @DisplayName("List all payment platforms")
     void shouldListAllPlatforms() {
-        when(repository.findAll()).thenReturn(List.of(platform));
+        when(repository.findPage(Limit.of(51))).thenReturn(List.of(platform));
         when(mapper.toDto(platform)).thenReturn(
                 PaymentPlatformResponseDTO.builder()
                         .id(null)
@@ -95,10 +108,11 @@ public class PaymentPlatformServiceImplTest {
                         .build()
         );
 
-        List<PaymentPlatformResponseDTO> result = service.findAll();
+        CursorPageDTO<PaymentPlatformResponseDTO> result = service.findAll(null, null);
 
-        assertEquals(1, result.size());
-        verify(repository).findAll();
+        assertEquals(1, result.items().size());
+        assertNull(result.next());
+        verify(repository).findPage(Limit.of(51));
     }
 
     @Test
@@ -151,6 +165,7 @@ public class PaymentPlatformServiceImplTest {
                         .code("PPU")
                         .build();
 
+        when(processors.supports("PPU")).thenReturn(true);
         when(repository.findById(id)).thenReturn(Optional.of(platform));
 
         // Simulate mapper.toEntity(updateDTO, entity)
@@ -171,6 +186,35 @@ public class PaymentPlatformServiceImplTest {
         verify(repository).save(platform);
     }
 
+    @Test
+    @DisplayName("Reject a platform without a payment processor")
+    void shouldRejectCreateWithoutProcessor() {
+        PaymentPlatformCreateDTO req =
+                PaymentPlatformCreateDTO.builder()
+                        .name("Bitcoin")
+                        .code("BTC")
+                        .build();
+
+        when(processors.supports("BTC")).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> service.create(req));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Reject changing the code to one without a payment processor")
+    void shouldRejectUpdateWithoutProcessor() {
+        PaymentPlatformUpdateDTO req =
+                PaymentPlatformUpdateDTO.builder()
+                        .code("BTC")
+                        .build();
+
+        when(processors.supports("BTC")).thenReturn(false);
+
+        assertThrows(IllegalArgumentException.class, () -> service.update(id, req));
+        verify(repository, never()).save(any());
+    }
+
     @Test
     @DisplayName("Throw when updating non-existing platform")
     void shouldThrowWhenUpdateNotFound() {
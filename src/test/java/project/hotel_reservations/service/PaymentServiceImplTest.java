@@ -1,19 +1,17 @@
 package project.hotel_reservations.service;
 
 import jakarta.persistence.EntityNotFoundException;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import project.hotel_reservations.dto.payment.PaymentCreateDTO;
+import project.hotel_reservations.dto.payment_platform.PaymentPlatformResponseDTO;
 import project.hotel_reservations.factory.PaymentProcessor;
-import project.hotel_reservations.factory.PaymentProcessorFactory;
+import project.hotel_reservations.factory.PaymentProcessorRegistry;
 import project.hotel_reservations.model.Payment;
 import project.hotel_reservations.model.PaymentMethod;
 import project.hotel_reservations.model.PaymentPlatform;
@@ -22,7 +20,6 @@ import project.hotel_reservations.repository.PaymentPlatformRepository;
 import project.hotel_reservations.repository.PaymentRepository;
 
 import java.math.BigDecimal;
-import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -38,6 +35,12 @@ public class PaymentServiceImplTest {
     @Mock
     private PaymentPlatformRepository platformRepository;
 
+    @Mock
+    private PaymentPlatformService platformService;
+
+    @Mock
+    private HotelEarningsService earningsService;
+
     @InjectMocks
     private PaymentServiceImpl service;
 
@@ -47,7 +50,8 @@ public class PaymentServiceImplTest {
     private Reservation reservation;
     private PaymentPlatform platform;
 
-    private MockedStatic<PaymentProcessorFactory> factoryMock;
+    @Mock
+    private PaymentProcessorRegistry processorRegistry;
 
     @BeforeEach
     void setup() {
@@ -63,11 +67,6 @@ public class PaymentServiceImplTest {
                 .build();
     }
 
-    @AfterEach
-    void closeStaticMocks() {
-        if (factoryMock != null) factoryMock.close();
-    }
-
     @Test
     @DisplayName("Process CASH payment successfully (no platform)")
     void shouldProcessCashPayment() {
@@ -91,6 +90,7 @@ public class PaymentServiceImplTest {
 
         assertEquals(PaymentMethod.CASH, result.getPaymentMethod());
         verify(repository).save(any(Payment.class));
+        verify(earningsService).record(saved);
         verifyNoInteractions(platformRepository);
     }
 
@@ -107,6 +107,7 @@ public class PaymentServiceImplTest {
         assertThrows(IllegalArgumentException.class, () -> service.processPayment(req));
         verifyNoInteractions(repository);
         verifyNoInteractions(platformRepository);
+        verifyNoInteractions(earningsService);
     }
 
     @Test
@@ -135,7 +136,7 @@ public class PaymentServiceImplTest {
                 platformId
         );
 
-        when(platformRepository.findById(platformId)).thenReturn(Optional.empty());
+        when(platformService.findById(platformId)).thenThrow(new EntityNotFoundException("Payment platform not found"));
 
         assertThrows(EntityNotFoundException.class, () -> service.processPayment(req));
         verifyNoInteractions(repository);
@@ -154,12 +155,11 @@ public class PaymentServiceImplTest {
                 platformId
         );
 
-        when(platformRepository.findById(platformId))
-                .thenReturn(Optional.of(platform));
+        when(platformService.findById(platformId)).thenReturn(
+                new PaymentPlatformResponseDTO(platformId, platform.getName(), platform.getCode(), true));
+        when(platformRepository.getReferenceById(platformId)).thenReturn(platform);
 
-        factoryMock = Mockito.mockStatic(PaymentProcessorFactory.class);
-        factoryMock.when(() -> PaymentProcessorFactory.getProcessor(platform))
-                .thenReturn(processor);
+        when(processorRegistry.getProcessor(platform.getCode())).thenReturn(processor);
 
         Payment saved = Payment.builder()
                 .id(UUID.randomUUID())
@@ -178,8 +178,24 @@ public class PaymentServiceImplTest {
 
         verify(processor).process(any(Payment.class));
         verify(repository).save(any(Payment.class));
+        verify(earningsService).record(saved);
 
-        factoryMock.verify(() -> PaymentProcessorFactory.getProcessor(platform));
+        verify(processorRegistry).getProcessor(platform.getCode());
+        verify(platformRepository, never()).findById(platformId);
     }
 
+    @Test
+    @DisplayName("Refund takes the payment back out of the hotel earnings")
+    void shouldRefundPayment() {
+        Payment payment = Payment.builder()
+                .id(UUID.randomUUID())
+                .totalAmount(new BigDecimal("100"))
+                .reservation(reservation)
+                .build();
+
+        service.refund(payment);
+
+        verify(earningsService).reverse(payment);
+        verifyNoInteractions(repository);
+    }
 }
@@ -0,0 +1,118 @@
+package project.hotel_reservations.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_reservations.dto.payment.PaymentResponseDTO;
+import project.hotel_reservations.dto.reservation.ReservationExportFormat;
+import project.hotel_reservations.dto.reservation.ReservationResponseDTO;
+import project.hotel_reservations.mapper.ReservationMapper;
+import project.hotel_reservations.model.PaymentMethod;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.model.ReservationStatus;
+import project.hotel_reservations.repository.ReservationRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationExportServiceImplTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private ReservationRepository repository;
+
+    @Mock
+    private ReservationMapper mapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ReservationExportServiceImpl service;
+    private Reservation first;
+    private Reservation second;
+    private ReservationResponseDTO firstDto;
+    private ReservationResponseDTO secondDto;
+
+    @BeforeEach
+    void setup() {
+        service = new ReservationExportServiceImpl(repository, mapper, objectMapper, entityManager, 2);
+
+        first = Reservation.builder().id(UUID.randomUUID()).build();
+        second = Reservation.builder().id(UUID.randomUUID()).build();
+        firstDto = ReservationResponseDTO.builder()
+                .id(first.getId())
+                .checkInDate(LocalDate.of(2026, 1, 10))
+                .checkOutDate(LocalDate.of(2026, 1, 12))
+                .peopleCount(2)
+                .status(ReservationStatus.CONFIRMED)
+                .payment(PaymentResponseDTO.builder()
+                        .totalAmount(new BigDecimal("150.00"))
+                        .paymentMethod(PaymentMethod.CASH)
+                        .build())
+                .build();
+        secondDto = ReservationResponseDTO.builder()
+                .id(second.getId())
+                .status(ReservationStatus.PENDING)
+                .build();
+        when(mapper.toDto(first)).thenReturn(firstDto);
+        when(mapper.toDto(second)).thenReturn(secondDto);
+    }
+
+    @Test
+    @DisplayName("Write one JSON document per line")
+    void shouldExportNdjson() throws Exception {
+        when(repository.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long rows = service.export(ReservationExportFormat.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, rows);
+        assertEquals(2, lines.length);
+        assertEquals(firstDto, objectMapper.readValue(lines[0], ReservationResponseDTO.class));
+        assertEquals(secondDto, objectMapper.readValue(lines[1], ReservationResponseDTO.class));
+    }
+
+    @Test
+    @DisplayName("Write a CSV header and one row per reservation")
+    void shouldExportCsv() throws Exception {
+        when(repository.streamAll()).thenReturn(Stream.of(first, second));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.export(ReservationExportFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("id,check_in_date,"));
+        assertEquals(first.getId() + ",2026-01-10,2026-01-12,2,CONFIRMED,,,,150.00,,CASH,", lines[1]);
+        assertEquals(second.getId() + ",,,,PENDING,,,,,,,", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Clear the persistence context every N rows and close the cursor")
+    void shouldClearPersistenceContextAndCloseStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(repository.streamAll()).thenReturn(Stream.of(first, second, first).onClose(() -> closed.set(true)));
+
+        long rows = service.export(ReservationExportFormat.NDJSON, new ByteArrayOutputStream());
+
+        assertEquals(3, rows);
+        verify(entityManager, times(1)).clear();
+        assertTrue(closed.get());
+    }
+}
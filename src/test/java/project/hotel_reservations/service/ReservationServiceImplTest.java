@@ -8,28 +8,50 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
+import project.hotel_reservations.availability.StayInterval;
+import project.hotel_reservations.concurrency.RoomLockManager;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.payment.PaymentCreateDTO;
 import project.hotel_reservations.dto.reservation.PayReservationDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchResponseDTO;
 import project.hotel_reservations.dto.reservation.ReservationCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationGroupDTO;
+import project.hotel_reservations.dto.reservation.ReservationGroupTotal;
+import project.hotel_reservations.dto.reservation.ReservationGrouping;
 import project.hotel_reservations.dto.reservation.ReservationResponseDTO;
+import project.hotel_reservations.dto.reservation.RoomTypeReservationCreateDTO;
+import project.hotel_reservations.exception.BatchRejectedException;
 import project.hotel_reservations.exception.ReservationNotFoundException;
+import project.hotel_reservations.hold.ReservationHoldScheduler;
 import project.hotel_reservations.mapper.ReservationMapper;
 import project.hotel_reservations.model.*;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.GuestRepository;
+import project.hotel_reservations.repository.HotelRepository;
 import project.hotel_reservations.repository.ReservationRepository;
 import project.hotel_reservations.repository.RoomRepository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +61,7 @@ public class ReservationServiceImplTest {
     private Reservation reservation;
     private Room room;
     private Guest guest;
+    private Hotel hotel;
 
     @Mock
     private ReservationRepository repository;
@@ -49,12 +72,33 @@ public class ReservationServiceImplTest {
     @Mock
     private GuestRepository guestRepository;
 
+    @Mock
+    private HotelRepository hotelRepository;
+
     @Mock
     private ReservationMapper mapper;
 
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private RoomLockManager roomLocks;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private ReservationHoldScheduler holds;
+
+    @Mock
+    private HotelStatsService statsService;
+
+    @Spy
+    private CursorCodec cursors = new CursorCodec(50, 500);
+
     @InjectMocks
     private ReservationServiceImpl service;
 
@@ -62,7 +106,8 @@ public class ReservationServiceImplTest {
     void setup() {
         id = UUID.randomUUID();
 
-        room = Room.builder().id(UUID.randomUUID()).build();
+        hotel = Hotel.builder().id(UUID.randomUUID()).build();
+        room = Room.builder().id(UUID.randomUUID()).type("suite").hotel(hotel).build();
         guest = Guest.builder().id(UUID.randomUUID()).build();
 
         reservation = Reservation.builder()
@@ -71,6 +116,8 @@ public class ReservationServiceImplTest {
                 .checkOutDate(LocalDate.now().plusDays(1))
                 .peopleCount(2)
                 .status(ReservationStatus.PENDING)
+                .room(room)
+                .guest(guest)
                 .build();
     }
 
@@ -89,13 +136,203 @@ public class ReservationServiceImplTest {
 
         when(roomRepository.findById(room.getId())).thenReturn(Optional.of(room));
         when(guestRepository.findById(guest.getId())).thenReturn(Optional.of(guest));
-        when(repository.save(any(Reservation.class))).thenReturn(reservation);
+        when(availabilityIndex.isAvailable(room.getId(), req.checkInDate(), req.checkOutDate())).thenReturn(true);
+        when(repository.saveAndFlush(any(Reservation.class))).thenReturn(reservation);
         when(mapper.toDto(reservation)).thenReturn(dto);
 
         ReservationResponseDTO result = service.create(req);
 
         assertEquals(id, result.id());
-        verify(repository).save(any(Reservation.class));
+        verify(roomLocks).lockRoom(room.getId());
+        verify(inventoryService).sell(hotel.getId(), "suite", req.checkInDate(), req.checkOutDate());
+        verify(repository).saveAndFlush(any(Reservation.class));
+        verify(availabilityIndex).register(reservation);
+        verify(holds).track(reservation);
+    }
+
+    @Test
+    @DisplayName("Create reservation for the first free room of a type")
+    void shouldCreateReservationForRoomType() {
+        RoomTypeReservationCreateDTO req = RoomTypeReservationCreateDTO.builder()
+                .checkInDate(LocalDate.now())
+                .checkOutDate(LocalDate.now().plusDays(2))
+                .peopleCount(2)
+                .hotelId(hotel.getId())
+                .roomType("suite")
+                .guestId(guest.getId())
+                .build();
+
+        Room booked = Room.builder().id(UUID.randomUUID()).type("suite").hotel(hotel).build();
+        ReservationResponseDTO dto = ReservationResponseDTO.builder().id(id).build();
+
+        when(hotelRepository.existsById(hotel.getId())).thenReturn(true);
+        when(guestRepository.findById(guest.getId())).thenReturn(Optional.of(guest));
+        when(roomRepository.findAvailableRoomsOfType(hotel.getId(), "suite", 2)).thenReturn(List.of(booked, room));
+        when(availabilityIndex.isAvailable(booked.getId(), req.checkInDate(), req.checkOutDate())).thenReturn(false);
+        when(availabilityIndex.isAvailable(room.getId(), req.checkInDate(), req.checkOutDate())).thenReturn(true);
+        when(repository.saveAndFlush(any(Reservation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mapper.toDto(any(Reservation.class))).thenReturn(dto);
+
+        ReservationResponseDTO result = service.createForRoomType(req);
+
+        assertEquals(id, result.id());
+        verify(inventoryService).sell(hotel.getId(), "suite", req.checkInDate(), req.checkOutDate());
+        verify(roomLocks).lockRooms(List.of(booked.getId(), room.getId()));
+        verify(repository).saveAndFlush(argThat(saved -> saved.getRoom() == room));
+    }
+
+    @Test
+    @DisplayName("Throw when every room of the type is taken")
+    void shouldThrowWhenNoRoomOfTypeLeft() {
+        RoomTypeReservationCreateDTO req = RoomTypeReservationCreateDTO.builder()
+                .checkInDate(LocalDate.now())
+                .checkOutDate(LocalDate.now().plusDays(2))
+                .peopleCount(2)
+                .hotelId(hotel.getId())
+                .roomType("suite")
+                .guestId(guest.getId())
+                .build();
+
+        when(hotelRepository.existsById(hotel.getId())).thenReturn(true);
+        when(guestRepository.findById(guest.getId())).thenReturn(Optional.of(guest));
+        when(roomRepository.findAvailableRoomsOfType(hotel.getId(), "suite", 2)).thenReturn(List.of(room));
+        when(availabilityIndex.isAvailable(room.getId(), req.checkInDate(), req.checkOutDate())).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> service.createForRoomType(req));
+        verify(repository, never()).saveAndFlush(any(Reservation.class));
+    }
+
+    @Test
+    @DisplayName("Throw when hotel not found on create for room type")
+    void shouldThrowWhenHotelNotFoundForRoomType() {
+        RoomTypeReservationCreateDTO req = RoomTypeReservationCreateDTO.builder()
+                .hotelId(hotel.getId())
+                .build();
+
+        when(hotelRepository.existsById(hotel.getId())).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> service.createForRoomType(req));
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    @DisplayName("Throw when another node already booked the room for the requested dates")
+    void shouldThrowWhenDatabaseHasOverlap() {
+        ReservationCreateDTO req = ReservationCreateDTO.builder()
+                .checkInDate(LocalDate.now())
+                .checkOutDate(LocalDate.now().plusDays(1))
+                .peopleCount(2)
+                .roomId(room.getId())
+                .guestId(guest.getId())
+                .build();
+
+        when(roomRepository.findById(room.getId())).thenReturn(Optional.of(room));
+        when(guestRepository.findById(guest.getId())).thenReturn(Optional.of(guest));
+        when(availabilityIndex.isAvailable(room.getId(), req.checkInDate(), req.checkOutDate())).thenReturn(true);
+        when(roomLocks.isDistributed()).thenReturn(true);
+        when(repository.existsOverlapping(room.getId(), req.checkInDate(), req.checkOutDate())).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> service.create(req));
+        verify(repository, never()).saveAndFlush(any(Reservation.class));
+    }
+
+    @Test
+    @DisplayName("Throw when room is already booked for the requested dates")
+    void shouldThrowWhenRoomNotAvailable() {
+        ReservationCreateDTO req = ReservationCreateDTO.builder()
+                .checkInDate(LocalDate.now())
+                .checkOutDate(LocalDate.now().plusDays(1))
+                .peopleCount(2)
+                .roomId(room.getId())
+                .guestId(guest.getId())
+                .build();
+
+        when(roomRepository.findById(room.getId())).thenReturn(Optional.of(room));
+        when(guestRepository.findById(guest.getId())).thenReturn(Optional.of(guest));
+        when(availabilityIndex.isAvailable(room.getId(), req.checkInDate(), req.checkOutDate())).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> service.create(req));
+        verify(repository, never()).saveAndFlush(any(Reservation.class));
+    }
+
+    private ReservationCreateDTO batchItem(UUID roomId, int fromDay, int toDay) {
+        return ReservationCreateDTO.builder()
+                .checkInDate(LocalDate.now().plusDays(fromDay))
+                .checkOutDate(LocalDate.now().plusDays(toDay))
+                .peopleCount(2)
+                .roomId(roomId)
+                .guestId(guest.getId())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Create a whole batch with one lookup per entity type")
+    void shouldCreateBatch() {
+        ReservationBatchCreateDTO req = ReservationBatchCreateDTO.builder()
+                .reservations(List.of(batchItem(room.getId(), 1, 3), batchItem(room.getId(), 3, 5)))
+                .build();
+
+        when(roomRepository.findAllById(any())).thenReturn(List.of(room));
+        when(guestRepository.findAllById(any())).thenReturn(List.of(guest));
+        when(availabilityIndex.isAvailable(any(), any(), any())).thenReturn(true);
+        when(inventoryService.trySell(any(), any(), any(), any())).thenReturn(true);
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationBatchResponseDTO result = service.createBatch(req);
+
+        assertEquals(2, result.created());
+        assertEquals(0, result.failed());
+        verify(roomLocks).lockRooms(Set.of(room.getId()));
+        verify(repository).flush();
+        verify(availabilityIndex, times(2)).register(any(Reservation.class));
+    }
+
+    @Test
+    @DisplayName("Report per-item errors and keep the valid items")
+    void shouldCreateBatchPerItem() {
+        UUID missingRoom = UUID.randomUUID();
+        ReservationBatchCreateDTO req = ReservationBatchCreateDTO.builder()
+                .reservations(List.of(
+                        batchItem(room.getId(), 1, 4),
+                        batchItem(room.getId(), 3, 5),
+                        batchItem(missingRoom, 1, 2)
+                ))
+                .atomic(false)
+                .build();
+
+        when(roomRepository.findAllById(any())).thenReturn(List.of(room));
+        when(guestRepository.findAllById(any())).thenReturn(List.of(guest));
+        when(availabilityIndex.isAvailable(any(), any(), any())).thenReturn(true);
+        when(inventoryService.trySell(any(), any(), any(), any())).thenReturn(true);
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ReservationBatchResponseDTO result = service.createBatch(req);
+
+        assertEquals(1, result.created());
+        assertEquals(2, result.failed());
+        assertNull(result.items().get(0).error());
+        assertEquals("Room is not available for the selected dates", result.items().get(1).error());
+        assertEquals("Room not found", result.items().get(2).error());
+    }
+
+    @Test
+    @DisplayName("Reject an atomic batch when some item overlaps a stay booked on another node")
+    void shouldRejectAtomicBatch() {
+        ReservationBatchCreateDTO req = ReservationBatchCreateDTO.builder()
+                .reservations(List.of(batchItem(room.getId(), 1, 3)))
+                .build();
+
+        when(roomLocks.isDistributed()).thenReturn(true);
+        when(roomRepository.findAllById(any())).thenReturn(List.of(room));
+        when(guestRepository.findAllById(any())).thenReturn(List.of(guest));
+        when(repository.findStayIntervals(any(), any(), any(), any())).thenReturn(List.of(
+                new StayInterval(UUID.randomUUID(), room.getId(), LocalDate.now(), LocalDate.now().plusDays(2))
+        ));
+
+        BatchRejectedException ex = assertThrows(BatchRejectedException.class, () -> service.createBatch(req));
+
+        assertEquals(List.of("reservations[0]: Room is not available for the selected dates"), ex.getErrors());
+        verify(repository, never()).saveAll(any());
     }
 
     @Test
@@ -130,18 +367,18 @@ public class ReservationServiceImplTest {
     void shouldFindById() {
         ReservationResponseDTO dto = ReservationResponseDTO.builder().id(id).build();
 
-        when(repository.findById(id)).thenReturn(Optional.of(reservation));
-        when(mapper.toDto(reservation)).thenReturn(dto);
+        when(repository.findResponseById(id)).thenReturn(Optional.of(dto));
 
         ReservationResponseDTO result = service.findById(id);
 
         assertEquals(id, result.id());
+        verifyNoInteractions(mapper);
     }
 
     @Test
     @DisplayName("Throw when reservation not found by ID")
     void shouldThrowFindById() {
-        when(repository.findById(id)).thenReturn(Optional.empty());
+        when(repository.findResponseById(id)).thenReturn(Optional.empty());
 
         assertThrows(ReservationNotFoundException.class, () -> service.findById(id));
     }
@@ -160,7 +397,7 @@ public class ReservationServiceImplTest {
 
         when(repository.findById(id)).thenReturn(Optional.of(reservation));
         when(paymentService.processPayment(any(PaymentCreateDTO.class))).thenReturn(payment);
-        when(repository.save(reservation)).thenReturn(reservation);
+        when(repository.saveAndFlush(reservation)).thenReturn(reservation);
         when(mapper.toDto(reservation)).thenReturn(dto);
 
         ReservationResponseDTO result = service.confirmReservation(id, req);
@@ -169,6 +406,48 @@ public class ReservationServiceImplTest {
         assertNotNull(reservation.getPayment());
     }
 
+    @Test
+    @DisplayName("Throw when confirming a reservation whose hold has expired")
+    void shouldThrowWhenConfirmingExpiredHold() {
+        reservation.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+
+        when(repository.findById(id)).thenReturn(Optional.of(reservation));
+
+        assertThrows(IllegalStateException.class,
+                () -> service.confirmReservation(id, PayReservationDTO.builder().build()));
+        assertEquals(ReservationStatus.PENDING, reservation.getStatus());
+    }
+
+    @Test
+    @DisplayName("Cancel pending reservations whose hold has run out")
+    void shouldExpireHolds() {
+        reservation.setHoldExpiresAt(LocalDateTime.now().minusSeconds(1));
+        Reservation stillHeld = Reservation.builder()
+                .id(UUID.randomUUID())
+                .status(ReservationStatus.PENDING)
+                .holdExpiresAt(LocalDateTime.now().plusMinutes(5))
+                .room(room)
+                .build();
+        Reservation confirmed = Reservation.builder()
+                .id(UUID.randomUUID())
+                .status(ReservationStatus.CONFIRMED)
+                .room(room)
+                .build();
+        List<UUID> ids = List.of(id, stillHeld.getId(), confirmed.getId());
+
+        when(repository.findAllWithDetailsById(ids)).thenReturn(List.of(reservation, stillHeld, confirmed));
+
+        int expired = service.expireHolds(ids);
+
+        assertEquals(1, expired);
+        assertEquals(ReservationStatus.CANCELLED, reservation.getStatus());
+        assertEquals(ReservationStatus.PENDING, stillHeld.getStatus());
+        verify(availabilityIndex).release(reservation);
+        verify(inventoryService).release(hotel.getId(), "suite", reservation.getCheckInDate(), reservation.getCheckOutDate());
+        verify(repository).saveAll(List.of(reservation));
+        verify(repository).flush();
+    }
+
     @Test
     @DisplayName("Throw when confirming non-existing reservation")
     void shouldThrowWhenConfirmNotFound() {
@@ -184,12 +463,32 @@ public class ReservationServiceImplTest {
         ReservationResponseDTO dto = ReservationResponseDTO.builder().id(id).build();
 
         when(repository.findById(id)).thenReturn(Optional.of(reservation));
-        when(repository.save(reservation)).thenReturn(reservation);
+        when(repository.saveAndFlush(reservation)).thenReturn(reservation);
         when(mapper.toDto(reservation)).thenReturn(dto);
 
         ReservationResponseDTO result = service.cancelReservation(id);
 
         assertEquals(id, result.id());
+        verify(availabilityIndex).release(reservation);
+        verify(inventoryService).release(hotel.getId(), "suite", reservation.getCheckInDate(), reservation.getCheckOutDate());
+        verify(paymentService, never()).refund(any());
+    }
+
+    @Test
+    @DisplayName("Cancel a confirmed reservation and refund its payment")
+    void shouldRefundWhenCancellingConfirmedReservation() {
+        Payment payment = Payment.builder().id(UUID.randomUUID()).totalAmount(BigDecimal.TEN).build();
+        reservation.setStatus(ReservationStatus.CONFIRMED);
+        reservation.setPayment(payment);
+
+        when(repository.findById(id)).thenReturn(Optional.of(reservation));
+        when(repository.saveAndFlush(reservation)).thenReturn(reservation);
+
+        service.cancelReservation(id);
+
+        assertEquals(ReservationStatus.CANCELLED, reservation.getStatus());
+        verify(paymentService).refund(payment);
+        verify(statsService).reverseStay(reservation);
     }
 
     @Test
@@ -204,8 +503,7 @@ public class ReservationServiceImplTest {
     @DisplayName("List reservations by room successfully")
     void shouldFindReservationsByRoom() {
         when(roomRepository.existsById(room.getId())).thenReturn(true);
-        when(repository.findReservationsByRoom(room.getId())).thenReturn(List.of(reservation));
-        when(mapper.toDto(reservation)).thenReturn(ReservationResponseDTO.builder().build());
+        when(repository.findResponsesByRoom(room.getId())).thenReturn(List.of(ReservationResponseDTO.builder().build()));
 
         List<ReservationResponseDTO> result = service.findReservationsByRoom(room.getId());
 
@@ -228,8 +526,7 @@ public class ReservationServiceImplTest {
                 .status(ReservationStatus.CONFIRMED)
                 .build();
 
-        when(repository.findAll()).thenReturn(List.of(reservation));
-        when(mapper.toDto(reservation)).thenReturn(dto);
+        when(repository.findAllResponses()).thenReturn(List.of(dto));
 
         Map<ReservationStatus, List<ReservationResponseDTO>> result =
                 service.getReservationsGroupedByPaymentMethod();
@@ -237,4 +534,59 @@ public class ReservationServiceImplTest {
         assertTrue(result.containsKey(ReservationStatus.CONFIRMED));
         assertEquals(1, result.get(ReservationStatus.CONFIRMED).size());
     }
+
+    @Test
+    @DisplayName("Summarize reservations by status without listing them")
+    void shouldSummarizeByStatus() {
+        when(repository.sumByStatus()).thenReturn(List.of(
+                new ReservationGroupTotal(ReservationStatus.CONFIRMED, 2L, new BigDecimal("80.00"))));
+
+        List<ReservationGroupDTO> result = service.summarize(ReservationGrouping.STATUS, null);
+
+        assertEquals(List.of(new ReservationGroupDTO("CONFIRMED", 2, new BigDecimal("80.00"), null)), result);
+        verify(repository, never()).findPageByStatus(any(), any());
+    }
+
+    @Test
+    @DisplayName("Summarize reservations by payment method with the first page of each group")
+    void shouldSummarizeByPaymentMethodWithPages() {
+        ReservationResponseDTO paid = ReservationResponseDTO.builder().id(UUID.randomUUID()).build();
+        ReservationResponseDTO unpaid = ReservationResponseDTO.builder().id(id).build();
+        when(repository.sumByPaymentMethod()).thenReturn(List.of(
+                new ReservationGroupTotal(PaymentMethod.CASH, 1L, new BigDecimal("50.00")),
+                new ReservationGroupTotal((PaymentMethod) null, 3L, null)));
+        when(repository.findPageByPaymentMethod(PaymentMethod.CASH, Limit.of(10))).thenReturn(List.of(paid));
+        when(repository.findUnpaidPage(Limit.of(10))).thenReturn(List.of(unpaid));
+
+        List<ReservationGroupDTO> result = service.summarize(ReservationGrouping.PAYMENT_METHOD, 10);
+
+        assertEquals(List.of(paid), result.get(0).firstPage());
+        assertNull(result.get(1).key());
+        assertEquals(BigDecimal.ZERO, result.get(1).totalAmount());
+        assertEquals(List.of(unpaid), result.get(1).firstPage());
+    }
+
+    @Test
+    @DisplayName("Seek reservations past a check-in date cursor")
+    void shouldListReservationsAfterCursor() {
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        UUID lastId = UUID.randomUUID();
+        String cursor = cursors.encode(checkIn, lastId);
+        ReservationResponseDTO dto = ReservationResponseDTO.builder().id(id).build();
+        when(repository.findPageAfter(checkIn, lastId, Limit.of(11))).thenReturn(List.of(dto));
+
+        CursorPageDTO<ReservationResponseDTO> result = service.findAll(cursor, 10);
+
+        assertEquals(List.of(dto), result.items());
+        assertNull(result.next());
+        verify(repository, never()).findPage(any());
+    }
+
+    @Test
+    @DisplayName("Reject a cursor whose key is not a check-in date")
+    void shouldRejectMalformedReservationCursor() {
+        String cursor = cursors.encode("not-a-date", UUID.randomUUID());
+
+        assertThrows(IllegalArgumentException.class, () -> service.findAll(cursor, null));
+    }
 }
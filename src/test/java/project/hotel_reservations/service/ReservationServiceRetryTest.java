@@ -0,0 +1,112 @@
+package project.hotel_reservations.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
+import project.hotel_reservations.concurrency.RoomLockManager;
+import project.hotel_reservations.config.RetryConfig;
+import project.hotel_reservations.hold.ReservationHoldScheduler;
+import project.hotel_reservations.mapper.ReservationMapper;
+import project.hotel_reservations.model.Hotel;
+import project.hotel_reservations.model.Reservation;
+import project.hotel_reservations.model.ReservationStatus;
+import project.hotel_reservations.model.Room;
+import project.hotel_reservations.pagination.CursorCodec;
+import project.hotel_reservations.repository.GuestRepository;
+import project.hotel_reservations.repository.HotelRepository;
+import project.hotel_reservations.repository.ReservationRepository;
+import project.hotel_reservations.repository.RoomRepository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.AdditionalAnswers.returnsFirstArg;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringJUnitConfig({RetryConfig.class, ReservationServiceImpl.class})
+public class ReservationServiceRetryTest {
+
+    private final UUID id = UUID.randomUUID();
+
+    @Autowired
+    private ReservationService service;
+
+    @MockitoBean
+    private ReservationRepository repository;
+
+    @MockitoBean
+    private RoomRepository roomRepository;
+
+    @MockitoBean
+    private GuestRepository guestRepository;
+
+    @MockitoBean
+    private ReservationMapper mapper;
+
+    @MockitoBean
+    private PaymentService paymentService;
+
+    @MockitoBean
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @MockitoBean
+    private RoomLockManager roomLocks;
+
+    @MockitoBean
+    private HotelRepository hotelRepository;
+
+    @MockitoBean
+    private InventoryService inventoryService;
+
+    @MockitoBean
+    private ReservationHoldScheduler holds;
+
+    @MockitoBean
+    private CursorCodec cursors;
+
+    @MockitoBean
+    private HotelStatsService statsService;
+
+    private Reservation pending() {
+        return Reservation.builder()
+                .id(id)
+                .room(Room.builder().id(UUID.randomUUID()).hotel(Hotel.builder().id(UUID.randomUUID()).build()).build())
+                .checkInDate(LocalDate.now())
+                .checkOutDate(LocalDate.now().plusDays(1))
+                .status(ReservationStatus.PENDING)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Retry cancel on a fresh copy after a version conflict")
+    void shouldRetryCancelAfterConflict() {
+        when(repository.findById(id)).thenAnswer(invocation -> Optional.of(pending()));
+        when(repository.saveAndFlush(any(Reservation.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Reservation.class, id))
+                .thenAnswer(returnsFirstArg());
+
+        service.cancelReservation(id);
+
+        verify(repository, times(2)).findById(id);
+        verify(repository, times(2)).saveAndFlush(any(Reservation.class));
+    }
+
+    @Test
+    @DisplayName("Give up after the configured attempts when conflicts persist")
+    void shouldGiveUpAfterMaxAttempts() {
+        when(repository.findById(id)).thenAnswer(invocation -> Optional.of(pending()));
+        when(repository.saveAndFlush(any(Reservation.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Reservation.class, id));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> service.cancelReservation(id));
+        verify(repository, times(3)).saveAndFlush(any(Reservation.class));
+    }
+}
@@ -0,0 +1,326 @@
+package project.hotel_reservations.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
+import project.hotel_reservations.concurrency.RoomLockManager;
+import project.hotel_reservations.dto.reservation.PayReservationDTO;
+import project.hotel_reservations.dto.reservation.ReservationCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationGroupDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchCreateDTO;
+import project.hotel_reservations.dto.reservation.ReservationBatchResponseDTO;
+import project.hotel_reservations.dto.reservation.ReservationGrouping;
+import project.hotel_reservations.dto.reservation.RoomTypeReservationCreateDTO;
+import project.hotel_reservations.factory.PaymentProcessorRegistry;
+import project.hotel_reservations.hold.ReservationHoldScheduler;
+import project.hotel_reservations.mapper.PaymentPlatformMapperImpl;
+import project.hotel_reservations.mapper.ReservationMapperImpl;
+import project.hotel_reservations.model.*;
+import project.hotel_reservations.pagination.CursorCodec;
+import project.hotel_reservations.repository.*;
+import project.hotel_reservations.support.sql.SqlCountTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static project.hotel_reservations.support.sql.SqlCount.*;
+
+@SqlCountTest
+@Import({
+        ReservationServiceImpl.class,
+        PaymentServiceImpl.class,
+        PaymentPlatformServiceImpl.class,
+        PaymentPlatformMapperImpl.class,
+        HotelEarningsServiceImpl.class,
+        ReservationMapperImpl.class,
+        RoomAvailabilityIndex.class,
+        RoomLockManager.class,
+        CursorCodec.class
+})
+public class ReservationServiceSqlCountTest {
+
+    @Autowired
+    private ReservationService service;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private HotelEarningsRepository earningsRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private InventoryService inventoryService;
+
+    @MockitoBean
+    private HotelStatsService statsService;
+
+    @MockitoBean
+    private ReservationHoldScheduler holds;
+
+    @MockitoBean
+    private PaymentProcessorRegistry processorRegistry;
+
+    private Room room;
+    private Guest guest;
+    private Reservation pending;
+    private Reservation paid;
+
+    @BeforeEach
+    void setup() {
+        Hotel hotel = hotelRepository.save(Hotel.builder().name("Hotel").address("Av. 1").phone("555").build());
+        room = roomRepository.save(Room.builder()
+                .code("101").capacity(2).type("suite").price(BigDecimal.TEN).description("Suite").hotel(hotel)
+                .build());
+        Room other = roomRepository.save(Room.builder()
+                .code("102").capacity(2).type("suite").price(BigDecimal.TEN).description("Suite").hotel(hotel)
+                .build());
+        guest = guestRepository.save(Guest.builder().identification("1").name("Ana").email("ana@mail.com").build());
+        Guest second = guestRepository.save(Guest.builder().identification("2").name("Luis").email("luis@mail.com").build());
+
+        LocalDate start = LocalDate.now().plusDays(30);
+        pending = reservationRepository.save(reservation(room, guest, start, ReservationStatus.PENDING));
+        reservationRepository.save(reservation(other, second, start, ReservationStatus.CONFIRMED));
+        paid = reservationRepository.save(reservation(other, guest, start.plusDays(5), ReservationStatus.CONFIRMED));
+        paymentRepository.save(Payment.builder()
+                .totalAmount(BigDecimal.TEN)
+                .paymentMethod(PaymentMethod.CASH)
+                .reservation(paid)
+                .build());
+        jdbcTemplate.update("INSERT INTO hotel_earnings (hotel_id, total_amount, payment_count, updated_at) "
+                + "VALUES (?, 10, 1, CURRENT_TIMESTAMP)", hotel.getId());
+
+        reset();
+    }
+
+    @AfterEach
+    void cleanup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "payments", "reservations", "rooms", "users", "hotel_earnings", "hotels");
+    }
+
+    @Test
+    @DisplayName("findAll reads a page with one SELECT")
+    void findAll() {
+        assertEquals(3, service.findAll(null, null).items().size());
+
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("findById reads one reservation with one SELECT")
+    void findById() {
+        service.findById(pending.getId());
+
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("findReservationsByRoom checks the room and reads its reservations")
+    void findReservationsByRoom() {
+        service.findReservationsByRoom(room.getId());
+
+        assertSelectCount(2);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("getReservationsGroupedByPaymentMethod reads every reservation with one SELECT")
+    void getReservationsGroupedByPaymentMethod() {
+        service.getReservationsGroupedByPaymentMethod();
+
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("summarize aggregates every status with one GROUP BY")
+    void summarizeByStatus() {
+        List<ReservationGroupDTO> groups = service.summarize(ReservationGrouping.STATUS, null);
+
+        assertEquals(List.of(
+                new ReservationGroupDTO("CONFIRMED", 2, new BigDecimal("10.00"), null),
+                new ReservationGroupDTO("PENDING", 1, BigDecimal.ZERO, null)
+        ), groups);
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("summarize with first pages costs one SELECT per group on top of the GROUP BY")
+    void summarizeByPaymentMethodWithPages() {
+        List<ReservationGroupDTO> groups = service.summarize(ReservationGrouping.PAYMENT_METHOD, 5);
+
+        assertEquals(2, groups.size());
+        assertEquals(1, groups.stream().filter(group -> "CASH".equals(group.key())).findFirst().orElseThrow()
+                .firstPage().size());
+        assertEquals(2, groups.stream().filter(group -> group.key() == null).findFirst().orElseThrow()
+                .firstPage().size());
+        assertSelectCount(3);
+        assertStatementCount(3);
+    }
+
+    @Test
+    @DisplayName("create loads room and guest and inserts the reservation")
+    void create() {
+        LocalDate checkIn = LocalDate.now().plusDays(60);
+
+        service.create(ReservationCreateDTO.builder()
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .peopleCount(2)
+                .roomId(room.getId())
+                .guestId(guest.getId())
+                .build());
+
+        assertSelectCount(2);
+        assertInsertCount(1);
+        assertStatementCount(3);
+    }
+
+    @Test
+    @DisplayName("confirmReservation loads the reservation, inserts the payment and updates the ledger and the reservation")
+    void confirmReservation() {
+        service.confirmReservation(pending.getId(), PayReservationDTO.builder()
+                .totalAmount(BigDecimal.TEN)
+                .paymentMethod(PaymentMethod.CASH)
+                .build());
+
+        assertSelectCount(1);
+        assertInsertCount(1);
+        assertUpdateCount(2);
+        assertStatementCount(4);
+        assertEquals(0, new BigDecimal("20").compareTo(earningsRepository.findTotalByHotelId(room.getHotel().getId()).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("cancelReservation loads and updates the reservation")
+    void cancelReservation() {
+        service.cancelReservation(pending.getId());
+
+        assertSelectCount(1);
+        assertUpdateCount(1);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("cancelReservation of a paid reservation also takes the payment out of the ledger")
+    void cancelPaidReservation() {
+        service.cancelReservation(paid.getId());
+
+        assertSelectCount(1);
+        assertUpdateCount(2);
+        assertStatementCount(3);
+        assertEquals(0, BigDecimal.ZERO.compareTo(earningsRepository.findTotalByHotelId(room.getHotel().getId()).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("createForRoomType checks the hotel, loads the guest and the rooms of the type and inserts the reservation")
+    void createForRoomType() {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+
+        service.createForRoomType(RoomTypeReservationCreateDTO.builder()
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .peopleCount(2)
+                .hotelId(room.getHotel().getId())
+                .roomType("suite")
+                .guestId(guest.getId())
+                .build());
+
+        assertSelectCount(3);
+        assertInsertCount(1);
+        assertStatementCount(4);
+    }
+
+    @Test
+    @DisplayName("createBatch loads rooms and guests once and inserts the reservations in one batch")
+    void createBatch() {
+        LocalDate checkIn = LocalDate.now().plusDays(60);
+        when(inventoryService.trySell(any(), any(), any(), any())).thenReturn(true);
+
+        ReservationBatchResponseDTO result = service.createBatch(ReservationBatchCreateDTO.builder()
+                .atomic(false)
+                .reservations(List.of(
+                        item(room, guest, checkIn),
+                        item(room, guest, checkIn.plusDays(2)),
+                        item(room, guest, checkIn.plusDays(4)),
+                        item(room, guest, checkIn.plusDays(6))
+                ))
+                .build());
+
+        assertEquals(4, result.created());
+        assertSelectCount(2);
+        assertInsertCount(1);
+        assertStatementCount(3);
+    }
+
+    @Test
+    @DisplayName("expireHolds loads the due reservations once and updates them in one batch")
+    void expireHolds() {
+        LocalDate start = LocalDate.now().plusDays(90);
+        List<UUID> due = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Reservation hold = reservation(room, guest, start.plusDays(2L * i), ReservationStatus.PENDING);
+            hold.setHoldExpiresAt(LocalDateTime.now().minusMinutes(1));
+            due.add(reservationRepository.save(hold).getId());
+        }
+        reset();
+
+        assertEquals(3, service.expireHolds(due));
+
+        assertSelectCount(1);
+        assertUpdateCount(1);
+        assertStatementCount(2);
+    }
+
+    private static ReservationCreateDTO item(Room room, Guest guest, LocalDate checkIn) {
+        return ReservationCreateDTO.builder()
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .peopleCount(2)
+                .roomId(room.getId())
+                .guestId(guest.getId())
+                .build();
+    }
+
+    private static Reservation reservation(Room room, Guest guest, LocalDate checkIn, ReservationStatus status) {
+        return Reservation.builder()
+                .checkInDate(checkIn)
+                .checkOutDate(checkIn.plusDays(2))
+                .peopleCount(2)
+                .status(status)
+                .room(room)
+                .guest(guest)
+                .build();
+    }
+}
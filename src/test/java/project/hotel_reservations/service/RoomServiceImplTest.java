@@ -7,22 +7,30 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
 import project.hotel_reservations.dto.room.RoomCreateDTO;
+import project.hotel_reservations.dto.page.CursorPageDTO;
 import project.hotel_reservations.dto.room.RoomResponseDTO;
+import project.hotel_reservations.dto.room.RoomSearchDTO;
 import project.hotel_reservations.dto.room.RoomUpdateDTO;
 import project.hotel_reservations.mapper.RoomMapper;
 import project.hotel_reservations.model.Hotel;
 import project.hotel_reservations.model.Room;
+import project.hotel_reservations.pagination.CursorCodec;
 import project.hotel_reservations.repository.HotelRepository;
 import project.hotel_reservations.repository.RoomRepository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -43,6 +51,18 @@ public class RoomServiceImplTest {
     @Mock
     private RoomMapper mapper;
 
+    @Mock
+    private RoomAvailabilityIndex availabilityIndex;
+
+    @Mock
+    private InventoryService inventoryService;
+
+    @Mock
+    private HotelStatsService statsService;
+
+    @Spy
+    private CursorCodec cursors = new CursorCodec(50, 500);
+
     @InjectMocks
     private RoomServiceImpl service;
 
@@ -60,6 +80,7 @@ public class RoomServiceImplTest {
                 .type("matrimonial")
                 .price(new BigDecimal(500))
                 .description("Habitacion con vista a la avenida")
+                .hotel(hotel)
                 .build();
     }
 
@@ -82,6 +103,8 @@ public class RoomServiceImplTest {
 
         assertEquals(id, result.id());
         verify(repository).save(any(Room.class));
+        verify(inventoryService).changeRoomCount(hotelId, "matrimonial", 1);
+        verify(statsService).changeRoomCount(hotelId, 1);
     }
 
     @Test
@@ -135,6 +158,83 @@ public class RoomServiceImplTest {
 
         assertEquals(id, result.id());
         verify(repository).save(room);
+        verifyNoInteractions(inventoryService);
+    }
+
+    @Test
+    @DisplayName("Move a room between type allotments when its type changes")
+    void shouldMoveInventoryWhenTypeChanges() {
+        RoomUpdateDTO req = RoomUpdateDTO.builder()
+                .type("suite")
+                .build();
+
+        when(repository.findById(id)).thenReturn(Optional.of(room));
+        doAnswer(invocation -> {
+            room.setType("suite");
+            return null;
+        }).when(mapper).toEntity(req, room);
+        when(repository.save(room)).thenReturn(room);
+
+        service.update(id, req);
+
+        verify(inventoryService).changeRoomCount(hotelId, "matrimonial", -1);
+        verify(inventoryService).changeRoomCount(hotelId, "suite", 1);
+    }
+
+    @Test
+    @DisplayName("Take a room out of its type allotment when it becomes unavailable")
+    void shouldReleaseInventoryWhenRoomBecomesUnavailable() {
+        RoomUpdateDTO req = RoomUpdateDTO.builder()
+                .available(false)
+                .build();
+
+        when(repository.findById(id)).thenReturn(Optional.of(room));
+        doAnswer(invocation -> {
+            room.setAvailable(false);
+            return null;
+        }).when(mapper).toEntity(req, room);
+        when(repository.save(room)).thenReturn(room);
+
+        service.update(id, req);
+
+        verify(inventoryService).changeRoomCount(hotelId, "matrimonial", -1);
+        verifyNoMoreInteractions(inventoryService);
+    }
+
+    @Test
+    @DisplayName("Put a room back into the allotment of its new type when it becomes available")
+    void shouldAddInventoryWhenRoomBecomesAvailable() {
+        room.setAvailable(false);
+        RoomUpdateDTO req = RoomUpdateDTO.builder()
+                .type("suite")
+                .available(true)
+                .build();
+
+        when(repository.findById(id)).thenReturn(Optional.of(room));
+        doAnswer(invocation -> {
+            room.setType("suite");
+            room.setAvailable(true);
+            return null;
+        }).when(mapper).toEntity(req, room);
+        when(repository.save(room)).thenReturn(room);
+
+        service.update(id, req);
+
+        verify(inventoryService).changeRoomCount(hotelId, "suite", 1);
+        verifyNoMoreInteractions(inventoryService);
+    }
+
+    @Test
+    @DisplayName("Leave the allotments alone when an unavailable room is deleted")
+    void shouldSoftDeleteUnavailableRoomWithoutInventory() {
+        room.setAvailable(false);
+        when(repository.findById(id)).thenReturn(Optional.of(room));
+
+        service.softDelete(id);
+
+        verify(repository).delete(room);
+        verifyNoInteractions(inventoryService);
+        verify(statsService).changeRoomCount(hotelId, -1);
     }
 
     @Test
@@ -150,18 +250,19 @@ public class RoomServiceImplTest {
     @Test
     @DisplayName("Soft delete room successfully")
     void shouldSoftDeleteRoom() {
-        when(repository.existsById(id)).thenReturn(true);
-        doNothing().when(repository).deleteById(id);
+        when(repository.findById(id)).thenReturn(Optional.of(room));
 
         service.softDelete(id);
 
-        verify(repository).deleteById(id);
+        verify(repository).delete(room);
+        verify(inventoryService).changeRoomCount(hotelId, "matrimonial", -1);
+        verify(statsService).changeRoomCount(hotelId, -1);
     }
 
     @Test
     @DisplayName("Throw when soft deleting non-existing room")
     void shouldThrowWhenDeleteNotFound() {
-        when(repository.existsById(id)).thenReturn(false);
+        when(repository.findById(id)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.softDelete(id));
     }
@@ -218,4 +319,63 @@ public class RoomServiceImplTest {
         assertThrows(EntityNotFoundException.class,
                 () -> service.findAvailableRooms(hotelId));
     }
+
+    @Test
+    @DisplayName("Find rooms free for a stay with enough capacity")
+    void shouldFindRoomsAvailableForStay() {
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        LocalDate checkOut = checkIn.plusDays(2);
+        Room booked = Room.builder().id(UUID.randomUUID()).build();
+        RoomResponseDTO dto = RoomResponseDTO.builder().id(id).build();
+
+        when(hotelRepository.existsById(hotelId)).thenReturn(true);
+        when(repository.findAvailableRoomsWithCapacity(hotelId, 2)).thenReturn(List.of(room, booked));
+        when(availabilityIndex.filterAvailable(List.of(id, booked.getId()), checkIn, checkOut))
+                .thenReturn(List.of(id));
+        when(mapper.toDto(room)).thenReturn(dto);
+
+        List<RoomResponseDTO> result = service.findAvailableRooms(hotelId, checkIn, checkOut, 2);
+
+        assertEquals(List.of(dto), result);
+    }
+
+    @Test
+    @DisplayName("Throw when the stay dates are invalid")
+    void shouldThrowWhenStayDatesInvalid() {
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findAvailableRooms(hotelId, checkIn, checkIn, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.findAvailableRooms(hotelId, null, checkIn, 1));
+    }
+
+    @Test
+    @DisplayName("Search rooms with one query and no next page when everything fits")
+    void shouldSearchRooms() {
+        RoomResponseDTO dto = RoomResponseDTO.builder().id(id).build();
+        when(repository.findBy(any(Specification.class), any())).thenReturn(List.of(room));
+        when(mapper.toDto(room)).thenReturn(dto);
+
+        CursorPageDTO<RoomResponseDTO> result = service.search(RoomSearchDTO.builder()
+                .type("matrimonial")
+                .guests(2)
+                .minPrice(BigDecimal.ONE)
+                .maxPrice(BigDecimal.TEN)
+                .build(), null, 10);
+
+        assertEquals(List.of(dto), result.items());
+        assertNull(result.next());
+    }
+
+    @Test
+    @DisplayName("Reject an inverted price range or a stay without check-out")
+    void shouldRejectInvalidSearch() {
+        RoomSearchDTO prices = RoomSearchDTO.builder().minPrice(BigDecimal.TEN).maxPrice(BigDecimal.ONE).build();
+        RoomSearchDTO dates = RoomSearchDTO.builder().checkIn(LocalDate.now()).build();
+
+        assertThrows(IllegalArgumentException.class, () -> service.search(prices, null, null));
+        assertThrows(IllegalArgumentException.class, () -> service.search(dates, null, null));
+        verify(repository, never()).findBy(any(Specification.class), any());
+    }
 }
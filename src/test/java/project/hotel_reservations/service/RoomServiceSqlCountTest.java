@@ -0,0 +1,247 @@
+package project.hotel_reservations.service;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import project.hotel_reservations.availability.RoomAvailabilityIndex;
+import project.hotel_reservations.config.CacheConfig;
+import project.hotel_reservations.dto.page.CursorPageDTO;
+import project.hotel_reservations.dto.room.RoomCreateDTO;
+import project.hotel_reservations.dto.room.RoomResponseDTO;
+import project.hotel_reservations.dto.room.RoomSearchDTO;
+import project.hotel_reservations.dto.room.RoomSort;
+import project.hotel_reservations.dto.room.RoomUpdateDTO;
+import project.hotel_reservations.mapper.RoomMapperImpl;
+import project.hotel_reservations.model.*;
+import project.hotel_reservations.pagination.CursorCodec;
+import project.hotel_reservations.repository.GuestRepository;
+import project.hotel_reservations.repository.HotelRepository;
+import project.hotel_reservations.repository.ReservationRepository;
+import project.hotel_reservations.repository.RoomRepository;
+import project.hotel_reservations.support.sql.SqlCountTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static project.hotel_reservations.support.sql.SqlCount.*;
+
+@SqlCountTest
+@Import({
+        RoomServiceImpl.class,
+        RoomMapperImpl.class,
+        CacheConfig.class,
+        RoomAvailabilityIndex.class,
+        CursorCodec.class
+})
+public class RoomServiceSqlCountTest {
+
+    @Autowired
+    private RoomService service;
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private GuestRepository guestRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private InventoryService inventoryService;
+
+    @MockitoBean
+    private HotelStatsService statsService;
+
+    private Hotel hotel;
+    private Room room;
+
+    @BeforeEach
+    void setup() {
+        hotel = hotelRepository.save(Hotel.builder().name("Hotel").address("Av. 1").phone("555").build());
+        room = roomRepository.save(room("101"));
+        roomRepository.save(room("102"));
+        roomRepository.save(room("103"));
+
+        reset();
+    }
+
+    @AfterEach
+    void cleanup() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "reservations", "rooms", "users", "hotels");
+    }
+
+    @Test
+    @DisplayName("create loads the hotel and inserts the room")
+    void create() {
+        service.create(RoomCreateDTO.builder()
+                .code("201").capacity(2).type("suite").price(BigDecimal.TEN).description("Suite")
+                .hotelId(hotel.getId())
+                .build());
+
+        assertSelectCount(1);
+        assertInsertCount(1);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("findAll reads a page with one SELECT")
+    void findAll() {
+        assertEquals(3, service.findAll(null, null).items().size());
+
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("findById reads one room with one SELECT, repeated reads hit the cache")
+    void findById() {
+        service.findById(room.getId());
+        service.findById(room.getId());
+
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("update evicts the cached room once committed")
+    void updateEvictsCachedRoom() {
+        service.findById(room.getId());
+        service.update(room.getId(), RoomUpdateDTO.builder().price(BigDecimal.ONE).build());
+        reset();
+
+        assertEquals(0, BigDecimal.ONE.compareTo(service.findById(room.getId()).price()));
+        assertSelectCount(1);
+    }
+
+    @Test
+    @DisplayName("softDelete evicts the cached room, later reads no longer find it")
+    void softDeleteEvictsCachedRoom() {
+        service.findById(room.getId());
+        service.softDelete(room.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> service.findById(room.getId()));
+    }
+
+    @Test
+    @DisplayName("update loads and updates the room")
+    void update() {
+        service.update(room.getId(), RoomUpdateDTO.builder().price(BigDecimal.ONE).build());
+
+        assertSelectCount(1);
+        assertUpdateCount(1);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("softDelete loads the room and flags it deleted")
+    void softDelete() {
+        service.softDelete(room.getId());
+
+        assertSelectCount(1);
+        assertUpdateCount(1);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("findAllDeleted reads the deleted rooms with one SELECT")
+    void findAllDeleted() {
+        service.findAllDeleted();
+
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    @Test
+    @DisplayName("findByHotelId checks the hotel and reads its rooms")
+    void findByHotelId() {
+        assertEquals(3, service.findByHotelId(hotel.getId()).size());
+
+        assertSelectCount(2);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("findAvailableRooms checks the hotel and reads the candidates once")
+    void findAvailableRooms() {
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+
+        assertEquals(3, service.findAvailableRooms(hotel.getId(), checkIn, checkIn.plusDays(2), 2).size());
+
+        assertSelectCount(2);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("search pages through the matching rooms with one SELECT per page")
+    void search() {
+        roomRepository.save(Room.builder()
+                .code("104").capacity(4).type("family").price(new BigDecimal("30.00")).description("Family").hotel(hotel)
+                .build());
+        reset();
+        RoomSearchDTO criteria = RoomSearchDTO.builder()
+                .type("suite")
+                .guests(2)
+                .maxPrice(new BigDecimal("20.00"))
+                .sort(RoomSort.CODE)
+                .direction(Sort.Direction.DESC)
+                .build();
+
+        CursorPageDTO<RoomResponseDTO> first = service.search(criteria, null, 2);
+        CursorPageDTO<RoomResponseDTO> second = service.search(criteria, first.next(), 2);
+
+        assertEquals(List.of("103", "102"), first.items().stream().map(RoomResponseDTO::code).toList());
+        assertEquals(List.of("101"), second.items().stream().map(RoomResponseDTO::code).toList());
+        assertNull(second.next());
+        assertSelectCount(2);
+        assertStatementCount(2);
+    }
+
+    @Test
+    @DisplayName("search leaves out rooms booked over the stay within the same SELECT")
+    void searchFreeForStay() {
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        Guest guest = guestRepository.save(Guest.builder().identification("1").name("Ana").email("ana@mail.com").build());
+        reservationRepository.save(Reservation.builder()
+                .checkInDate(checkIn.plusDays(1)).checkOutDate(checkIn.plusDays(4)).peopleCount(2)
+                .status(ReservationStatus.CONFIRMED).room(room).guest(guest)
+                .build());
+        reset();
+
+        CursorPageDTO<RoomResponseDTO> page = service.search(RoomSearchDTO.builder()
+                .hotelId(hotel.getId())
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(2))
+                .build(), null, null);
+
+        assertEquals(2, page.items().size());
+        assertFalse(page.items().stream().anyMatch(found -> found.id().equals(room.getId())));
+        assertSelectCount(1);
+        assertStatementCount(1);
+    }
+
+    private Room room(String code) {
+        return Room.builder()
+                .code(code).capacity(2).type("suite").price(BigDecimal.TEN).description("Suite").hotel(hotel)
+                .build();
+    }
+}
@@ -0,0 +1,100 @@
+package project.hotel_reservations.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import project.hotel_reservations.model.RevokedToken;
+import project.hotel_reservations.repository.RevokedTokenRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class TokenRevocationServiceImplTest {
+
+    @Mock
+    private RevokedTokenRepository repository;
+
+    private TokenRevocationServiceImpl service;
+
+    @BeforeEach
+    void setup() {
+        service = new TokenRevocationServiceImpl(repository, 1_000, 0.01, 60_000);
+        when(repository.findActiveJtis(any())).thenReturn(List.of("revoked-1", "revoked-2"));
+        service.rebuild();
+    }
+
+    @Test
+    @DisplayName("Accept tokens the filter has never seen without querying the database")
+    void shouldSkipDatabaseOnNegative() {
+        long revoked = IntStream.range(0, 1_000)
+                .filter(i -> service.isRevoked("jti-" + i))
+                .count();
+
+        assertEquals(0, revoked);
+        verify(repository, atMost(50)).existsById(anyString());
+    }
+
+    @Test
+    @DisplayName("Confirm a possible hit once and answer from the cache afterwards")
+    void shouldConfirmPossibleHit() {
+        when(repository.existsById("revoked-1")).thenReturn(true);
+
+        assertTrue(service.isRevoked("revoked-1"));
+        assertTrue(service.isRevoked("revoked-1"));
+
+        verify(repository, times(1)).existsById("revoked-1");
+    }
+
+    @Test
+    @DisplayName("Reject a revoked token right away on the node that revoked it")
+    void shouldRevoke() {
+        service.revoke("jti-1", LocalDateTime.now().plusHours(1));
+
+        assertTrue(service.isRevoked("jti-1"));
+        verify(repository).save(any(RevokedToken.class));
+        verify(repository, never()).existsById(anyString());
+    }
+
+    @Test
+    @DisplayName("Reject a blank id or a token that already expired")
+    void shouldRejectInvalidRevocation() {
+        assertThrows(IllegalArgumentException.class, () -> service.revoke(" ", LocalDateTime.now().plusHours(1)));
+        assertThrows(IllegalArgumentException.class, () -> service.revoke("jti-1", LocalDateTime.now().minusSeconds(1)));
+
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Pick up the revocations made on other nodes on refresh")
+    void shouldRefreshFromOtherNodes() {
+        when(repository.findJtisRevokedSince(any(), any())).thenReturn(List.of("jti-remote"));
+        when(repository.existsById("jti-remote")).thenReturn(true);
+        assertFalse(service.isRevoked("jti-remote"));
+
+        service.refresh();
+
+        assertTrue(service.isRevoked("jti-remote"));
+    }
+
+    @Test
+    @DisplayName("Purge expired revocations and rebuild the filter from the rest")
+    void shouldRebuild() {
+        when(repository.findActiveJtis(any())).thenReturn(List.of("revoked-2"));
+        when(repository.existsById("revoked-2")).thenReturn(true);
+
+        service.rebuild();
+
+        assertTrue(service.isRevoked("revoked-2"));
+        verify(repository, times(2)).deleteExpired(any());
+    }
+}
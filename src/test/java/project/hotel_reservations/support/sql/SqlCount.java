@@ -0,0 +1,43 @@
+package project.hotel_reservations.support.sql;
+
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Assertions over the statements executed by the current thread since the last {@link #reset()}
+ */
+public final class SqlCount {
+
+    private SqlCount() {
+    }
+
+    public static void reset() {
+        QueryCountHolder.clear();
+    }
+
+    public static void assertSelectCount(int expected) {
+        assertEquals(expected, current().getSelect(), "SELECT statements");
+    }
+
+    public static void assertInsertCount(int expected) {
+        assertEquals(expected, current().getInsert(), "INSERT statements");
+    }
+
+    public static void assertUpdateCount(int expected) {
+        assertEquals(expected, current().getUpdate(), "UPDATE statements");
+    }
+
+    public static void assertDeleteCount(int expected) {
+        assertEquals(expected, current().getDelete(), "DELETE statements");
+    }
+
+    public static void assertStatementCount(int expected) {
+        assertEquals(expected, current().getTotal(), "statements");
+    }
+
+    private static QueryCount current() {
+        return QueryCountHolder.getGrandTotal();
+    }
+}
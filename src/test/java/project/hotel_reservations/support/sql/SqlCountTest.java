@@ -0,0 +1,31 @@
+package project.hotel_reservations.support.sql;
+
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test against an embedded database whose statements are counted by {@link SqlCount}.
+ * Tests are not wrapped in a transaction, so service methods open, flush and commit their own
+ * exactly as they do in production
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(SqlCountingDataSourceConfiguration.class)
+@TestPropertySource(properties = {
+        "spring.sql.init.mode=never",
+        "reservations.locking.advisory=false"
+})
+public @interface SqlCountTest {
+}
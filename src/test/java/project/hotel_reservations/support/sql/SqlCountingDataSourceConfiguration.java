@@ -0,0 +1,31 @@
+package project.hotel_reservations.support.sql;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the test DataSource in a proxy that counts every statement it executes
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class SqlCountingDataSourceConfiguration {
+
+    @Bean
+    static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("sql-count")
+                            .countQuery()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+-- Room search benchmark: 1 000 000 rooms in 2 000 hotels, 2 000 000 reservations.
+--
+-- Runs on a scratch schema, so any Postgres 13+ database will do (the application tables are not touched):
+--   psql "$DATABASE_URL" -f src/test/resources/benchmark/room-search.sql
+--
+-- The tables carry the columns the search reads and the same indexes as schema-postgresql.sql.
+-- The queries are the SQL Hibernate generates for RoomServiceImpl.search. What to look for:
+--   Q1/Q3  Index Scan on idx_rooms_search_hotel_type_price, no Sort node, ~51 heap rows read
+--   Q2     Index Only Scan on idx_reservations_room_dates (Heap Fetches: 0) for the overlap probe
+--   Q4     Index Only Scan on idx_rooms_search_type_price (Heap Fetches: 0) for an ID-only page
+-- Full rows (Q1-Q3) cannot be index-only, they still touch only the rows of the page.
+
+\set ON_ERROR_STOP on
+\timing on
+
+DROP SCHEMA IF EXISTS room_search_bench CASCADE;
+CREATE SCHEMA room_search_bench;
+SET search_path = room_search_bench;
+
+CREATE TABLE rooms (
+    id          uuid PRIMARY KEY,
+    code        varchar(255) NOT NULL,
+    capacity    integer NOT NULL,
+    type        varchar(255) NOT NULL,
+    price       numeric(38, 2) NOT NULL,
+    description varchar(255) NOT NULL,
+    available   boolean NOT NULL,
+    hotel_id    uuid NOT NULL,
+    deleted     boolean NOT NULL,
+    deleted_at  timestamp,
+    version     bigint NOT NULL DEFAULT 0
+);
+
+CREATE TABLE reservations (
+    id             uuid PRIMARY KEY,
+    room_id        uuid NOT NULL,
+    check_in_date  date NOT NULL,
+    check_out_date date NOT NULL,
+    status         varchar(255) NOT NULL
+);
+
+INSERT INTO rooms (id, code, capacity, type, price, description, available, hotel_id, deleted, deleted_at)
+SELECT gen_random_uuid(),
+       'R' || g,
+       1 + g % 6,
+       (ARRAY ['single', 'double', 'suite', 'family'])[1 + g % 4],
+       40 + (g * 7919 % 46000) / 100.0,
+       'Room ' || g,
+       g % 20 <> 0,
+       md5('hotel' || g % 2000)::uuid,
+       g % 50 = 0,
+       CASE WHEN g % 50 = 0 THEN now() END
+FROM generate_series(1, 1000000) g;
+
+INSERT INTO reservations (id, room_id, check_in_date, check_out_date, status)
+SELECT gen_random_uuid(), r.id, stay.check_in, stay.check_in + 1 + n % 5,
+       CASE WHEN n % 10 = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END
+FROM rooms r
+CROSS JOIN generate_series(1, 2) n
+CROSS JOIN LATERAL (
+    SELECT DATE '2026-01-01' + (hashtext(r.id::text || n) & 2147483647) % 365 AS check_in
+) stay;
+
+CREATE INDEX idx_rooms_search_hotel_type_price
+    ON rooms (hotel_id, type, price, id) INCLUDE (capacity)
+    WHERE deleted = false AND available = true;
+
+CREATE INDEX idx_rooms_search_type_price
+    ON rooms (type, price, id) INCLUDE (capacity, hotel_id)
+    WHERE deleted = false AND available = true;
+
+CREATE INDEX idx_reservations_room_dates
+    ON reservations (room_id, check_in_date, check_out_date)
+    WHERE status <> 'CANCELLED';
+
+-- Sets the visibility map, without it index-only scans still visit the heap
+VACUUM ANALYZE rooms;
+VACUUM ANALYZE reservations;
+
+\echo Q1: one hotel, type, guests and price range, first page by price
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.*
+FROM rooms r
+WHERE r.deleted = false
+  AND r.available = true
+  AND r.hotel_id = md5('hotel42')::uuid
+  AND r.type = 'suite'
+  AND r.capacity >= 2
+  AND r.price >= 80 AND r.price <= 400
+ORDER BY r.price, r.id
+LIMIT 51;
+
+\echo Q2: same search, only rooms free over a three-night stay
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.*
+FROM rooms r
+WHERE r.deleted = false
+  AND r.available = true
+  AND r.hotel_id = md5('hotel42')::uuid
+  AND r.type = 'suite'
+  AND r.capacity >= 2
+  AND NOT EXISTS (
+      SELECT 1 FROM reservations res
+      WHERE res.room_id = r.id
+        AND res.status <> 'CANCELLED'
+        AND res.check_in_date < DATE '2026-06-13'
+        AND res.check_out_date > DATE '2026-06-10'
+  )
+ORDER BY r.price, r.id
+LIMIT 51;
+
+\echo Q3: next page, keyset predicate on (price, id)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.*
+FROM rooms r
+WHERE r.deleted = false
+  AND r.available = true
+  AND r.hotel_id = md5('hotel42')::uuid
+  AND r.type = 'suite'
+  AND r.capacity >= 2
+  AND (r.price > 150 OR (r.price = 150 AND r.id > '00000000-0000-0000-0000-000000000000'))
+ORDER BY r.price, r.id
+LIMIT 51;
+
+\echo Q4: every hotel, type and guests, IDs of the first page by price
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id
+FROM rooms r
+WHERE r.deleted = false
+  AND r.available = true
+  AND r.type = 'double'
+  AND r.capacity >= 4
+ORDER BY r.price, r.id
+LIMIT 51;
+
+RESET search_path;
+DROP SCHEMA room_search_bench CASCADE;